@@ -0,0 +1,52 @@
+package nl.vu.group2.kittens.engine;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.TypeReference;
+import nl.vu.group2.kittens.model.Card;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Decks shared by the benchmarks: "base" is the deck of a game with {@link #PLAYERS_COUNT} players, while the others
+ * are the sample custom decks in the resources (e.g., "tacos" has more than 5000 cards).
+ */
+public final class BenchmarkDecks {
+
+    public static final int PLAYERS_COUNT = 4;
+    public static final String BASE = "base";
+
+    private BenchmarkDecks() {
+    }
+
+    public static List<Card> cards(String deckName) {
+        if (BASE.equals(deckName)) {
+            return GameRunner.getCardsForBaseDeck(PLAYERS_COUNT);
+        }
+        final Map<Card, Integer> cardsAndCounts = JSON.parseObject(readResource("decks/" + deckName + ".json"), new TypeReference<>() {
+        });
+        return cardsAndCounts.entrySet()
+                             .stream()
+                             .map(entry -> Collections.nCopies(entry.getValue(), entry.getKey()))
+                             .flatMap(Collection::stream)
+                             .collect(Collectors.toList());
+    }
+
+    private static String readResource(String name) {
+        try (InputStream in = BenchmarkDecks.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Deck not found: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
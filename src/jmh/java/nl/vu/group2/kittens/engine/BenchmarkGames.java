@@ -0,0 +1,115 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.HumanPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.engine.replay.GameLog;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import nl.vu.group2.kittens.model.GameEvent;
+import nl.vu.group2.kittens.ui.RemoteInterface;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded games among {@link BenchmarkDecks#PLAYERS_COUNT} players shared by the benchmarks, e.g., to record what would
+ * be sent to each of them over the network or to log the changes to the state.
+ */
+public final class BenchmarkGames {
+
+    private BenchmarkGames() {
+    }
+
+    /**
+     * Plays a game and returns, for every player, the lines sent to it (queries included, replies excluded).
+     */
+    public static List<List<String>> transcripts(String deckName, long seed) {
+        final Random random = new Random(seed);
+        final List<RecordingInterface> interfaces = new ArrayList<>();
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= BenchmarkDecks.PLAYERS_COUNT; i++) {
+            final RecordingInterface ui = new RecordingInterface(new Random(random.nextLong()));
+            interfaces.add(ui);
+            players.add(new HumanPlayer("Player " + i, ui));
+        }
+        final List<Card> cards = new ArrayList<>(BenchmarkDecks.cards(deckName));
+        GameRunner.distributeCards(players, cards, random);
+        final GameState state = new GameState(players, Deck.of(cards, new Random(random.nextLong())));
+        new HostedGame(state, Scoreboard.inMemory(), Duration.ZERO).run();
+        final List<List<String>> transcripts = new ArrayList<>();
+        interfaces.forEach(ui -> transcripts.add(ui.lines));
+        return transcripts;
+    }
+
+    /**
+     * Deals a game among AI players and returns its state before the first turn.
+     */
+    public static GameState start(String deckName, long seed) {
+        final Random random = new Random(seed);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= BenchmarkDecks.PLAYERS_COUNT; i++) {
+            players.add(new AiPlayer("AI " + i, new Random(random.nextLong()), Duration.ZERO));
+        }
+        final List<Card> cards = new ArrayList<>(BenchmarkDecks.cards(deckName));
+        GameRunner.distributeCards(players, cards, random);
+        return new GameState(players, Deck.of(cards, new Random(random.nextLong())));
+    }
+
+    /**
+     * Plays a game among AI players and returns the log of its changes.
+     */
+    public static GameLog log(String deckName, long seed) {
+        final Random random = new Random(seed);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= BenchmarkDecks.PLAYERS_COUNT; i++) {
+            players.add(new AiPlayer("AI " + i, new Random(random.nextLong()), Duration.ZERO));
+        }
+        final List<Card> cards = new ArrayList<>(BenchmarkDecks.cards(deckName));
+        GameRunner.distributeCards(players, cards, random);
+        final GameState state = new GameState(players, Deck.of(cards, new Random(random.nextLong())));
+        final GameLog log = GameLog.record(state);
+        new HostedGame(state, Scoreboard.inMemory(), Duration.ZERO).run();
+        return log;
+    }
+
+    /**
+     * Remote player which plays a random card (or none) on its turn, never NOPEs and puts the exploding kittens back
+     * on top of the deck.
+     */
+    private static class RecordingInterface extends RemoteInterface {
+
+        private final Random random;
+        private final List<String> lines = new ArrayList<>();
+        private String lastQuery;
+
+        RecordingInterface(Random random) {
+            this.random = random;
+        }
+
+        @Override
+        protected void sendEvent(GameEvent event) {
+            lines.add(toLine(event.toString()));
+        }
+
+        @Override
+        protected void sendQuery(String prompt) {
+            lastQuery = prompt;
+            lines.add(toLine(QUERY_MARKER + prompt));
+        }
+
+        @Override
+        protected String receive(String initialPrompt) {
+            if (lastQuery.contains("PICK CARD")) {
+                return String.valueOf(random.nextInt(3));
+            }
+            return lastQuery.contains("NOPE") || lastQuery.contains("reinsert") ? "0" : "1";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on the {@link GameSnapshot}s of a game which just started, i.e., with the whole deck to store: capturing
+ * one is what {@link HostedGame} adds to every turn (the writing happens on another thread), restoring one is what a
+ * restarted host does once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameSnapshotBenchmark {
+
+    @Param({BenchmarkDecks.BASE, "tacos"})
+    String deckName;
+
+    private GameState state;
+    private Scoreboard scoreboard;
+    private GameSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0L);
+        final List<Card> cards = new ArrayList<>(BenchmarkDecks.cards(deckName));
+        final List<Player> players = players();
+        GameRunner.distributeCards(players, cards, random);
+        state = new GameState(players, Deck.of(cards, random));
+        scoreboard = Scoreboard.inMemory();
+        snapshot = GameSnapshot.read(ByteBuffer.wrap(GameSnapshot.capture(state, scoreboard)));
+    }
+
+    @Benchmark
+    public byte[] capture() {
+        return GameSnapshot.capture(state, scoreboard);
+    }
+
+    @Benchmark
+    public GameState restore() {
+        return snapshot.restore(players(), Scoreboard.inMemory());
+    }
+
+    private static List<Player> players() {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= BenchmarkDecks.PLAYERS_COUNT; i++) {
+            players.add(new AiPlayer("AI " + i, new Random(i), Duration.ZERO));
+        }
+        return players;
+    }
+}
@@ -0,0 +1,87 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Deck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on the {@link GameState} accessors called in the turn loop of {@link HostedGame}.
+ * <p>
+ * Run them with the GC profiler ({@code -PjmhArgs="GameStateBenchmark -prof gc"}) to check that the accessors do
+ * not allocate: {@code gc.alloc.rate.norm} should be (close to) 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+    @Param({BenchmarkDecks.BASE, "tacos"})
+    String deckName;
+
+    private GameState state;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0L);
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= BenchmarkDecks.PLAYERS_COUNT; i++) {
+            players.add(new AiPlayer("AI " + i, random, Duration.ZERO));
+        }
+        state = new GameState(players, Deck.of(BenchmarkDecks.cards(deckName), random));
+    }
+
+    @Benchmark
+    public List<Player> getPlayers() {
+        return state.getPlayers();
+    }
+
+    @Benchmark
+    public Collection<Player> getActivePlayers() {
+        return state.getActivePlayers();
+    }
+
+    @Benchmark
+    public Collection<Player> getOpponents() {
+        return state.getOpponents();
+    }
+
+    @Benchmark
+    public Collection<Player> getActiveOpponents() {
+        return state.getActiveOpponents();
+    }
+
+    @Benchmark
+    public Collection<ComboEffect> getEffectHistory() {
+        return state.getEffectHistory();
+    }
+
+    /**
+     * What {@link HostedGame} does at the end of every turn to show the size of the deck and the odds of exploding.
+     */
+    @Benchmark
+    public double deckSizeAndOdds() {
+        return state.getDeck().size() + state.getDeck().explodingOdds();
+    }
+}
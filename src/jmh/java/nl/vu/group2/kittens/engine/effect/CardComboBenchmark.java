@@ -0,0 +1,63 @@
+package nl.vu.group2.kittens.engine.effect;
+
+import nl.vu.group2.kittens.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on {@link CardCombo#getEffect()}, evaluated at every play attempt, and on listing the combinations of a
+ * hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardComboBenchmark {
+
+    private static final Map<String, List<Card>> SELECTIONS = Map.of(
+            "single", List.of(Card.ATTACK),
+            "pair", List.of(Card.TACOCAT, Card.TACOCAT),
+            "triple", List.of(Card.BEARD_CAT, Card.BEARD_CAT, Card.BEARD_CAT),
+            "five", List.of(Card.TACOCAT, Card.BEARD_CAT, Card.CATTERMELON, Card.HAIRY_POTATO_CAT, Card.RAINBOW_RALPHING_CAT),
+            "invalid", List.of(Card.NOPE, Card.DEFUSE)
+    );
+
+    private static final List<Card> HAND = List.of(Card.ATTACK, Card.ATTACK, Card.TACOCAT, Card.TACOCAT, Card.TACOCAT,
+            Card.BEARD_CAT, Card.CATTERMELON, Card.HAIRY_POTATO_CAT, Card.NOPE, Card.DEFUSE, Card.SKIP);
+
+    @Param({"single", "pair", "triple", "five", "invalid"})
+    String selection;
+
+    private CardCombo combo;
+
+    @Setup
+    public void setUp() {
+        combo = new CardCombo(SELECTIONS.get(selection));
+    }
+
+    @Benchmark
+    public Optional<ComboEffect> getEffect() {
+        return combo.getEffect();
+    }
+
+    @Benchmark
+    public List<CardCombo> legalCombos() {
+        return CardCombo.legalCombos(HAND);
+    }
+}
@@ -0,0 +1,54 @@
+package nl.vu.group2.kittens.engine.effect;
+
+import nl.vu.group2.kittens.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on {@link MoveGenerator#generate(List, MoveBuffer)}, listing the plays of a hand at every decision of an
+ * AI player: run with {@code -prof gc} to check that nothing is allocated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGeneratorBenchmark {
+
+    private static final Map<String, List<Card>> HANDS = Map.of(
+            "initial", List.of(Card.DEFUSE, Card.ATTACK, Card.TACOCAT, Card.TACOCAT, Card.NOPE),
+            "large", List.of(Card.ATTACK, Card.ATTACK, Card.TACOCAT, Card.TACOCAT, Card.TACOCAT, Card.BEARD_CAT,
+                    Card.CATTERMELON, Card.HAIRY_POTATO_CAT, Card.NOPE, Card.DEFUSE, Card.SKIP)
+    );
+
+    @Param({"initial", "large"})
+    String hand;
+
+    private final MoveBuffer moves = new MoveBuffer();
+    private List<Card> cards;
+
+    @Setup
+    public void setUp() {
+        cards = HANDS.get(hand);
+    }
+
+    @Benchmark
+    public int generate() {
+        MoveGenerator.generate(cards, moves);
+        return moves.size();
+    }
+}
@@ -0,0 +1,55 @@
+package nl.vu.group2.kittens.engine.replay;
+
+import nl.vu.group2.kittens.engine.BenchmarkDecks;
+import nl.vu.group2.kittens.engine.BenchmarkGames;
+import nl.vu.group2.kittens.engine.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on the {@link GameReplay} of a whole game among AI players, i.e., on rebuilding its last state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameReplayBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({BenchmarkDecks.BASE, "tacos"})
+    String deckName;
+
+    private ByteBuffer log;
+    private GameReplay replay;
+
+    @Setup
+    public void setUp() {
+        log = BenchmarkGames.log(deckName, SEED).toByteBuffer();
+        replay = new GameReplay(log);
+    }
+
+    @Benchmark
+    public GameReplay indexLog() {
+        return new GameReplay(log);
+    }
+
+    @Benchmark
+    public GameState replayGame() {
+        return replay.stateAt(replay.getSteps());
+    }
+}
@@ -0,0 +1,58 @@
+package nl.vu.group2.kittens.engine.score;
+
+import nl.vu.group2.kittens.engine.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on rating 100k stored 4-player games among 1000 players from scratch, with rating periods of a single
+ * game (i.e., sequentially, as when recording game by game) or of many games (whose changes are computed in parallel).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EloRatingsBenchmark {
+
+    private static final int PLAYERS = 1000;
+    private static final int GAMES = 100_000;
+
+    @Param({"1", "1000"})
+    int periodSize;
+
+    private List<List<Result>> games;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0L);
+        games = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            final List<Result> game = new ArrayList<>(4);
+            for (int placement = 4; placement >= 1; placement--) {
+                game.add(new Result("Player " + random.nextInt(PLAYERS), placement));
+            }
+            games.add(game);
+        }
+    }
+
+    @Benchmark
+    public EloRatings recompute() {
+        return EloRatings.recompute(games, periodSize);
+    }
+}
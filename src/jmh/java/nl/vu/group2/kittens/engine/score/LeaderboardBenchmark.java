@@ -0,0 +1,67 @@
+package nl.vu.group2.kittens.engine.score;
+
+import nl.vu.group2.kittens.engine.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on a {@link Leaderboard} fed by many games ending at the same time, while it is queried: three threads
+ * record the results of 4-player games among 1000 players, one thread reads the top 10.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final int PLAYERS = 1000;
+    private static final int GAMES = 1024;
+
+    private Leaderboard leaderboard;
+    private List<List<Result>> games;
+
+    @Setup
+    public void setUp() {
+        leaderboard = new Leaderboard();
+        games = new ArrayList<>(GAMES);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < GAMES; i++) {
+            final List<Result> game = new ArrayList<>(4);
+            for (int placement = 4; placement >= 1; placement--) {
+                game.add(new Result("Player " + random.nextInt(PLAYERS), placement));
+            }
+            games.add(game);
+        }
+    }
+
+    @Benchmark
+    @Group("live")
+    @GroupThreads(3)
+    public void record() {
+        leaderboard.record(games.get(ThreadLocalRandom.current().nextInt(GAMES)));
+    }
+
+    @Benchmark
+    @Group("live")
+    @GroupThreads(1)
+    public List<PlayerStats> top10() {
+        return leaderboard.getTop(10);
+    }
+}
@@ -0,0 +1,62 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.BenchmarkDecks;
+import nl.vu.group2.kittens.engine.BenchmarkGames;
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on keeping the {@link CardTracker}s of all the players up to date: a card drawn and put back near the top
+ * of the deck, with and without a tracker per player, and the odds of drawing an exploding kitten (shown to every
+ * player at the end of its turn with hints on).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardTrackerBenchmark {
+
+    @Param({"false", "true"})
+    boolean tracked;
+
+    private GameState state;
+    private CardTracker tracker;
+    private int offset;
+
+    @Setup
+    public void setUp() {
+        state = BenchmarkGames.start(BenchmarkDecks.BASE, 0L);
+        for (Player player : state.getPlayers()) {
+            tracker = tracked ? CardTracker.of(state, player) : null;
+        }
+    }
+
+    @Benchmark
+    public Card drawAndPutBack() {
+        final Card card = state.drawCard();
+        offset = (offset + 1) % 4;
+        state.reinsertCard(state.getCurrentPlayer(), card, offset);
+        return card;
+    }
+
+    @Benchmark
+    public double explodingOdds() {
+        return tracked ? tracker.explodingOdds() : state.getDeck().explodingOdds();
+    }
+}
@@ -0,0 +1,67 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.BenchmarkDecks;
+import nl.vu.group2.kittens.engine.BenchmarkGames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on the search of {@link nl.vu.group2.kittens.engine.player.SearchAiPlayer}s from the first turn of a
+ * game: a rollout (fork, deal of the hidden cards and random playout) is the unit of work of a search, so rollouts per
+ * second bound how deep a search looks within its time budget.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InformationSetSearchBenchmark {
+
+    private static final int ITERATIONS = 1_000;
+
+    @Param({BenchmarkDecks.BASE, "tacos"})
+    String deckName;
+
+    private final Random random = new Random(0L);
+    private SearchState root;
+    private SearchState fork;
+    private InformationSetSearch search;
+    private final SearchMetrics metrics = new SearchMetrics();
+
+    @Setup
+    public void setUp() {
+        root = SearchState.of(BenchmarkGames.start(deckName, 0L));
+        fork = new SearchState(root);
+        search = new InformationSetSearch(random, Duration.ZERO, ITERATIONS);
+    }
+
+    @Benchmark
+    public double rollout() {
+        fork.copyFrom(root);
+        fork.determinize(0, random);
+        fork.playout(random);
+        return fork.reward(0);
+    }
+
+    /**
+     * A whole decision: in operations per second, a thousandth of the rollouts per second of the tree search.
+     */
+    @Benchmark
+    public int bestMove() {
+        return search.bestMove(root, 0, metrics);
+    }
+}
@@ -0,0 +1,78 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.BenchmarkDecks;
+import nl.vu.group2.kittens.engine.BenchmarkGames;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on decisions split among the workers of a {@link RolloutPool}: with the same number of iterations, a
+ * decision should take about 1/workers of the time of a sequential one, as long as there are as many free cores.
+ * The second benchmark is a decision with a time budget, whose rollouts per decision (reported as a secondary result)
+ * grow with the workers instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RolloutPoolBenchmark {
+
+    private static final int ITERATIONS = 4_000;
+    private static final Duration BUDGET = Duration.ofMillis(20L);
+
+    @Param({"1", "2", "4"})
+    int workers;
+
+    private SearchState root;
+    private InformationSetSearch cappedSearch;
+    private InformationSetSearch timedSearch;
+
+    @Setup
+    public void setUp() {
+        final RolloutPool pool = new RolloutPool(workers);
+        root = SearchState.of(BenchmarkGames.start(BenchmarkDecks.BASE, 0L));
+        cappedSearch = new InformationSetSearch(pool, new Random(0L), Duration.ZERO, ITERATIONS);
+        timedSearch = new InformationSetSearch(pool, new Random(0L), BUDGET, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int cappedDecision() {
+        return cappedSearch.bestMove(root, 0, new SearchMetrics());
+    }
+
+    /**
+     * Secondary results of the timed decisions, over all the decisions taken so far in the trial.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rollouts {
+
+        private final SearchMetrics metrics = new SearchMetrics();
+        public double rolloutsPerDecision;
+        public long p99Millis;
+    }
+
+    @Benchmark
+    public int timedDecision(Rollouts rollouts) {
+        final int move = timedSearch.bestMove(root, 0, rollouts.metrics);
+        rollouts.rolloutsPerDecision = rollouts.metrics.getRolloutsPerDecision();
+        rollouts.p99Millis = rollouts.metrics.getLatencyPercentile(0.99).toMillis();
+        return move;
+    }
+}
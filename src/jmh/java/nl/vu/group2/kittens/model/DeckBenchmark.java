@@ -0,0 +1,65 @@
+package nl.vu.group2.kittens.model;
+
+import nl.vu.group2.kittens.engine.BenchmarkDecks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on the operations of {@link Deck} performed at every turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Param({BenchmarkDecks.BASE, "tacos"})
+    String deckName;
+
+    private Deck deck;
+
+    @Setup
+    public void setUp() {
+        deck = Deck.of(BenchmarkDecks.cards(deckName), new Random(0L));
+        deck.shuffle();
+    }
+
+    /**
+     * The drawn card is put back at the bottom, so that the size of the deck does not change between invocations.
+     */
+    @Benchmark
+    public Card drawCard() {
+        final Card card = deck.drawCard();
+        deck.insertCard(card, deck.size());
+        return card;
+    }
+
+    @Benchmark
+    public int totalExplodingCards() {
+        return deck.totalExplodingCards();
+    }
+
+    @Benchmark
+    public double explodingOdds() {
+        return deck.explodingOdds();
+    }
+
+    @Benchmark
+    public Deck copy() {
+        return deck.copy();
+    }
+}
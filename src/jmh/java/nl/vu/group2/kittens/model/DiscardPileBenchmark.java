@@ -0,0 +1,60 @@
+package nl.vu.group2.kittens.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks on {@link DiscardPile}s with many cards, as at the end of long games or with big custom decks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscardPileBenchmark {
+
+    @Param({"50", "5000"})
+    int pileSize;
+
+    private DiscardPile pile;
+
+    /**
+     * All the cards but the last one are cat cards, so extracting the last one scans the whole pile.
+     */
+    @Setup
+    public void setUp() {
+        pile = new DiscardPile();
+        for (int i = 0; i < pileSize - 1; i++) {
+            pile.pushCard(Card.TACOCAT);
+        }
+        pile.pushCard(Card.ATTACK);
+    }
+
+    /**
+     * The extracted card is pushed back, so that the pile does not change between invocations.
+     */
+    @Benchmark
+    public DiscardPile extractCard() {
+        pile.extractCard(Card.ATTACK);
+        pile.pushCard(Card.ATTACK);
+        return pile;
+    }
+
+    @Benchmark
+    public Set<Card> getCards() {
+        return pile.getCards();
+    }
+}
@@ -0,0 +1,127 @@
+package nl.vu.group2.kittens.ui;
+
+import nl.vu.group2.kittens.engine.BenchmarkDecks;
+import nl.vu.group2.kittens.engine.BenchmarkGames;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Benchmarks on the {@link Compression} of the messages sent to the players of a whole game: the time is the CPU cost
+ * of compressing a game, while the bytes per game (with and without compression) are reported as secondary results.
+ * <p>
+ * Every player has its own stream, flushed before each query as the host does; "deflate" uses no preset dictionary,
+ * to show what the dictionary adds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({BenchmarkDecks.BASE, "valid"})
+    String deckName;
+
+    @Param({"none", "deflate", "dictionary"})
+    String compression;
+
+    private final List<List<byte[]>> transcripts = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (List<String> lines : BenchmarkGames.transcripts(deckName, SEED)) {
+            final List<byte[]> messages = new ArrayList<>(lines.size());
+            lines.forEach(line -> messages.add((line + "\n").getBytes(StandardCharsets.UTF_8)));
+            transcripts.add(messages);
+        }
+    }
+
+    /**
+     * Bytes of a game before and after compression: they are set, rather than accumulated, by every invocation, so
+     * that they are reported per game.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+
+        public long rawBytes;
+        public long sentBytes;
+    }
+
+    @Benchmark
+    public long compressGame(Bytes bytes) throws IOException {
+        long rawBytes = 0;
+        long sentBytes = 0;
+        for (List<byte[]> messages : transcripts) {
+            final CountingStream socket = new CountingStream();
+            try (OutputStream out = open(socket)) {
+                for (byte[] message : messages) {
+                    out.write(message);
+                    rawBytes += message.length;
+                    if (message[0] == RemoteInterface.QUERY_MARKER.charAt(0)) {
+                        out.flush();
+                    }
+                }
+            }
+            sentBytes += socket.count;
+        }
+        bytes.rawBytes = rawBytes;
+        bytes.sentBytes = sentBytes;
+        return sentBytes;
+    }
+
+    private OutputStream open(OutputStream socket) {
+        switch (compression) {
+            case "deflate":
+                // uses a default deflater, which is released on close as the one of Compression
+                return new DeflaterOutputStream(socket, new Deflater(Deflater.DEFAULT_COMPRESSION, true), 8192, true) {
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        def.end();
+                    }
+                };
+            case "dictionary":
+                return Compression.compress(socket);
+            default:
+                return socket;
+        }
+    }
+
+    private static class CountingStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
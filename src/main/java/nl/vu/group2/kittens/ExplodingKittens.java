@@ -2,17 +2,113 @@ package nl.vu.group2.kittens;
 
 import lombok.extern.slf4j.Slf4j;
 import nl.vu.group2.kittens.engine.GameRunner;
+import nl.vu.group2.kittens.engine.LobbyServer;
+import nl.vu.group2.kittens.engine.SimulationRunner;
+import nl.vu.group2.kittens.engine.TournamentRunner;
+import nl.vu.group2.kittens.engine.player.SearchAiPlayer;
+import nl.vu.group2.kittens.engine.replay.GameLogStore;
+import nl.vu.group2.kittens.engine.score.EloRatings;
+import nl.vu.group2.kittens.engine.score.ScoreStore;
+import nl.vu.group2.kittens.network.Network;
 import nl.vu.group2.kittens.ui.CliInterface;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.time.Duration;
+
 @Slf4j
 public class ExplodingKittens {
 
+    private static final String SIMULATE_COMMAND = "simulate";
+    private static final String SERVER_COMMAND = "server";
+    private static final String RATE_COMMAND = "rate";
+    private static final int DEFAULT_SIMULATION_PLAYERS = 4;
+    private static final int SEARCH_ITERATIONS = 2_000;
+    private static final int DEFAULT_RATING_PERIOD = 1;
+
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(SIMULATE_COMMAND)) {
+            runSimulation(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(SERVER_COMMAND)) {
+            runServer(args);
+            return;
+        }
+        if (args.length > 1 && args[0].equals(RATE_COMMAND)) {
+            rateRecordedGames(args);
+            return;
+        }
         log.info("Starting Exploding Kittens...");
         runWithCli();
         log.info("Exploding Kittens game ended");
     }
 
+    /**
+     * Usage: {@code simulate <games> [players] [seed] [threads]}
+     */
+    private static void runSimulation(String[] args) {
+        final long gamesCount = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        final int playersCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SIMULATION_PLAYERS;
+        final long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        final int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        final var simulation = new SimulationRunner(playersCount, seed);
+        final String recordDirectory = System.getProperty("kittens.record");
+        final String scoresDirectory = System.getProperty("kittens.scores");
+        final String ratingsFile = System.getProperty("kittens.ratings");
+        if ("search".equalsIgnoreCase(System.getProperty("kittens.ai"))) {
+            // iterations rather than time, so that the simulation stays reproducible
+            simulation.challenger((id, random) -> new SearchAiPlayer(id, random, Duration.ZERO, SEARCH_ITERATIONS));
+        }
+        try (GameLogStore store = recordDirectory == null ? null : GameLogStore.open(Paths.get(recordDirectory));
+             ScoreStore scores = scoresDirectory == null ? null : ScoreStore.open(Paths.get(scoresDirectory))) {
+            final EloRatings ratings = ratingsFile == null ? null : EloRatings.load(Paths.get(ratingsFile));
+            if (ratings != null) {
+                simulation.reportTo(ratings);
+            }
+            System.out.println(new TournamentRunner(simulation.recordTo(store).scoreTo(scores), threads).run(gamesCount));
+            if (ratings != null) {
+                ratings.save(Paths.get(ratingsFile));
+                ratings.getRanking().forEach(rating -> System.out.printf("%s\t%.0f%n", rating.getPlayerName(),
+                        rating.getRating()));
+            }
+        } catch (IOException e) {
+            log.error("Failed to open the stores of the simulation", e);
+        }
+    }
+
+    /**
+     * Usage: {@code server [players per game]}
+     */
+    private static void runServer(String[] args) {
+        final int playersPerGame = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIMULATION_PLAYERS;
+        try (LobbyServer server = new LobbyServer(new InetSocketAddress(Network.PORT), playersPerGame).start()) {
+            server.awaitTermination();
+        } catch (IOException e) {
+            log.error("Failed to start the lobby server", e);
+        } catch (InterruptedException e) {
+            log.info("Lobby server interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Usage: {@code rate <record directory> [games per rating period]}, replacing the ratings with the ones of the
+     * games recorded in the given directory (see {@code simulate}).
+     */
+    private static void rateRecordedGames(String[] args) {
+        final int periodSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RATING_PERIOD;
+        try (GameLogStore store = GameLogStore.open(Paths.get(args[1]))) {
+            final EloRatings ratings = EloRatings.recompute(store, periodSize);
+            ratings.save(EloRatings.DEFAULT_PATH);
+            ratings.getRanking().forEach(rating -> System.out.printf("%s\t%.0f%n", rating.getPlayerName(),
+                    rating.getRating()));
+        } catch (IOException e) {
+            log.error("Failed to rate the games recorded in {}", args[1], e);
+        }
+    }
+
     private static void runWithCli() {
         boolean isPlayerPlaying = true;
         final CliInterface ui = new CliInterface();
@@ -8,12 +8,15 @@ import lombok.extern.slf4j.Slf4j;
 import nl.vu.group2.kittens.engine.player.AiPlayer;
 import nl.vu.group2.kittens.engine.player.HumanPlayer;
 import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.engine.player.SearchAiPlayer;
+import nl.vu.group2.kittens.engine.score.EloRatings;
 import nl.vu.group2.kittens.model.Card;
 import nl.vu.group2.kittens.model.Deck;
 import nl.vu.group2.kittens.network.Network;
 import nl.vu.group2.kittens.ui.UserInterface;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
@@ -22,8 +25,11 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -46,6 +52,8 @@ public class GameRunner {
     private static final String AI_PLAYER_NAME_PATTERN = "^AI \\d+$";
     private static final String YES_NO_CHOICE = "^[YyNn]?$";
     private static final Duration JOIN_TIMEOUT = Duration.ofDays(7L);
+    /** With {@code -Dkittens.ai=search}, the AI opponents look ahead with a {@link SearchAiPlayer}. */
+    private static final boolean SEARCH_AI = "search".equalsIgnoreCase(System.getProperty("kittens.ai"));
     public static final int MAX_PLAYER_COUNT = 5;
 
     UserInterface ui;
@@ -56,12 +64,83 @@ public class GameRunner {
             new RemoteGame(ui).run();
             return;
         }
+        final Optional<ByteBuffer> snapshot = SnapshotWriter.read(SnapshotWriter.DEFAULT_PATH);
+        if (snapshot.isPresent() && askToResume()) {
+            resume(GameSnapshot.read(snapshot.get()));
+            return;
+        }
         final List<Player> players = createPlayers(gameType);
         final List<Card> deckCards = createDeckCards(players);
         distributeCards(players, deckCards);
         final GameState state = new GameState(players, Deck.of(deckCards));
-        new HostedGame(state).run();
+        try (SnapshotWriter snapshots = new SnapshotWriter(SnapshotWriter.DEFAULT_PATH)) {
+            new HostedGame(state).snapshotTo(snapshots).run();
+        }
+        saveRatings();
+    }
+
+    // <editor-fold desc="Resume methods">
+    private boolean askToResume() {
+        String resume;
+        do {
+            resume = ui.query("A game was interrupted, do you want to resume it? (Y/n)");
+        } while (!resume.matches(YES_NO_CHOICE));
+        return !resume.equalsIgnoreCase("n");
+    }
+
+    /**
+     * Restores an interrupted game: the host plays as the first player again, the AI players are created again and
+     * the remote players have to join again (with the same names).
+     */
+    private void resume(GameSnapshot snapshot) {
+        final List<String> ids = snapshot.getPlayerIds();
+        final List<String> remoteIds = ids.subList(1, ids.size())
+                                          .stream()
+                                          .filter(id -> !id.matches(AI_PLAYER_NAME_PATTERN))
+                                          .collect(Collectors.toList());
+        final Map<String, Player> remotePlayers = rejoinPlayers(remoteIds);
+        final List<Player> players = new ArrayList<>(ids.size());
+        players.add(new HumanPlayer(ids.get(0), ui));
+        for (String id : ids.subList(1, ids.size())) {
+            players.add(id.matches(AI_PLAYER_NAME_PATTERN) ? createAiPlayer(id) : remotePlayers.get(id));
+        }
+        final Scoreboard scoreboard = new Scoreboard();
+        final GameState state = snapshot.restore(players, scoreboard);
+        log.info("Resumed game with {}", players);
+        state.onEvent(systemEvent("The game has been resumed"));
+        try (SnapshotWriter snapshots = new SnapshotWriter(SnapshotWriter.DEFAULT_PATH)) {
+            new HostedGame(state, scoreboard).snapshotTo(snapshots).run();
+        }
+        saveRatings();
+    }
+
+    private static void saveRatings() {
+        try {
+            EloRatings.getInstance().save(EloRatings.DEFAULT_PATH);
+        } catch (IOException e) {
+            log.warn("Failed to save the ratings", e);
+        }
+    }
+
+    /**
+     * Waits until every remote player joined again with their name, turning away whoever joins with another one.
+     */
+    private Map<String, Player> rejoinPlayers(List<String> ids) {
+        final Map<String, Player> players = new HashMap<>();
+        while (players.size() < ids.size()) {
+            for (Player player : connectPlayers(ids.size() - players.size())) {
+                if (ids.contains(player.getId()) && !players.containsKey(player.getId())) {
+                    players.put(player.getId(), player);
+                } else {
+                    log.warn("{} was not playing the interrupted game, turning them away", player.getId());
+                    player.onEvent(errorEvent("Only the players of the interrupted game can join it"));
+                    player.onEvent(systemEvent(Game.GAME_ENDED_MARKER));
+                }
+            }
+        }
+        return players;
     }
+    // </editor-fold>
 
     private GameType getGameType() {
         String isLocal;
@@ -102,11 +181,15 @@ public class GameRunner {
         final List<Player> players = new ArrayList<>(opponentsCount);
         IntStream.range(1, opponentsCount + 1)
                  .mapToObj(Integer::toString)
-                 .map(i -> new AiPlayer("AI " + i))
+                 .map(i -> createAiPlayer("AI " + i))
                  .forEach(players::add);
         return players;
     }
 
+    private static Player createAiPlayer(String id) {
+        return SEARCH_AI ? new SearchAiPlayer(id) : new AiPlayer(id);
+    }
+
     private int selectNumOpponents() {
         return ui.queryNumber("Select the number of opponents", 1, MAX_PLAYER_COUNT - 1);
     }
@@ -152,7 +235,7 @@ public class GameRunner {
         }
     }
 
-    private static List<Card> getCardsForBaseDeck(int playersCount) {
+    static List<Card> getCardsForBaseDeck(int playersCount) {
         List<Card> cards = new ArrayList<>();
         for (int i = 0; i < 4; i++) {
             cards.addAll(List.of(Card.ATTACK, Card.SKIP, Card.FAVOR, Card.SHUFFLE, Card.TACOCAT, Card.BEARD_CAT, Card.CATTERMELON, Card.HAIRY_POTATO_CAT, Card.RAINBOW_RALPHING_CAT));
@@ -202,7 +285,7 @@ public class GameRunner {
         }
     }
 
-    private static List<Card> validateCustomDeck(Map<Card, Integer> cardsAndCounts, int playersCount) throws InvalidDeckException {
+    static List<Card> validateCustomDeck(Map<Card, Integer> cardsAndCounts, int playersCount) throws InvalidDeckException {
         if (cardsAndCounts.containsKey(null)) {
             throw new InvalidDeckException("At least one of the cards in the JSON is invalid.");
         }
@@ -230,7 +313,11 @@ public class GameRunner {
     // </editor-fold>
 
     private static void distributeCards(List<Player> players, List<Card> cards) {
-        Collections.shuffle(cards);
+        distributeCards(players, cards, new Random());
+    }
+
+    static void distributeCards(List<Player> players, List<Card> cards, Random random) {
+        Collections.shuffle(cards, random);
         for (Player player : players) {
             player.addCard(Card.DEFUSE);
             final List<Card> otherHandCards = cards.stream()
@@ -240,7 +327,7 @@ public class GameRunner {
             otherHandCards.forEach(player::addCard);
             otherHandCards.forEach(cards::remove);
         }
-        Collections.shuffle(cards);
+        Collections.shuffle(cards, random);
     }
 
     private static boolean isAnInitialHandCard(Card card) {
@@ -248,10 +335,10 @@ public class GameRunner {
     }
 
     /**
-     * NOTE: Since this exception is used only inside this class, we thought it was better not to create a dedicated
-     * file for it.
+     * NOTE: Since this exception is used only inside this package (for custom decks), we thought it was better not to
+     * create a dedicated file for it.
      */
-    private static class InvalidDeckException extends Exception {
+    static class InvalidDeckException extends Exception {
         public InvalidDeckException(String message) {
             super(message);
         }
@@ -0,0 +1,180 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.effect.CardCombo;
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of a hosted game, i.e., of its {@link GameState} and of the results on its
+ * {@link Scoreboard}, from which the game is restored after the host crashed.
+ * <p>
+ * Only what the rules depend on is stored: the hands and the deck (as card ordinals), the counts of the discarded
+ * cards, the turn order (who is still playing, whose turn it is and their extra turns) and, of the history of the
+ * effects, the number of attacks played in a row. The source of randomness of the deck is not stored, so the shuffles
+ * after a restore differ from the ones the game would have had.
+ */
+final class GameSnapshot {
+
+    private static final int MAGIC = 0x4B534E50; // "KSNP"
+    private static final byte VERSION = 1;
+    private static final Card[] CARDS = Card.values();
+    private static final ComboEffect ATTACK = new CardCombo(List.of(Card.ATTACK)).getEffect().orElseThrow();
+
+    private final List<String> playerIds;
+    private final List<List<Card>> hands;
+    private final boolean[] active;
+    private final int current;
+    private final long extraTurns;
+    private final int leadingAttacks;
+    private final List<Card> deck;
+    private final int[] discarded;
+    private final List<Result> results;
+
+    private GameSnapshot(ByteBuffer in) {
+        if (in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        final int playersCount = in.get();
+        playerIds = new ArrayList<>(playersCount);
+        hands = new ArrayList<>(playersCount);
+        active = new boolean[playersCount];
+        for (int i = 0; i < playersCount; i++) {
+            playerIds.add(getString(in));
+            active[i] = in.get() != 0;
+            hands.add(getCards(in));
+        }
+        current = in.get();
+        extraTurns = in.getLong();
+        leadingAttacks = in.getInt();
+        deck = getCards(in);
+        discarded = new int[in.get()];
+        for (int i = 0; i < discarded.length; i++) {
+            discarded[i] = in.getInt();
+        }
+        final int resultsCount = in.getInt();
+        results = new ArrayList<>(resultsCount);
+        for (int i = 0; i < resultsCount; i++) {
+            results.add(new Result(getString(in), in.getInt()));
+        }
+    }
+
+    /**
+     * Encodes the current state of the game: this is done on the game thread, while the state does not change, so it
+     * only copies what is needed into the returned bytes.
+     */
+    static byte[] capture(GameState state, Scoreboard scoreboard) {
+        final List<Player> players = state.getPlayers();
+        final List<byte[]> ids = new ArrayList<>(players.size());
+        int size = Integer.BYTES + 2 + 1 + Long.BYTES + Integer.BYTES + 1 + CARDS.length * Integer.BYTES + Integer.BYTES;
+        for (Player player : players) {
+            final byte[] id = player.getId().getBytes(StandardCharsets.UTF_8);
+            ids.add(id);
+            size += Integer.BYTES + id.length + 1 + Integer.BYTES + player.getHandSize();
+        }
+        final List<Result> results = scoreboard.getResults();
+        final List<byte[]> names = new ArrayList<>(results.size());
+        for (Result result : results) {
+            final byte[] name = result.getPlayerName().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += Integer.BYTES + name.length + Integer.BYTES;
+        }
+        final List<Card> deckCards = state.getDeck().peek(0, state.getDeck().size());
+        size += Integer.BYTES + deckCards.size();
+
+        final ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC).put(VERSION).put((byte) players.size());
+        for (int i = 0; i < players.size(); i++) {
+            final Player player = players.get(i);
+            out.putInt(ids.get(i).length).put(ids.get(i));
+            out.put((byte) (state.getActivePlayers().contains(player) ? 1 : 0));
+            putCards(out, player.getHandView());
+        }
+        out.put((byte) players.indexOf(state.getCurrentPlayer()));
+        out.putLong(state.getExtraTurns());
+        out.putInt((int) state.getEffectHistory().stream().takeWhile(ATTACK::equals).count());
+        putCards(out, deckCards);
+        out.put((byte) CARDS.length);
+        for (Card card : CARDS) {
+            out.putInt(state.countDiscarded(card));
+        }
+        out.putInt(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            out.putInt(names.get(i).length).put(names.get(i)).putInt(results.get(i).getScore());
+        }
+        return out.array();
+    }
+
+    static GameSnapshot read(ByteBuffer snapshot) {
+        return new GameSnapshot(snapshot.duplicate());
+    }
+
+    /**
+     * Returns the ids of the players, in the order in which they joined the game.
+     */
+    List<String> getPlayerIds() {
+        return Collections.unmodifiableList(playerIds);
+    }
+
+    /**
+     * Rebuilds the game with the given players, who take the places of the players in the snapshot in the same order
+     * (see {@link #getPlayerIds()}) and must have no cards yet. The results of the players who already lost are added
+     * to the given scoreboard.
+     */
+    GameState restore(List<Player> players, Scoreboard scoreboard) {
+        if (players.size() != playerIds.size()) {
+            throw new IllegalArgumentException(String.format("The game had %d players, not %d",
+                    playerIds.size(), players.size()));
+        }
+        for (int i = 0; i < players.size(); i++) {
+            hands.get(i).forEach(players.get(i)::addCard);
+        }
+        final GameState state = new GameState(players, Deck.of(deck));
+        for (int i = 0; i < players.size(); i++) {
+            if (!active[i]) {
+                state.removeFromGame(players.get(i));
+            }
+        }
+        while (!state.getCurrentPlayer().equals(players.get(current))) {
+            state.nextTurn();
+        }
+        state.addTurns(extraTurns);
+        for (int i = 0; i < discarded.length; i++) {
+            state.restoreDiscarded(CARDS[i], discarded[i]);
+        }
+        for (int i = 0; i < leadingAttacks; i++) {
+            state.addEffectToHistory(ATTACK);
+        }
+        results.forEach(result -> scoreboard.add(result.getPlayerName(), result.getScore()));
+        return state;
+    }
+
+    private static void putCards(ByteBuffer out, List<Card> cards) {
+        out.putInt(cards.size());
+        for (Card card : cards) {
+            out.put((byte) card.ordinal());
+        }
+    }
+
+    private static List<Card> getCards(ByteBuffer in) {
+        final int size = in.getInt();
+        final List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cards.add(CARDS[in.get()]);
+        }
+        return cards;
+    }
+
+    private static String getString(ByteBuffer in) {
+        final byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
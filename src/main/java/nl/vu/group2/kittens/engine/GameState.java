@@ -5,131 +5,241 @@ import nl.vu.group2.kittens.engine.effect.ComboEffect;
 import nl.vu.group2.kittens.engine.player.Player;
 import nl.vu.group2.kittens.model.Card;
 import nl.vu.group2.kittens.model.Deck;
+import nl.vu.group2.kittens.model.DeckView;
 import nl.vu.group2.kittens.model.DiscardPile;
 import nl.vu.group2.kittens.model.GameEvent;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+/**
+ * The accessors of this class return read-only views or immutable collections which are built once (or once per
+ * elimination), so that the turn loop of a game does not allocate new collections at every call.
+ * <p>
+ * Every change to the state is reported to the {@link GameStateListener}s, e.g., to record the game.
+ */
 @Slf4j
 public final class GameState {
 
     private final List<Player> players;
-    private final Deque<Player> turns;
+    private final TurnOrder turns;
     private final Deck deck;
     private final DiscardPile discardPile;
     private final Deque<ComboEffect> effectHistory;
 
+    private final Set<Player> activePlayers;
+    private final Collection<Player> activePlayersView;
+    private final Collection<ComboEffect> effectHistoryView;
+    private final Map<Player, List<Player>> opponents;
+    private final Map<Player, List<Player>> activeOpponents;
+    private GameStateListener[] listeners = new GameStateListener[0];
+
     public GameState(List<Player> players, Deck deck) {
         this.players = List.copyOf(players);
-        this.turns = new LinkedList<>(players);
+        this.turns = new TurnOrder(players);
         this.deck = deck;
         this.discardPile = new DiscardPile();
-        this.effectHistory = new LinkedList<>();
+        this.effectHistory = new ArrayDeque<>();
+        this.activePlayers = new LinkedHashSet<>(players);
+        this.activePlayersView = Collections.unmodifiableSet(activePlayers);
+        this.effectHistoryView = Collections.unmodifiableCollection(effectHistory);
+        this.opponents = new HashMap<>();
+        this.activeOpponents = new HashMap<>();
+        for (Player player : this.players) {
+            opponents.put(player, opponentsOf(player, this.players));
+        }
+        activeOpponents.putAll(opponents);
     }
 
     //<editor-fold desc="accessors">
     public List<Player> getPlayers() {
-        return new ArrayList<>(players);
+        return players;
     }
 
+    /**
+     * Returns a live view of the players still in the game, in the order in which they joined it (so that iterating
+     * over them is deterministic).
+     */
     public Collection<Player> getActivePlayers() {
-        return new HashSet<>(turns);
+        return activePlayersView;
+    }
+
+    public int getActivePlayersCount() {
+        return turns.activeCount();
     }
 
     public Player getCurrentPlayer() {
-        return turns.getFirst();
+        return turns.current();
+    }
+
+    /**
+     * Returns the turns the current player has to play after the current one (e.g., because of an attack).
+     */
+    public long getExtraTurns() {
+        return turns.extraTurns();
     }
 
     public Collection<Player> getOpponents() {
-        final Player currentPlayer = getCurrentPlayer();
-        return getPlayers().stream()
-                           .filter(Predicate.not(currentPlayer::equals))
-                           .collect(Collectors.toList());
+        return opponents.get(getCurrentPlayer());
     }
 
+    /**
+     * Returns the active opponents of the current player as they are at the time of the call: the returned list is
+     * not updated when a player gets removed from the game.
+     */
     public Collection<Player> getActiveOpponents() {
-        final Collection<Player> activePlayers = getActivePlayers();
-        return getOpponents().stream()
-                             .filter(activePlayers::contains)
-                             .collect(Collectors.toList());
+        return activeOpponents.get(getCurrentPlayer());
     }
 
-    public Deck getDeck() {
-        return deck.copy();
+    public DeckView getDeck() {
+        return deck.view();
     }
 
-    public Deque<ComboEffect> getEffectHistory() {
-        return new LinkedList<>(effectHistory);
+    /**
+     * Returns a live view of the effects played so far, from the most recent one.
+     */
+    public Collection<ComboEffect> getEffectHistory() {
+        return effectHistoryView;
     }
 
     public void addEffectToHistory(ComboEffect effect) {
         effectHistory.addFirst(effect);
+        for (GameStateListener listener : listeners) {
+            listener.onEffect(effect);
+        }
     }
     //</editor-fold>
 
+    /**
+     * Adds a listener of the changes to this state, which is called after the listeners added before it.
+     */
+    public void addListener(GameStateListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
     public Card drawCard() {
         final Card card = deck.drawCard();
         final Player currentPlayer = getCurrentPlayer();
         currentPlayer.addCard(card);
+        for (GameStateListener listener : listeners) {
+            listener.onDraw(currentPlayer, card);
+        }
         return card;
     }
 
+    /**
+     * Shows the given number of cards from the top of the deck (or the whole deck, if it has fewer) to the player.
+     */
+    public List<Card> peekDeck(Player player, int count) {
+        final List<Card> cards = deck.peek(0, count);
+        for (GameStateListener listener : listeners) {
+            listener.onPeek(player, cards);
+        }
+        return cards;
+    }
+
     public void reinsertCard(Player player, Card card, int offset) {
         player.removeCardFromHand(card);
         deck.insertCard(card, offset);
+        for (GameStateListener listener : listeners) {
+            listener.onReinsert(player, card, offset);
+        }
     }
 
     public void discard(Player player, Card card) {
         player.removeCardFromHand(card);
         discardPile.pushCard(card);
+        for (GameStateListener listener : listeners) {
+            listener.onDiscard(player, card);
+        }
     }
 
     public void shuffleDeck() {
-        deck.shuffle();
+        onShuffle(deck.shuffle());
+    }
+
+    /**
+     * Repeats the shuffle with the given seed, e.g., when replaying a game.
+     */
+    public void shuffleDeck(long seed) {
+        deck.shuffle(seed);
+        onShuffle(seed);
     }
 
     public void transferCard(Player from, Player to, Card card) {
         from.removeCardFromHand(card);
         to.addCard(card);
+        for (GameStateListener listener : listeners) {
+            listener.onTransfer(from, to, card);
+        }
     }
 
     public void transferFromPile(Player player, Card card) {
         discardPile.extractCard(card);
         player.addCard(card);
+        for (GameStateListener listener : listeners) {
+            listener.onTransferFromPile(player, card);
+        }
     }
 
+    /**
+     * Returns a live, read-only view of the distinct cards in the discard pile.
+     */
     public Set<Card> getDiscardedCards() {
         return discardPile.getCards();
     }
 
+    public int countDiscarded(Card card) {
+        return discardPile.count(card);
+    }
+
+    /**
+     * Puts back cards in the discard pile when restoring a game from a {@link GameSnapshot}.
+     */
+    void restoreDiscarded(Card card, int count) {
+        for (int i = 0; i < count; i++) {
+            discardPile.pushCard(card);
+        }
+    }
+
     public void nextTurn() {
-        final Player currentPlayer = turns.removeFirst();
-        final Player nextPlayer = turns.peekFirst();
-        if (nextPlayer != null && currentPlayer != nextPlayer) {
-            turns.addLast(currentPlayer);
+        turns.nextTurn();
+        for (GameStateListener listener : listeners) {
+            listener.onNextTurn();
         }
     }
 
     public void addTurns(long numberOfTurns) {
-        for (long i = 0; i < numberOfTurns; i++) {
-            turns.addFirst(turns.getFirst());
+        turns.addTurns(numberOfTurns);
+        for (GameStateListener listener : listeners) {
+            listener.onAddTurns(numberOfTurns);
         }
     }
 
     public void removeFromGame(Player player) {
-        log.info("BEFORE removing from game: turns '{}'", turns);
-        while (turns.contains(player)) {
-            turns.remove(player);
+        log.debug("BEFORE removing from game: turns '{}'", turns);
+        turns.remove(player);
+        log.debug("AFTER removing from game: turns '{}'", turns);
+        if (activePlayers.remove(player)) {
+            activeOpponents.clear();
+            for (Player activePlayer : activePlayers) {
+                activeOpponents.put(activePlayer, opponentsOf(activePlayer, activePlayers));
+            }
+        }
+        for (GameStateListener listener : listeners) {
+            listener.onRemove(player);
         }
-        log.info("AFTER removing from game: turns '{}'", turns);
     }
 
     public void onEvent(GameEvent event) {
@@ -139,4 +249,16 @@ public final class GameState {
     public void onEvent(GameEvent event, Collection<Player> players) {
         players.forEach(player -> player.onEvent(event));
     }
+
+    private void onShuffle(long seed) {
+        for (GameStateListener listener : listeners) {
+            listener.onShuffle(seed);
+        }
+    }
+
+    private static List<Player> opponentsOf(Player player, Collection<Player> players) {
+        return players.stream()
+                      .filter(Predicate.not(player::equals))
+                      .collect(Collectors.toUnmodifiableList());
+    }
 }
@@ -0,0 +1,56 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+
+import java.util.List;
+
+/**
+ * Listener of the changes to a {@link GameState}, called right after each change has been applied.
+ * All the methods do nothing by default, so that listeners only implement the changes they are interested in.
+ */
+public interface GameStateListener {
+
+    default void onDraw(Player player, Card card) {
+    }
+
+    /**
+     * @param offset position from the top of the deck, as in {@link GameState#reinsertCard(Player, Card, int)}
+     */
+    default void onReinsert(Player player, Card card, int offset) {
+    }
+
+    default void onDiscard(Player player, Card card) {
+    }
+
+    /**
+     * @param seed the seed of the shuffle, with which it can be repeated
+     */
+    default void onShuffle(long seed) {
+    }
+
+    default void onTransfer(Player from, Player to, Card card) {
+    }
+
+    default void onTransferFromPile(Player player, Card card) {
+    }
+
+    default void onNextTurn() {
+    }
+
+    default void onAddTurns(long numberOfTurns) {
+    }
+
+    default void onRemove(Player player) {
+    }
+
+    default void onEffect(ComboEffect effect) {
+    }
+
+    /**
+     * @param cards the cards the player was shown, from the top of the deck
+     */
+    default void onPeek(Player player, List<Card> cards) {
+    }
+}
@@ -4,9 +4,13 @@ import lombok.extern.slf4j.Slf4j;
 import nl.vu.group2.kittens.engine.effect.CardCombo;
 import nl.vu.group2.kittens.engine.effect.ComboEffect;
 import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.engine.search.CardTracker;
 import nl.vu.group2.kittens.model.Card;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -23,20 +27,55 @@ import static nl.vu.group2.kittens.model.GameEvent.systemEvent;
 @Slf4j
 class HostedGame implements Game {
 
+    private static final Duration NOPE_WINDOW = Duration.ofSeconds(5L);
+    /**
+     * With {@code -Dkittens.hints=true}, every player is shown its own odds of drawing an exploding kitten, from what
+     * it knows (see {@link CardTracker}), instead of the odds computed from the whole deck.
+     */
+    private static final boolean HINTS = Boolean.getBoolean("kittens.hints");
+
     private final GameState state;
     private final Scoreboard scoreboard;
+    private final Duration nopeWindow;
+    private SnapshotWriter snapshots;
+    private final Map<Player, CardTracker> hints = new HashMap<>();
 
     HostedGame(GameState state) {
+        this(state, new Scoreboard());
+    }
+
+    HostedGame(GameState state, Scoreboard scoreboard) {
+        this(state, scoreboard, NOPE_WINDOW);
+    }
+
+    /**
+     * @param nopeWindow how long players can wait before playing a NOPE; with a zero window, only players answering
+     *                   synchronously (e.g., AI players without thinking time) can NOPE an action.
+     */
+    HostedGame(GameState state, Scoreboard scoreboard, Duration nopeWindow) {
         this.state = state;
-        this.scoreboard = new Scoreboard();
-        log.info("Game initialized! {}", state);
+        this.scoreboard = scoreboard;
+        this.nopeWindow = nopeWindow;
+        log.debug("Game initialized! {}", state);
+    }
+
+    /**
+     * Snapshots the game at the start of every turn, so that it can be restored if the host crashes.
+     */
+    HostedGame snapshotTo(SnapshotWriter snapshots) {
+        this.snapshots = snapshots;
+        return this;
     }
 
     @Override
     public void run() {
+        state.getPlayers().forEach(player -> player.onGameStart(state));
+        if (HINTS) {
+            state.getPlayers().forEach(player -> hints.put(player, CardTracker.of(state, player)));
+        }
         showInitialCards();
         // If we want to quit the game before the "logic" end of the game, we might need to change the condition here
-        while (state.getActivePlayers().size() > 1) {
+        while (state.getActivePlayersCount() > 1) {
             doTurn();
         }
         // at the end of the game there is only 1 active player, who is the winner
@@ -49,6 +88,9 @@ class HostedGame implements Game {
         scoreboard.update();
         state.onEvent(systemEvent(scoreboard.toString()));
         state.onEvent(systemEvent(GAME_ENDED_MARKER));
+        if (snapshots != null) {
+            snapshots.delete();
+        }
     }
 
     private void showInitialCards() {
@@ -60,12 +102,15 @@ class HostedGame implements Game {
     }
 
     private void doTurn() {
+        if (snapshots != null) {
+            snapshots.submit(GameSnapshot.capture(state, scoreboard));
+        }
         final Player currentPlayer = state.getCurrentPlayer();
         state.onEvent(systemEvent(String.format("%s\tis currently playing", currentPlayer.getId())));
         while (currentPlayer.equals(state.getCurrentPlayer())) { // NOTE: A turn might end because of card effects
-            final List<Card> handCopy = currentPlayer.getHand();
+            final List<Card> hand = currentPlayer.getHandView();
             state.onEvent(infoEvent("Select a card to play"), Set.of(currentPlayer));
-            final List<Card> cardSelection = currentPlayer.selectCardFrom(handCopy);
+            final List<Card> cardSelection = currentPlayer.selectCardFrom(hand);
             if (cardSelection.isEmpty()) {
                 endTurn();
             } else {
@@ -80,29 +125,38 @@ class HostedGame implements Game {
         state.onEvent(systemEvent(String.format("%s\tdrawn", card)), Set.of(currentPlayer));
         state.onEvent(systemEvent(String.format("%s\tdrew a card", currentPlayer.getId())), state.getOpponents());
         if (explodesBecauseOfKitten(currentPlayer, card)) {
-            log.info("Player {} exploded!", currentPlayer);
+            log.debug("Player {} exploded!", currentPlayer);
             state.onEvent(errorEvent(String.format("%s\tExploded", currentPlayer.getId())), state.getActivePlayers());
             scoreboard.add(currentPlayer.getId(), state.getActivePlayers().size());
             currentPlayer.getHand().forEach(c -> state.discard(currentPlayer, c));
             state.removeFromGame(currentPlayer);
             return;
         }
-        state.onEvent(systemEvent(String.format("%n%d Cards left in the deck! %n%.2f%% chance of drawing an exploding kitten%n", state.getDeck().size(), state.getDeck().explodingOdds() * 100)));
+        if (hints.isEmpty()) {
+            state.onEvent(systemEvent(oddsMessage(state.getDeck().explodingOdds())));
+        } else {
+            hints.forEach((player, tracker) -> player.onEvent(systemEvent(oddsMessage(tracker.explodingOdds()))));
+        }
         state.addEffectToHistory(NoOperationEffect.INSTANCE);
         state.nextTurn();
     }
 
+    private String oddsMessage(double explodingOdds) {
+        return String.format("%n%d Cards left in the deck! %n%.2f%% chance of drawing an exploding kitten%n",
+                state.getDeck().size(), explodingOdds * 100);
+    }
+
     private boolean explodesBecauseOfKitten(Player player, Card card) {
         if (card != Card.EXPLODING_KITTEN) {
             return false;
         }
         state.onEvent(errorEvent(String.format("%s\tPicked an exploding kitten!", player.getId())), state.getActivePlayers());
-        boolean cannotDefuse = !player.getHand().contains(Card.DEFUSE);
+        boolean cannotDefuse = !player.hasCard(Card.DEFUSE);
         if (cannotDefuse) {
             return true;
         }
 
-        log.info("Explosion defused for {}", player);
+        log.debug("Explosion defused for {}", player);
         state.onEvent(systemEvent(String.format("%s\tDefused the explosion!", player.getId())), state.getActivePlayers());
         state.discard(player, Card.DEFUSE);
         int newIndex = player.reinsertExplodingKitten(state.getDeck().size());
@@ -120,7 +174,7 @@ class HostedGame implements Game {
         final var comboEffect = maybeComboEffect.get();
         state.onEvent(systemEvent(String.format("%s\tis about to be played by %s", cards.toString(), currentPlayer.getId())));
         cards.forEach(card -> state.discard(currentPlayer, card));
-        final boolean actionNoped = isNoped(currentPlayer, comboEffect.toString());
+        final boolean actionNoped = isNoped(currentPlayer, cards, comboEffect.toString());
         if (actionNoped) {
             state.onEvent(systemEvent(String.format("%s\thas been NOPE'd!", comboEffect.toString())));
         } else {
@@ -129,13 +183,18 @@ class HostedGame implements Game {
         }
     }
 
-    private boolean isNoped(Player player, String action) {
+    private boolean isNoped(Player player, List<Card> cards, String action) {
         Stream<Player> otherPlayers = state.getActivePlayers()
                                            .stream()
                                            .filter(not(player::equals));
         final CompletableFuture<Optional<Player>> nopePlayed = new CompletableFuture<>();
-        nopePlayed.completeOnTimeout(Optional.empty(), 5L, TimeUnit.SECONDS);
-        otherPlayers.forEach(p -> p.askForNope(action, nopePlayed));
+        if (!nopeWindow.isZero()) {
+            nopePlayed.completeOnTimeout(Optional.empty(), nopeWindow.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        otherPlayers.forEach(p -> p.askForNope(cards, action, nopePlayed));
+        if (nopeWindow.isZero()) {
+            nopePlayed.complete(Optional.empty());
+        }
         final Optional<Player> nopingPlayer;
         try {
             nopingPlayer = nopePlayed.get();
@@ -148,9 +207,9 @@ class HostedGame implements Game {
             state.discard(nopingPlayer.get(), Card.NOPE);
             state.onEvent(infoEvent(String.format("%s\tHas been noped by %s.", action, nopingPlayer.get().getId())));
             // NOTE: Please look closely the following tail-recursive return: there is a '!' in front of that for noping NOPEs
-            return !isNoped(nopingPlayer.get(), "NOPE on " + action);
+            return !isNoped(nopingPlayer.get(), List.of(Card.NOPE), "NOPE on " + action);
         } else {
-            log.info("Action {} not NOPE'd", action);
+            log.debug("Action {} not NOPE'd", action);
             return false;
         }
     }
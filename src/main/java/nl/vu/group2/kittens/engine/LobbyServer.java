@@ -0,0 +1,206 @@
+package nl.vu.group2.kittens.engine;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.player.HumanPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.engine.score.EloRatings;
+import nl.vu.group2.kittens.engine.score.Leaderboard;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import nl.vu.group2.kittens.network.Network;
+import nl.vu.group2.kittens.network.NioConnection;
+import nl.vu.group2.kittens.network.NioServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static nl.vu.group2.kittens.model.GameEvent.infoEvent;
+import static nl.vu.group2.kittens.model.GameEvent.systemEvent;
+
+/**
+ * Dedicated server hosting many networked games at once, with no player on the hosting side.
+ * <p>
+ * The players connect to a single {@link NioServer} and wait in the lobby until there are enough of them to start a
+ * game; the players who leave meanwhile lose their seat. Every game has its own {@link GameState} and an in-memory
+ * {@link Scoreboard}, and runs on a thread which only exists as long as the game does. A player takes no thread
+ * before their game starts: their name is asked {@link NioConnection#queryAsync(String) asynchronously}, and the
+ * events sent to them are queued by their connection. The results of all the games are added to a shared
+ * {@link Leaderboard} and update the {@link EloRatings#getInstance() ratings} of the players, which are saved when
+ * the server is closed.
+ */
+@Slf4j
+public class LobbyServer implements AutoCloseable {
+
+    private final NioServer server;
+    private final int playersPerGame;
+    private final List<Seat> lobby = new ArrayList<>();
+    private final ExecutorService games = Executors.newCachedThreadPool(daemonThreads("lobby-game"));
+    private final AtomicInteger runningGames = new AtomicInteger();
+    private final AtomicLong gamesPlayed = new AtomicLong();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final EloRatings ratings = EloRatings.getInstance();
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    public LobbyServer(InetSocketAddress address, int playersPerGame) throws IOException {
+        if (playersPerGame < 2 || playersPerGame > GameRunner.MAX_PLAYER_COUNT) {
+            throw new IllegalArgumentException(String.format("Games must have 2 to %d players: %d",
+                    GameRunner.MAX_PLAYER_COUNT, playersPerGame));
+        }
+        this.playersPerGame = playersPerGame;
+        this.server = new NioServer(address, this::join);
+    }
+
+    public LobbyServer start() {
+        server.start();
+        log.info("Lobby server started, {} players per game", playersPerGame);
+        return this;
+    }
+
+    /**
+     * Blocks the calling thread until the server is closed.
+     */
+    public void awaitTermination() throws InterruptedException {
+        closed.await();
+    }
+
+    @Override
+    public void close() {
+        synchronized (lobby) {
+            lobby.forEach(seat -> {
+                seat.getConnection().notify(systemEvent("The lobby is closing"));
+                seat.getConnection().close();
+            });
+            lobby.clear();
+        }
+        server.close();
+        games.shutdownNow();
+        try {
+            ratings.save(EloRatings.DEFAULT_PATH);
+        } catch (IOException e) {
+            log.error("Failed to save the ratings", e);
+        }
+        closed.countDown();
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    //<editor-fold desc="metrics">
+    public int getWaitingPlayers() {
+        synchronized (lobby) {
+            dropLeftPlayers();
+            return lobby.size();
+        }
+    }
+
+    public int getRunningGames() {
+        return runningGames.get();
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed.get();
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public EloRatings getRatings() {
+        return ratings;
+    }
+    //</editor-fold>
+
+    /**
+     * Asks the name of a new client and seats them in the lobby once they replied, on the selector thread.
+     */
+    private void join(NioConnection connection) {
+        connection.queryAsync(Network.NAME_QUERY)
+                  .orTimeout(Network.HANDSHAKE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                  .whenComplete((id, error) -> {
+                      if (error != null) {
+                          log.info("Client left before joining the lobby: {}", error.toString());
+                          connection.close();
+                      } else {
+                          seat(id, connection);
+                      }
+                  });
+    }
+
+    private void seat(String id, NioConnection connection) {
+        log.info("{} joined the lobby.", id);
+        connection.notify(infoEvent("Welcome " + id));
+        final List<Seat> seats;
+        synchronized (lobby) {
+            dropLeftPlayers();
+            lobby.add(new Seat(new HumanPlayer(id, connection), connection));
+            if (lobby.size() < playersPerGame) {
+                connection.notify(systemEvent(String.format("Waiting for %d more players", playersPerGame - lobby.size())));
+                return;
+            }
+            seats = new ArrayList<>(lobby);
+            lobby.clear();
+        }
+        games.execute(() -> play(seats));
+    }
+
+    /** Must be called holding the lock of the lobby. */
+    private void dropLeftPlayers() {
+        lobby.removeIf(seat -> {
+            if (seat.getConnection().isClosed()) {
+                log.info("{} left the lobby.", seat.getPlayer().getId());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void play(List<Seat> seats) {
+        final List<Player> players = seats.stream().map(Seat::getPlayer).collect(Collectors.toList());
+        log.info("Starting game with {}", players);
+        runningGames.incrementAndGet();
+        try {
+            final Random random = new Random();
+            final List<Card> cards = GameRunner.getCardsForBaseDeck(players.size());
+            GameRunner.distributeCards(players, cards, random);
+            final GameState state = new GameState(players, Deck.of(cards, random));
+            new HostedGame(state, Scoreboard.inMemory().reportTo(leaderboard).reportTo(ratings)).run();
+            gamesPlayed.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.error("Game with {} aborted", players, e);
+        } finally {
+            runningGames.decrementAndGet();
+            seats.forEach(seat -> seat.getConnection().close());
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A player in the lobby, with the connection to close when they leave.
+     */
+    @Value
+    private static class Seat {
+        Player player;
+        NioConnection connection;
+    }
+}
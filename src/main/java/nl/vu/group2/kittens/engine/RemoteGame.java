@@ -3,32 +3,54 @@ package nl.vu.group2.kittens.engine;
 import lombok.extern.slf4j.Slf4j;
 import nl.vu.group2.kittens.model.GameEvent;
 import nl.vu.group2.kittens.network.Network;
+import nl.vu.group2.kittens.ui.BinaryFrame;
+import nl.vu.group2.kittens.ui.BinaryTcpInterface;
+import nl.vu.group2.kittens.ui.Compression;
+import nl.vu.group2.kittens.ui.FrameCodec;
 import nl.vu.group2.kittens.ui.TcpInterface;
 import nl.vu.group2.kittens.ui.UserInterface;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
 
 import static nl.vu.group2.kittens.model.GameEvent.errorEvent;
 
 @Slf4j
 class RemoteGame implements Game {
 
-    public static final String GAME_ENDED_MESSAGE = GameEvent.EventType.SYSTEM + Game.GAME_ENDED_MARKER;
-    private final Socket socket;
+    private static final GameEvent GAME_ENDED_EVENT = GameEvent.systemEvent(Game.GAME_ENDED_MARKER);
+    public static final String GAME_ENDED_MESSAGE = GAME_ENDED_EVENT.toString();
+    private static final String BINARY_OFFER_MESSAGE = GameEvent.systemEvent(BinaryTcpInterface.PROTOCOL_OFFER).toString();
+    private static final String COMPRESSION_OFFER_MESSAGE =
+            GameEvent.systemEvent(BinaryTcpInterface.COMPRESSION_OFFER).toString();
+    private static final Duration RECONNECT_TIMEOUT = Duration.ofMinutes(2L);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1L);
     private final UserInterface ui;
+    private Socket socket;
+    private boolean binary;
+    private InputStream input;
+    private OutputStream output;
+    private String name;
 
     private static final int READ_TIMEOUT_MS = 30_000;
 
     public RemoteGame(UserInterface ui) {
         this.ui = ui;
         try {
-            socket = Network.getInstance().joinGame();
-            socket.setSoTimeout(READ_TIMEOUT_MS);
+            connect();
         } catch (IOException e) {
             final String errorMessage = "Failed to connect to the game";
             log.error(errorMessage, e);
@@ -37,53 +59,212 @@ class RemoteGame implements Game {
         }
     }
 
+    /**
+     * Plays the game, connecting again to the host if the connection breaks (e.g., because the host crashed and is
+     * restoring the game from a snapshot). A host closing the connection or not answering is not waited for.
+     */
     @Override
     public void run() {
+        while (true) {
+            try {
+                playSession();
+                return;
+            } catch (ConnectionLostException e) {
+                if (!reconnect()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void connect() throws IOException {
+        socket = Network.getInstance().joinGame();
+        socket.setSoTimeout(READ_TIMEOUT_MS);
+        input = socket.getInputStream();
+        output = socket.getOutputStream();
+        binary = false;
+    }
+
+    /**
+     * @return whether the connection was established again in time
+     */
+    private boolean reconnect() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("Error while closing the lost connection", e);
+        }
+        ui.notify(errorEvent("Connection to the game lost, trying to reconnect..."));
+        final long deadline = System.nanoTime() + RECONNECT_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(RECONNECT_DELAY.toMillis());
+                connect();
+                log.info("Reconnected to the game");
+                return true;
+            } catch (IOException e) {
+                log.debug("Failed to reconnect to the game", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void playSession() {
+        final String firstMessage = negotiateProtocol();
+        if (binary) {
+            playBinaryGame();
+            closeConnection();
+            return;
+        }
         final Pair<BufferedReader, PrintWriter> ioChannels = openIoChannels();
-        playGame(ioChannels);
+        playGame(ioChannels, firstMessage);
         closeConnections(ioChannels);
     }
 
-    private Pair<BufferedReader, PrintWriter> openIoChannels() {
+    /**
+     * Asks for the binary protocol and/or for compression, as configured, if the host offers them
+     * (see {@link BinaryTcpInterface}).
+     *
+     * @return the first message of the text protocol if it was already read, otherwise null
+     */
+    private String negotiateProtocol() {
         try {
-            final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            final PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-            return Pair.of(in, out);
+            final String offer = BinaryTcpInterface.readLine(input);
+            if (!BINARY_OFFER_MESSAGE.equals(offer) || !(Network.BINARY_PROTOCOL || Network.COMPRESSION)) {
+                return offer;
+            }
+            // hosts which only offer the binary protocol follow the offer with the first query
+            final String nextMessage = Network.COMPRESSION ? BinaryTcpInterface.readLine(input) : null;
+            final boolean compressed = COMPRESSION_OFFER_MESSAGE.equals(nextMessage);
+            if (!Network.BINARY_PROTOCOL && !compressed) {
+                return nextMessage;
+            }
+            final String protocol = (Network.BINARY_PROTOCOL ? BinaryTcpInterface.BINARY : BinaryTcpInterface.TEXT) +
+                    (compressed ? Compression.DEFLATE : "");
+            BinaryTcpInterface.writeLine(output, BinaryTcpInterface.request(protocol));
+            // the query sent along with the offer is asked again once the protocol is agreed
+            String reply = BinaryTcpInterface.readLine(input);
+            while (reply != null && !reply.startsWith(BinaryTcpInterface.ACK_PREFIX)) {
+                reply = BinaryTcpInterface.readLine(input);
+            }
+            if (reply == null) {
+                throw new EOFException("Connection closed by the host during the negotiation");
+            }
+            if (!BinaryTcpInterface.ack(protocol).equals(reply)) {
+                return null; // the host went on in text
+            }
+            if (compressed) {
+                input = Compression.decompress(input);
+                output = Compression.compress(output);
+            }
+            binary = Network.BINARY_PROTOCOL;
+            return null;
         } catch (IOException e) {
-            final String errorMessage = "Error while opening the I/O channels over the network";
-            log.error(errorMessage, e);
-            throw new IllegalStateException(errorMessage, e);
+            throw transportError("Error while negotiating the protocol", e);
+        }
+    }
+
+    private void playBinaryGame() {
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+            final FrameCodec codec = new FrameCodec();
+            while (true) {
+                final BinaryFrame frame = codec.read(in);
+                if (frame.getKind() == BinaryFrame.Kind.QUERY) {
+                    codec.write(BinaryFrame.reply(frame.getPromptId(), answer(frame.getText())), out);
+                    out.flush();
+                } else if (frame.getKind() == BinaryFrame.Kind.EVENT) {
+                    final GameEvent event = frame.toEvent();
+                    ui.notify(event);
+                    if (event.equals(GAME_ENDED_EVENT)) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw transportError("Error while running remote game", e);
         }
     }
 
-    private void playGame(Pair<BufferedReader, PrintWriter> ioChannels) {
+    private Pair<BufferedReader, PrintWriter> openIoChannels() {
+        final BufferedReader in = new BufferedReader(new InputStreamReader(input));
+        final PrintWriter out = new PrintWriter(output, true);
+        return Pair.of(in, out);
+    }
+
+    private void playGame(Pair<BufferedReader, PrintWriter> ioChannels, String firstMessage) {
         final BufferedReader in = ioChannels.getLeft();
         final PrintWriter out = ioChannels.getRight();
         try {
-            String nextMessage = "";
-            while (!nextMessage.equals(GAME_ENDED_MESSAGE)) {
-                nextMessage = in.readLine();
+            String nextMessage = firstMessage != null ? firstMessage : in.readLine();
+            while (true) {
+                if (nextMessage == null) {
+                    throw new IllegalStateException("Connection closed by the host");
+                }
                 final String reply = handleMessage(nextMessage);
                 if (reply != null) {
                     out.println(reply);
                 }
+                if (nextMessage.equals(GAME_ENDED_MESSAGE)) {
+                    break;
+                }
+                nextMessage = in.readLine();
             }
         } catch (IOException e) {
-            final String errorMessage = "Error while running remote game";
-            log.error(errorMessage, e);
-            throw new IllegalStateException(errorMessage, e);
+            throw transportError("Error while running remote game", e);
         }
     }
 
     private String handleMessage(String nextMessage) {
         nextMessage = nextMessage.replace(TcpInterface.NEWLINE_REPLACEMENT, "\n");
         if (nextMessage.startsWith(TcpInterface.QUERY_MARKER)) {
-            return ui.query(nextMessage.substring(TcpInterface.QUERY_MARKER.length()));
+            return answer(nextMessage.substring(TcpInterface.QUERY_MARKER.length()));
         }
         ui.notify(GameEvent.of(nextMessage));
         return null;
     }
 
+    /**
+     * Asks the user to reply to a query, but for the name of the player after a reconnection: the host expects the
+     * same name as before.
+     */
+    private String answer(String prompt) {
+        if (prompt.equals(Network.NAME_QUERY) && name != null) {
+            return name;
+        }
+        final String reply = ui.query(prompt);
+        if (prompt.equals(Network.NAME_QUERY)) {
+            name = reply;
+        }
+        return reply;
+    }
+
+    /**
+     * Returns the exception to throw for the given I/O error: the connection is only lost if it broke, while the host
+     * closing it (the end of the stream) or not answering (a timeout) is final.
+     */
+    private static IllegalStateException transportError(String errorMessage, IOException e) {
+        log.error(errorMessage, e);
+        if (e instanceof EOFException || e instanceof SocketTimeoutException) {
+            return new IllegalStateException(errorMessage, e);
+        }
+        return new ConnectionLostException(errorMessage, e);
+    }
+
+    private void closeConnection() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            final String errorMessage = "Error while closing TCP connection";
+            log.error(errorMessage, e);
+            throw new IllegalStateException(errorMessage, e);
+        }
+    }
+
     private void closeConnections(Pair<BufferedReader, PrintWriter> ioChannels) {
         try {
             ioChannels.getLeft().close();
@@ -95,4 +276,16 @@ class RemoteGame implements Game {
             throw new IllegalStateException(errorMessage, e);
         }
     }
+
+    /**
+     * Failure of the transport while playing, after which it is worth connecting again.
+     */
+    private static class ConnectionLostException extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        ConnectionLostException(String message, IOException cause) {
+            super(message, cause);
+        }
+    }
 }
@@ -1,44 +1,65 @@
 package nl.vu.group2.kittens.engine;
 
-import com.alibaba.fastjson.JSON;
 import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.score.EloRatings;
+import nl.vu.group2.kittens.engine.score.Leaderboard;
+import nl.vu.group2.kittens.engine.score.ResultsRecorder;
+import nl.vu.group2.kittens.engine.score.ScoreStore;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
-import java.nio.channels.FileLock;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Results of a game, i.e., the placement of every player (1 for the winner). When the game ends, the results are
+ * appended to a {@link ScoreStore} (if any), which keeps the history of all the games played.
+ */
 @Slf4j
 public class Scoreboard {
 
-    private static final Path SCOREBOARD_FILE_PATH = Paths.get("scoreboard.json");
     private final List<Result> results = new ArrayList<>();
+    private final ScoreStore store;
+    private final List<ResultsRecorder> recorders = new ArrayList<>();
 
+    /**
+     * Creates a scoreboard saved to the {@link ScoreStore#getInstance() default store}, which also updates the
+     * {@link EloRatings#getInstance() default ratings}.
+     */
     public Scoreboard() {
-        log.info("Creating new scoreboard");
-        try {
-            Files.deleteIfExists(SCOREBOARD_FILE_PATH);
-        } catch (IOException e) {
-            log.warn("Error deleting old scoreboard", e);
-        }
+        this(ScoreStore.getInstance().orElse(null));
+        reportTo(EloRatings.getInstance());
+    }
+
+    public Scoreboard(ScoreStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Creates a scoreboard which is never written to disk, e.g., for headless simulations.
+     */
+    public static Scoreboard inMemory() {
+        return new Scoreboard(null);
     }
 
+    /**
+     * Passes the results of the game to the given recorder (e.g., a {@link Leaderboard}) too when the game ends.
+     */
+    public Scoreboard reportTo(ResultsRecorder recorder) {
+        recorders.add(recorder);
+        return this;
+    }
+
+    /**
+     * Saves the results of the game, which has ended.
+     */
     public void update() {
-        final List<Result> resultsCopy = new ArrayList<>(results);
-        Collections.sort(resultsCopy);
-        final byte[] jsonBytes = JSON.toJSONString(resultsCopy).getBytes(StandardCharsets.UTF_8);
-        try (FileChannel channel = FileChannel.open(SCOREBOARD_FILE_PATH,
-                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-             FileLock ignored = channel.lock()) {
-            channel.write(ByteBuffer.wrap(jsonBytes));
+        recorders.forEach(recorder -> recorder.record(results));
+        if (store == null) {
+            return;
+        }
+        try {
+            store.append(results);
         } catch (IOException e) {
             log.error("Failed to update scoreboard", e);
             throw new IllegalStateException(e);
@@ -49,6 +70,10 @@ public class Scoreboard {
         results.add(new Result(player, score));
     }
 
+    public List<Result> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
     @Override
     public String toString() {
         StringBuilder scoreboardString = new StringBuilder();
@@ -0,0 +1,60 @@
+package nl.vu.group2.kittens.engine;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summary of a batch of headless games: throughput and, for each player, win rate and average placement
+ * (1 is the winner, 2 the last player exploding, and so on).
+ */
+@Value
+public class SimulationReport {
+
+    long gamesCount;
+    int playersCount;
+    long seed;
+    Duration elapsed;
+    Map<String, Long> wins;
+    Map<String, Double> averagePlacements;
+
+    static SimulationReport of(SimulationStatistics statistics, int playersCount, long seed, Duration elapsed) {
+        final Map<String, Long> wins = new TreeMap<>();
+        final Map<String, Double> averagePlacements = new TreeMap<>();
+        statistics.getGamesPlayed().forEach((player, games) -> {
+            wins.put(player, statistics.getWins().getOrDefault(player, 0L));
+            averagePlacements.put(player, (double) statistics.getPlacementSums().get(player) / games);
+        });
+        return new SimulationReport(
+                statistics.getGamesCount(),
+                playersCount,
+                seed,
+                elapsed,
+                Collections.unmodifiableMap(wins),
+                Collections.unmodifiableMap(averagePlacements)
+        );
+    }
+
+    public double getGamesPerSecond() {
+        final double seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : gamesCount / seconds;
+    }
+
+    public double getWinRate(String player) {
+        return gamesCount == 0 ? 0 : (double) wins.getOrDefault(player, 0L) / gamesCount;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("%d games with %d players (seed %d) in %.2f s: %.1f games/s%n",
+                gamesCount, playersCount, seed, elapsed.toMillis() / 1000.0, getGamesPerSecond()));
+        report.append("PLAYER\t\tWIN RATE\tAVG PLACEMENT\n");
+        wins.keySet().forEach(player -> report.append(String.format("%s\t\t%.2f%%\t\t%.3f%n",
+                player, getWinRate(player) * 100, averagePlacements.get(player))));
+        return report.toString();
+    }
+}
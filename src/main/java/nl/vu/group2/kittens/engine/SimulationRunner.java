@@ -0,0 +1,161 @@
+package nl.vu.group2.kittens.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.engine.replay.GameLog;
+import nl.vu.group2.kittens.engine.replay.GameLogStore;
+import nl.vu.group2.kittens.engine.score.Leaderboard;
+import nl.vu.group2.kittens.engine.score.ResultsRecorder;
+import nl.vu.group2.kittens.engine.score.ScoreStore;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Plays complete AI-vs-AI games with no user interface and no pauses, e.g., to tune the composition of a deck.
+ * <p>
+ * Every game is derived from its own seed (computed from the seed of the simulation and the index of the game), so
+ * that a batch of games is reproducible and any single game can be played again in isolation.
+ */
+@Slf4j
+public class SimulationRunner {
+
+    private static final int MIN_PLAYER_COUNT = 2;
+
+    private final int playersCount;
+    private final long seed;
+    private final List<Card> deckCards;
+    private GameLogStore store;
+    private ScoreStore scores;
+    private final List<ResultsRecorder> recorders = new ArrayList<>();
+    private BiFunction<String, Random, Player> challenger;
+
+    public SimulationRunner(int playersCount, long seed) {
+        this(playersCount, seed, GameRunner.getCardsForBaseDeck(playersCount));
+    }
+
+    /**
+     * @param customDeck card counts, with the same format (and validation) as the custom decks of hosted games
+     */
+    public SimulationRunner(int playersCount, long seed, Map<Card, Integer> customDeck) {
+        this(playersCount, seed, validate(customDeck, playersCount));
+    }
+
+    private SimulationRunner(int playersCount, long seed, List<Card> deckCards) {
+        if (playersCount < MIN_PLAYER_COUNT || playersCount > GameRunner.MAX_PLAYER_COUNT) {
+            throw new IllegalArgumentException(String.format("Players count must be between %d and %d",
+                    MIN_PLAYER_COUNT, GameRunner.MAX_PLAYER_COUNT));
+        }
+        this.playersCount = playersCount;
+        this.seed = seed;
+        this.deckCards = List.copyOf(deckCards);
+    }
+
+    /**
+     * Records every game played from now on in the given store, with the index of the game as its id.
+     */
+    public SimulationRunner recordTo(GameLogStore store) {
+        this.store = store;
+        return this;
+    }
+
+    /**
+     * Saves the results of every game played from now on in the given store.
+     */
+    public SimulationRunner scoreTo(ScoreStore scores) {
+        this.scores = scores;
+        return this;
+    }
+
+    /**
+     * Passes the results of every game played from now on to the given recorder (e.g., a {@link Leaderboard}, which
+     * can be queried while the games are played). Games played in parallel pass their results in no specific order.
+     */
+    public SimulationRunner reportTo(ResultsRecorder recorder) {
+        recorders.add(recorder);
+        return this;
+    }
+
+    /**
+     * Seats the player made by the given factory, from its id and its own seeded {@link Random}, in place of the first
+     * AI player of every game played from now on, e.g., to measure a smarter AI against the random ones.
+     */
+    public SimulationRunner challenger(BiFunction<String, Random, Player> challenger) {
+        this.challenger = challenger;
+        return this;
+    }
+
+    public SimulationReport run(long gamesCount) {
+        log.info("Simulating {} games with {} players (seed {})", gamesCount, playersCount, seed);
+        final long start = System.nanoTime();
+        final SimulationStatistics statistics = new SimulationStatistics();
+        for (long gameIndex = 0; gameIndex < gamesCount; gameIndex++) {
+            statistics.record(playGame(gameIndex));
+        }
+        return toReport(statistics, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    SimulationReport toReport(SimulationStatistics statistics, Duration elapsed) {
+        final SimulationReport report = SimulationReport.of(statistics, playersCount, seed, elapsed);
+        log.info("Simulation ended: {}", report);
+        return report;
+    }
+
+    /**
+     * Plays the game with the given index and returns its results.
+     * All the state of the game is created here, so games can be played concurrently.
+     */
+    List<Result> playGame(long gameIndex) {
+        final Random random = new Random(gameSeed(seed, gameIndex));
+        final List<Player> players = new ArrayList<>(playersCount);
+        for (int i = 1; i <= playersCount; i++) {
+            final String id = "AI " + i;
+            final Random playerRandom = new Random(random.nextLong());
+            players.add(i == 1 && challenger != null
+                        ? challenger.apply(id, playerRandom)
+                        : new AiPlayer(id, playerRandom, Duration.ZERO));
+        }
+        final List<Card> cards = new ArrayList<>(deckCards);
+        GameRunner.distributeCards(players, cards, random);
+        final GameState state = new GameState(players, Deck.of(cards, new Random(random.nextLong())));
+        final GameLog gameLog = store != null ? GameLog.record(state) : null;
+        final Scoreboard scoreboard = new Scoreboard(scores); // in memory if there is no store
+        recorders.forEach(scoreboard::reportTo);
+        new HostedGame(state, scoreboard, Duration.ZERO).run();
+        if (gameLog != null) {
+            try {
+                store.append(gameIndex, gameLog);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to record game " + gameIndex, e);
+            }
+        }
+        return scoreboard.getResults();
+    }
+
+    /**
+     * SplitMix64 finalizer: neighbouring game indexes get unrelated seeds, which {@link Random} would not guarantee.
+     */
+    static long gameSeed(long seed, long gameIndex) {
+        long z = seed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static List<Card> validate(Map<Card, Integer> customDeck, int playersCount) {
+        try {
+            return GameRunner.validateCustomDeck(new HashMap<>(customDeck), playersCount);
+        } catch (GameRunner.InvalidDeckException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package nl.vu.group2.kittens.engine;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable accumulator of the results of many simulated games.
+ * Only the aggregates are kept, so that memory does not grow with the number of games.
+ */
+final class SimulationStatistics {
+
+    private static final int WINNER_SCORE = 1;
+
+    private final Map<String, Long> gamesPlayed = new TreeMap<>();
+    private final Map<String, Long> wins = new TreeMap<>();
+    private final Map<String, Long> placementSums = new TreeMap<>();
+    private long gamesCount;
+
+    void record(Collection<Result> gameResults) {
+        gamesCount++;
+        for (Result result : gameResults) {
+            final String player = result.getPlayerName();
+            gamesPlayed.merge(player, 1L, Long::sum);
+            placementSums.merge(player, (long) result.getScore(), Long::sum);
+            if (result.getScore() == WINNER_SCORE) {
+                wins.merge(player, 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Adds the results accumulated by another instance (e.g., by another worker thread) to this one.
+     */
+    SimulationStatistics merge(SimulationStatistics other) {
+        gamesCount += other.gamesCount;
+        other.gamesPlayed.forEach((player, games) -> gamesPlayed.merge(player, games, Long::sum));
+        other.wins.forEach((player, count) -> wins.merge(player, count, Long::sum));
+        other.placementSums.forEach((player, sum) -> placementSums.merge(player, sum, Long::sum));
+        return this;
+    }
+
+    long getGamesCount() {
+        return gamesCount;
+    }
+
+    Map<String, Long> getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    Map<String, Long> getWins() {
+        return wins;
+    }
+
+    Map<String, Long> getPlacementSums() {
+        return placementSums;
+    }
+}
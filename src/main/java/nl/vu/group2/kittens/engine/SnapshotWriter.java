@@ -0,0 +1,111 @@
+package nl.vu.group2.kittens.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes the {@link GameSnapshot}s of a hosted game to a file, on a thread of its own so that the game never waits
+ * for the disk.
+ * <p>
+ * Only the latest snapshot matters: if the previous one is still waiting to be written when a new one arrives, it is
+ * replaced. Every snapshot is written to a temporary file which is then moved over the previous snapshot, so that a
+ * crash while writing never leaves a truncated snapshot behind.
+ */
+@Slf4j
+final class SnapshotWriter implements Closeable {
+
+    static final Path DEFAULT_PATH = Paths.get(System.getProperty("kittens.snapshot", "game.snapshot"));
+
+    private final Path path;
+    private final Path temporaryPath;
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long written;
+
+    SnapshotWriter(Path path) {
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    /**
+     * Reads the snapshot left by a game which did not end, if any.
+     */
+    static Optional<ByteBuffer> read(Path path) {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(ByteBuffer.wrap(Files.readAllBytes(path)));
+        } catch (IOException e) {
+            log.warn("Failed to read the snapshot {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Schedules the writing of the given snapshot, replacing the one waiting to be written (if any).
+     */
+    void submit(byte[] snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            executor.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Deletes the snapshot, after the ones submitted before have been written: the game ended, so there is nothing
+     * left to restore.
+     */
+    void delete() {
+        executor.execute(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete the snapshot {}", path, e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5L, TimeUnit.SECONDS)) {
+                log.warn("Snapshots still being written to {}", path);
+            }
+        } catch (InterruptedException e) {
+            log.error("Interrupted while writing the last snapshot", e);
+            Thread.currentThread().interrupt();
+        }
+        log.info("Closed snapshot writer of {} after {} snapshots", path, written);
+    }
+
+    private void writePending() {
+        final byte[] snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            Files.write(temporaryPath, snapshot);
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            written++;
+        } catch (IOException e) {
+            log.warn("Failed to write the snapshot {}", path, e);
+        }
+    }
+}
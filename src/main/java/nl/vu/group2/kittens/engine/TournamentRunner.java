@@ -0,0 +1,79 @@
+package nl.vu.group2.kittens.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Spreads the games of a {@link SimulationRunner} over all the cores of the machine.
+ * <p>
+ * The range of game indexes is split in shards which are played on a fork-join pool: every game creates its own
+ * state, deck and (seeded) players, and every shard accumulates its own statistics, which are merged at the end.
+ * Since the seed of a game only depends on its index, the results are the same as a sequential run, whatever the
+ * parallelism.
+ */
+@Slf4j
+public class TournamentRunner {
+
+    private static final long GAMES_PER_SHARD = 256L;
+
+    private final SimulationRunner simulation;
+    private final int parallelism;
+
+    public TournamentRunner(SimulationRunner simulation) {
+        this(simulation, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TournamentRunner(SimulationRunner simulation, int parallelism) {
+        this.simulation = simulation;
+        this.parallelism = parallelism;
+    }
+
+    public SimulationReport run(long gamesCount) {
+        log.info("Running tournament of {} games on {} threads", gamesCount, parallelism);
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final long start = System.nanoTime();
+            final SimulationStatistics statistics = pool.invoke(new Shard(simulation, 0L, gamesCount));
+            return simulation.toReport(statistics, Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the games in the range [from, to), splitting it in halves until it is small enough.
+     */
+    private static class Shard extends RecursiveTask<SimulationStatistics> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SimulationRunner simulation;
+        private final long from;
+        private final long to;
+
+        Shard(SimulationRunner simulation, long from, long to) {
+            this.simulation = simulation;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStatistics compute() {
+            if (to - from <= GAMES_PER_SHARD) {
+                final SimulationStatistics statistics = new SimulationStatistics();
+                for (long gameIndex = from; gameIndex < to; gameIndex++) {
+                    statistics.record(simulation.playGame(gameIndex));
+                }
+                return statistics;
+            }
+            final long middle = from + (to - from) / 2;
+            final Shard left = new Shard(simulation, from, middle);
+            left.fork();
+            final SimulationStatistics right = new Shard(simulation, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
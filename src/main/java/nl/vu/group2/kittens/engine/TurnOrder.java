@@ -0,0 +1,118 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.player.Player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+/**
+ * Order in which the players take their turns.
+ * <p>
+ * The players still in the game form a ring of indexes (in the order in which they joined the game), linked in both
+ * directions so that eliminating a player does not scan the others. The turns added by an attack are not stored as
+ * copies of the attacked player, but as a counter of extra turns of the current player.
+ * Getting the current player, counting the players and eliminating one are all constant time.
+ */
+final class TurnOrder {
+
+    private final List<Player> players;
+    private final Map<Player, Integer> indexes;
+    private final int[] next;
+    private final int[] prev;
+    private final boolean[] active;
+    private int current;
+    private int activeCount;
+    private long extraTurns;
+
+    TurnOrder(List<Player> players) {
+        this.players = List.copyOf(players);
+        final int count = this.players.size();
+        this.indexes = new HashMap<>();
+        this.next = new int[count];
+        this.prev = new int[count];
+        this.active = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            indexes.put(this.players.get(i), i);
+            next[i] = (i + 1) % count;
+            prev[i] = (i + count - 1) % count;
+            active[i] = true;
+        }
+        this.current = 0;
+        this.activeCount = count;
+    }
+
+    Player current() {
+        if (activeCount == 0) {
+            throw new NoSuchElementException("No player left in the game.");
+        }
+        return players.get(current);
+    }
+
+    int activeCount() {
+        return activeCount;
+    }
+
+    long extraTurns() {
+        return extraTurns;
+    }
+
+    /**
+     * Ends the turn of the current player: if they still have to play an extra turn it's their turn again, otherwise
+     * it's the turn of the next player.
+     */
+    void nextTurn() {
+        if (extraTurns > 0) {
+            extraTurns--;
+        } else {
+            current = next[current];
+        }
+    }
+
+    /**
+     * Makes the current player take the given number of turns on top of the one they're playing.
+     */
+    void addTurns(long numberOfTurns) {
+        extraTurns += numberOfTurns;
+    }
+
+    /**
+     * Removes a player from the ring. If it was their turn, their extra turns are lost and it's the turn of the next
+     * player. Removing a player who is not in the game has no effect.
+     */
+    void remove(Player player) {
+        final Integer index = indexes.get(player);
+        if (index == null || !active[index]) {
+            return;
+        }
+        active[index] = false;
+        activeCount--;
+        next[prev[index]] = next[index];
+        prev[next[index]] = prev[index];
+        if (index == current) {
+            current = next[index];
+            extraTurns = 0;
+        }
+    }
+
+    /**
+     * Lists the coming turns as the players' deque did: the current player once per turn they still have to play,
+     * then the other players.
+     */
+    @Override
+    public String toString() {
+        final StringJoiner turns = new StringJoiner(", ", "[", "]");
+        if (activeCount == 0) {
+            return turns.toString();
+        }
+        for (long i = 0; i <= extraTurns; i++) {
+            turns.add(String.valueOf(players.get(current)));
+        }
+        for (int i = next[current]; i != current; i = next[i]) {
+            turns.add(String.valueOf(players.get(i)));
+        }
+        return turns.toString();
+    }
+}
@@ -4,7 +4,7 @@ import lombok.Value;
 import nl.vu.group2.kittens.engine.GameState;
 import nl.vu.group2.kittens.engine.player.Player;
 
-import java.util.Deque;
+import java.util.Collection;
 
 import static nl.vu.group2.kittens.model.GameEvent.infoEvent;
 
@@ -18,7 +18,7 @@ class AttackEffect implements ComboEffect {
             state.nextTurn();
         }
 
-        final Deque<ComboEffect> effectHistory = state.getEffectHistory();
+        final Collection<ComboEffect> effectHistory = state.getEffectHistory();
         long previousAttacksPlayed = effectHistory.stream()
                                                   .takeWhile(this::equals)
                                                   .count();
@@ -3,75 +3,32 @@ package nl.vu.group2.kittens.engine.effect;
 import lombok.Value;
 import nl.vu.group2.kittens.model.Card;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
 
+/**
+ * Cards played together, whose effect is looked up in the {@link ComboTable}.
+ */
 @Value
 public class CardCombo {
 
     List<Card> cards;
 
-    public Optional<ComboEffect> getEffect() {
-        switch (cards.size()) {
-            case 1:
-                return getEffectForSingleCard();
-            case 2:
-                return getEffectForTwoCards();
-            case 3:
-                return getEffectForThreeCards();
-            case 5:
-                return getEffectForFiveCards();
-            default:
-                return Optional.empty();
-        }
-    }
-
-    private Optional<ComboEffect> getEffectForSingleCard() {
-        final ComboEffect effect;
-        switch (cards.get(0)) {
-            case ATTACK:
-                effect = new AttackEffect();
-                break;
-            case FAVOR:
-                effect = new FavorEffect();
-                break;
-            case SEE_THE_FUTURE:
-                effect = new SeeTheFutureEffect();
-                break;
-            case SKIP:
-                effect = new SkipEffect();
-                break;
-            case SHUFFLE:
-                effect = new ShuffleEffect();
-                break;
-            default:
-                effect = null;
-        }
-        return Optional.ofNullable(effect);
-    }
-
-    private Optional<ComboEffect> getEffectForTwoCards() {
-        return createIfHolds(countDistinctCards() == 1, TwoCardsEffect::new);
-    }
-
-    private Optional<ComboEffect> getEffectForThreeCards() {
-        return createIfHolds(countDistinctCards() == 1, ThreeCardsEffect::new);
-    }
-
-    private Optional<ComboEffect> getEffectForFiveCards() {
-        return createIfHolds(countDistinctCards() == 5, FiveCardsEffect::new);
-    }
-
-    // this method might not be the nicest among all methods, but it's here to have readable code and less repetition above
-    private static Optional<ComboEffect> createIfHolds(boolean condition, Supplier<ComboEffect> effectSupplier) {
-        if (condition) {
-            return Optional.ofNullable(effectSupplier.get());
+    /**
+     * Returns every combination the given hand can play, each once (see {@link MoveGenerator}).
+     */
+    public static List<CardCombo> legalCombos(List<Card> hand) {
+        final MoveBuffer moves = new MoveBuffer();
+        MoveGenerator.generate(hand, moves);
+        final List<CardCombo> combos = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            combos.add(new CardCombo(MoveGenerator.cardsOf(moves.get(i))));
         }
-        return Optional.empty();
+        return combos;
     }
 
-    private long countDistinctCards() {
-        return cards.stream().distinct().count();
+    public Optional<ComboEffect> getEffect() {
+        return ComboTable.effectOf(cards);
     }
 }
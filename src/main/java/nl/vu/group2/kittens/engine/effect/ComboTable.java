@@ -0,0 +1,104 @@
+package nl.vu.group2.kittens.engine.effect;
+
+import nl.vu.group2.kittens.model.Card;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Precomputed classification of every combination of cards, i.e., which effect (if any) the cards played together
+ * have.
+ * <p>
+ * A combination is keyed by its per-card counts, packed as the number of cards and the set of the types among them:
+ * that is enough to classify it, since a pair or a triple must have a single type and five cards must have five. The
+ * table holds the result for every key, so that classifying cards takes a pass over them and an array load, and the
+ * effects, which hold no state, are shared by all the combinations giving them.
+ */
+public final class ComboTable {
+
+    /** Largest number of cards played together. */
+    public static final int MAX_CARDS = 5;
+
+    private static final Card[] CARDS = Card.values();
+    private static final int TYPES = CARDS.length;
+    private static final int FIVE_TYPES = 5;
+
+    //<editor-fold desc="effects">
+    private static final ComboEffect ATTACK = new AttackEffect();
+    private static final ComboEffect FAVOR = new FavorEffect();
+    private static final ComboEffect SEE_THE_FUTURE = new SeeTheFutureEffect();
+    private static final ComboEffect SKIP = new SkipEffect();
+    private static final ComboEffect SHUFFLE = new ShuffleEffect();
+    private static final ComboEffect TWO_CARDS = new TwoCardsEffect();
+    private static final ComboEffect THREE_CARDS = new ThreeCardsEffect();
+    private static final ComboEffect FIVE_CARDS = new FiveCardsEffect();
+    //</editor-fold>
+
+    private static final Optional<ComboEffect>[] TABLE = table();
+
+    private ComboTable() {
+    }
+
+    /**
+     * Returns the effect of playing the given cards together, if they make a valid combination.
+     */
+    public static Optional<ComboEffect> effectOf(List<Card> cards) {
+        final int size = cards.size();
+        if (size > MAX_CARDS) {
+            return Optional.empty();
+        }
+        int types = 0;
+        for (int i = 0; i < size; i++) {
+            types |= 1 << cards.get(i).ordinal();
+        }
+        return effectOf(key(size, types));
+    }
+
+    /**
+     * Returns the effect of the cards with the given key (see {@link #key(int, int)}).
+     */
+    static Optional<ComboEffect> effectOf(int key) {
+        return TABLE[key];
+    }
+
+    static boolean isCombo(int key) {
+        return TABLE[key].isPresent();
+    }
+
+    /**
+     * Returns the key of the given number of cards, whose types are the bits set (by {@link Card#ordinal()}) of the
+     * given mask.
+     */
+    static int key(int size, int types) {
+        return size << TYPES | types;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // there are no arrays of a generic type
+    private static Optional<ComboEffect>[] table() {
+        final Optional<ComboEffect>[] table = new Optional[(MAX_CARDS + 1) << TYPES];
+        Arrays.fill(table, Optional.empty());
+        table[key(1, 1 << Card.ATTACK.ordinal())] = Optional.of(ATTACK);
+        table[key(1, 1 << Card.FAVOR.ordinal())] = Optional.of(FAVOR);
+        table[key(1, 1 << Card.SEE_THE_FUTURE.ordinal())] = Optional.of(SEE_THE_FUTURE);
+        table[key(1, 1 << Card.SKIP.ordinal())] = Optional.of(SKIP);
+        table[key(1, 1 << Card.SHUFFLE.ordinal())] = Optional.of(SHUFFLE);
+        final Optional<ComboEffect> twoCards = Optional.of(TWO_CARDS);
+        final Optional<ComboEffect> threeCards = Optional.of(THREE_CARDS);
+        final Optional<ComboEffect> fiveCards = Optional.of(FIVE_CARDS);
+        for (int types = 1; types < 1 << TYPES; types++) {
+            switch (Integer.bitCount(types)) {
+                case 1:
+                    table[key(2, types)] = twoCards;
+                    table[key(3, types)] = threeCards;
+                    break;
+                case FIVE_TYPES:
+                    table[key(5, types)] = fiveCards;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return table;
+    }
+}
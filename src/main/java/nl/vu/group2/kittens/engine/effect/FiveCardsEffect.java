@@ -30,7 +30,7 @@ class FiveCardsEffect implements ComboEffect {
         List<Card> requestedCard;
         do {
             state.onEvent(infoEvent("Select a card. The first option (0) will be considered invalid"), Set.of(currentPlayer));
-            requestedCard = currentPlayer.selectCardFrom(discardedCards);
+            requestedCard = currentPlayer.selectCardFromPile(discardedCards);
         } while (requestedCard.isEmpty());
 
         final Card card = requestedCard.get(0);
@@ -0,0 +1,43 @@
+package nl.vu.group2.kittens.engine.effect;
+
+import nl.vu.group2.kittens.model.Card;
+
+/**
+ * Plays written by a {@link MoveGenerator}, along with the room it needs to list them: a buffer is allocated once
+ * (e.g., per player) and filled again at every decision. It is not thread-safe.
+ */
+public final class MoveBuffer {
+
+    final int[] counts = new int[Card.values().length];
+    final int[] present = new int[Card.values().length];
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the play at the given index, to be read with the methods of {@link MoveGenerator}.
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size + " moves");
+        }
+        return moves[index];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void addIfCombo(int move) {
+        if (ComboTable.isCombo(move)) {
+            moves[size++] = move;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package nl.vu.group2.kittens.engine.effect;
+
+import nl.vu.group2.kittens.model.Card;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lists the plays a hand can make: every action card alone, every pair and triple of the same card and every five
+ * different cards, each once, as the {@link ComboTable} accepts them.
+ * <p>
+ * A play is an int (the key of its cards in the table: the number of cards and the set of their types), written to a
+ * {@link MoveBuffer} which is meant to be reused from a play to the next, so that listing the plays allocates nothing.
+ */
+public final class MoveGenerator {
+
+    private static final Card[] CARDS = Card.values();
+    private static final int TYPES = CARDS.length;
+    /** Largest play of cards of the same type. */
+    private static final int SAME_CARDS = 3;
+    private static final int FIVE_CARDS = 5;
+    private static final int TYPES_MASK = (1 << TYPES) - 1;
+
+    /** Most plays a hand can have: one of each size up to a triple for every card, and any five different cards. */
+    static final int MAX_MOVES = TYPES * SAME_CARDS + binomial(TYPES, FIVE_CARDS);
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes every play of the given hand to the given buffer, replacing its content.
+     */
+    public static void generate(List<Card> hand, MoveBuffer buffer) {
+        final int[] counts = buffer.counts;
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < hand.size(); i++) {
+            counts[hand.get(i).ordinal()]++;
+        }
+        generate(counts, 0, ComboTable.MAX_CARDS, buffer);
+    }
+
+    /**
+     * Writes the plays of at most the given number of cards of a hand to the given buffer, replacing its content.
+     *
+     * @param counts how many cards of each type the hand has, indexed by {@link Card#ordinal()} from the given offset
+     */
+    public static void generate(int[] counts, int offset, int maxCards, MoveBuffer buffer) {
+        buffer.clear();
+        for (int size = 1; size <= Math.min(SAME_CARDS, maxCards); size++) {
+            for (int type = 0; type < TYPES; type++) {
+                if (counts[offset + type] >= size) {
+                    buffer.addIfCombo(ComboTable.key(size, 1 << type));
+                }
+            }
+        }
+        if (maxCards < FIVE_CARDS) {
+            return;
+        }
+        final int[] present = buffer.present;
+        int presentCount = 0;
+        for (int type = 0; type < TYPES; type++) {
+            if (counts[offset + type] > 0) {
+                present[presentCount++] = type;
+            }
+        }
+        if (presentCount < FIVE_CARDS) {
+            return;
+        }
+        // every five of the types in the hand, as the five bits set of a number below 2^presentCount
+        for (int chosen = (1 << FIVE_CARDS) - 1; chosen < 1 << presentCount; chosen = nextWithSameBits(chosen)) {
+            int types = 0;
+            for (int rest = chosen; rest != 0; rest &= rest - 1) {
+                types |= 1 << present[Integer.numberOfTrailingZeros(rest)];
+            }
+            buffer.addIfCombo(ComboTable.key(FIVE_CARDS, types));
+        }
+    }
+
+    //<editor-fold desc="plays">
+    public static int sizeOf(int move) {
+        return move >>> TYPES;
+    }
+
+    /**
+     * Returns the mask of the types of the cards played, by {@link Card#ordinal()}.
+     */
+    public static int typesOf(int move) {
+        return move & TYPES_MASK;
+    }
+
+    /**
+     * Returns the card played, or the first one (by {@link Card#ordinal()}) for five different cards.
+     */
+    public static Card cardOf(int move) {
+        return CARDS[Integer.numberOfTrailingZeros(move)];
+    }
+
+    /**
+     * Returns the cards played, in the form the engine expects them (see {@link CardCombo}).
+     */
+    public static List<Card> cardsOf(int move) {
+        final Card[] cards = new Card[sizeOf(move)];
+        if (Integer.bitCount(typesOf(move)) == 1) {
+            Arrays.fill(cards, cardOf(move));
+        } else {
+            int count = 0;
+            for (int rest = typesOf(move); rest != 0; rest &= rest - 1) {
+                cards[count++] = CARDS[Integer.numberOfTrailingZeros(rest)];
+            }
+        }
+        return List.of(cards);
+    }
+
+    public static Optional<ComboEffect> effectOf(int move) {
+        return ComboTable.effectOf(move);
+    }
+    //</editor-fold>
+
+    /**
+     * Returns the next number with as many bits set as the given one.
+     */
+    private static int nextWithSameBits(int bits) {
+        final int lowest = bits & -bits;
+        final int ripple = bits + lowest;
+        return (((ripple ^ bits) >>> 2) / lowest) | ripple;
+    }
+
+    private static int binomial(int n, int k) {
+        int result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+}
@@ -4,7 +4,6 @@ import lombok.Value;
 import nl.vu.group2.kittens.engine.GameState;
 import nl.vu.group2.kittens.engine.player.Player;
 import nl.vu.group2.kittens.model.Card;
-import nl.vu.group2.kittens.model.Deck;
 
 import java.util.List;
 import java.util.Set;
@@ -17,12 +16,11 @@ class SeeTheFutureEffect implements ComboEffect {
 
     @Override
     public void apply(GameState state) {
-        final Deck deck = state.getDeck();
-        final List<Card> topCards = deck.peek(0, 3);
+        final Player currentPlayer = state.getCurrentPlayer();
+        final List<Card> topCards = state.peekDeck(currentPlayer, 3);
 
         final String resultForCurrentPlayer = getResultForCurrentPlayer(topCards);
         // show the future to the current player
-        final Player currentPlayer = state.getCurrentPlayer();
         state.onEvent(infoEvent(resultForCurrentPlayer), Set.of(currentPlayer));
         // but hide it to the opponents
         state.onEvent(infoEvent(currentPlayer.getId() + "\tsaw the future..."), state.getOpponents());
@@ -16,9 +16,8 @@ class ThreeCardsEffect implements ComboEffect {
         final var opponents = state.getActiveOpponents();
         final var requestedCard = currentPlayer.selectCardType();
         final var targetOpponent = currentPlayer.selectPlayer(opponents);
-        final var opponentHand = targetOpponent.getHand();
 
-        if (opponentHand.contains(requestedCard)) {
+        if (targetOpponent.hasCard(requestedCard)) {
             stealCard(state, currentPlayer, targetOpponent, requestedCard);
         } else {
             state.onEvent(infoEvent(String.format("%s does not have the card %s", targetOpponent.getId(), requestedCard)));
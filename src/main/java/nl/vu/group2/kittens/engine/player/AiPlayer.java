@@ -1,13 +1,14 @@
 package nl.vu.group2.kittens.engine.player;
 
 import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.effect.MoveBuffer;
+import nl.vu.group2.kittens.engine.effect.MoveGenerator;
 import nl.vu.group2.kittens.model.Card;
 import nl.vu.group2.kittens.model.GameEvent;
 import org.apache.commons.lang3.EnumUtils;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -18,21 +19,35 @@ import java.util.concurrent.CompletableFuture;
  *
  * There is a bit of repetition in the code due to the pauses always happening before making a decision, but we
  * preferred to implement it in this way to have it more explicit and visible.
+ * <p>
+ * Every AI player has its own {@link Random}, so that players of games running in parallel do not contend on a shared
+ * one; headless simulations seed it and remove the thinking time, so that games are reproducible and run as fast as
+ * possible. The cards played are picked among the legal plays of the hand (see {@link MoveGenerator}), so that no
+ * selection is rejected.
  */
 @Slf4j
 public class AiPlayer extends Player {
 
-    private static final int WAIT_TIME = 750;
-    private static final Random RANDOM = new Random();
+    private static final Duration WAIT_TIME = Duration.ofMillis(750L);
+
+    private final Random random;
+    private final Duration thinkingTime;
+    private final MoveBuffer moves = new MoveBuffer();
 
     public AiPlayer(String id) {
+        this(id, new Random(), WAIT_TIME);
+    }
+
+    public AiPlayer(String id, Random random, Duration thinkingTime) {
         super(id);
+        this.random = random;
+        this.thinkingTime = thinkingTime;
     }
 
     @Override
     public void onEvent(GameEvent event) {
         // NO-OP
-        log.info("{} logging {}", this, event);
+        log.debug("{} logging {}", this, event);
     }
 
     @Override
@@ -51,35 +66,55 @@ public class AiPlayer extends Player {
     @Override
     public Optional<Card> selectCardOf(Player player) {
         if (pauseAiPlayer()) return Optional.empty();
-        final List<Card> opponentHand = player.getHand();
+        final List<Card> opponentHand = player.getHandView();
         return Optional.ofNullable(returnRandom(opponentHand));
     }
 
     @Override
     public List<Card> selectCardFrom(Collection<Card> cards) {
         if (pauseAiPlayer()) return List.of();
-        if (cards.isEmpty() || RANDOM.nextBoolean()) { // sometimes just return nothing
+        if (cards.isEmpty() || random.nextBoolean()) { // sometimes just return nothing
+            return List.of();
+        }
+        MoveGenerator.generate(getHandView(), moves);
+        if (moves.isEmpty()) {
             return List.of();
         }
-        return playCard(cards, returnRandom(cards));
+        return MoveGenerator.cardsOf(moves.get(randomPlay()));
     }
 
-    private List<Card> playCard(Collection<Card> cards, Card choice) {
-        if (pauseAiPlayer()) return List.of();
-        int numberOfSameCards = Collections.frequency(cards, choice);
-        if (numberOfSameCards > 1) {
-            return createCombo(choice, numberOfSameCards);
-        }
-        return Collections.singletonList(choice);
+    @Override
+    public List<Card> selectCardFromPile(Collection<Card> cards) {
+        if (pauseAiPlayer() || cards.isEmpty()) return List.of();
+        return List.of(returnRandom(cards));
     }
 
-    private List<Card> createCombo(Card choice, int comboSize) {
-        ArrayList<Card> combo = new ArrayList<>();
-        int size = Math.min(comboSize, 3);
-        for (int i = 0; i < size; i++) {
-            combo.add(choice);
+    /**
+     * Returns the index of a random play in the buffer: a random number of cards among the ones which can be played
+     * together, then a random play of that many cards, so that the many ways of playing five different cards are not
+     * favoured.
+     */
+    private int randomPlay() {
+        int sizes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            sizes |= 1 << MoveGenerator.sizeOf(moves.get(i));
+        }
+        int size = sizes;
+        for (int skipped = random.nextInt(Integer.bitCount(sizes)); skipped > 0; skipped--) {
+            size &= size - 1;
+        }
+        size = Integer.numberOfTrailingZeros(size);
+        int ofSize = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            ofSize += MoveGenerator.sizeOf(moves.get(i)) == size ? 1 : 0;
         }
-        return combo;
+        int choice = random.nextInt(ofSize);
+        for (int i = 0; i < moves.size(); i++) {
+            if (MoveGenerator.sizeOf(moves.get(i)) == size && choice-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No play of the size chosen");
     }
 
     @Override
@@ -88,14 +123,20 @@ public class AiPlayer extends Player {
         if (deckSize <= 0) {
             return 0;
         }
-        return RANDOM.nextInt(deckSize - 1);
+        // any position from the top (0) to the bottom (deckSize) of the deck is valid
+        return random.nextInt(deckSize + 1);
     }
 
     @Override
     public void askForNope(String action, CompletableFuture<Optional<Player>> nopePlayedBy) {
         // NOTE: an AI player does _not_ always play a NOPE card
-        if (this.getHand().contains(Card.NOPE) && RANDOM.nextBoolean()) {
-            log.info("{} is noping", getId());
+        if (hasCard(Card.NOPE) && random.nextBoolean()) {
+            log.debug("{} is noping", getId());
+            if (thinkingTime.isZero()) {
+                // no variance wanted (e.g., in simulations): the first AI player asked is the one noping
+                nopePlayedBy.complete(Optional.of(this));
+                return;
+            }
             // supplyAsync is used to have some (minimal) variance in playing the NOPE
             // due to the JVM assigning a thread to this runnable
             CompletableFuture.supplyAsync(() -> nopePlayedBy.complete(Optional.of(this)));
@@ -107,15 +148,21 @@ public class AiPlayer extends Player {
      * If the collection is empty, this method will return null.
      */
     private <T> T returnRandom(Collection<T> coll) {
-        int rand = RANDOM.nextInt(coll.size());
+        if (coll.isEmpty()) {
+            return null;
+        }
+        int rand = random.nextInt(coll.size());
         for (T elem : coll) if (--rand < 0) return elem;
         return null;
     }
 
     /** Returns true if the thread was interrupted during the pause. */
     private boolean pauseAiPlayer() {
+        if (thinkingTime.isZero()) {
+            return false;
+        }
         try {
-            Thread.sleep(WAIT_TIME);
+            Thread.sleep(thinkingTime.toMillis());
             return false;
         } catch (InterruptedException e) {
             log.error("AI player interrupted while sleeping", e);
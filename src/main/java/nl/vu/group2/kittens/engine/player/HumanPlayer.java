@@ -62,9 +62,9 @@ public class HumanPlayer extends Player {
 
     @Override
     public Optional<Card> selectCardOf(Player player) {
-        final int handSize = player.getHand().size();
+        final int handSize = player.getHandSize();
         final int choice = ui.queryNumber(String.format("Player has %d cards, choose 1-%d:%n", handSize, handSize), 1, handSize);
-        return Optional.ofNullable(player.getHand().get(choice - 1));
+        return Optional.ofNullable(player.getHandView().get(choice - 1));
     }
 
     @Override
@@ -86,7 +86,7 @@ public class HumanPlayer extends Player {
 
     @Override
     public void askForNope(String action, CompletableFuture<Optional<Player>> nopePlayedBy) {
-        if (!getHand().contains(Card.NOPE)) {
+        if (!hasCard(Card.NOPE)) {
             ui.notify(infoEvent("You cannot NOPE :("));
             return;
         }
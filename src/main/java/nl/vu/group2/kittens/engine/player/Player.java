@@ -2,8 +2,10 @@ package nl.vu.group2.kittens.engine.player;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.GameState;
 import nl.vu.group2.kittens.model.Card;
 import nl.vu.group2.kittens.model.GameEvent;
+import nl.vu.group2.kittens.model.Hand;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -20,16 +22,37 @@ public abstract class Player {
 
     @Getter
     private final String id;
-    private final List<Card> hand;
-    private static final int HAND_SIZE = 8;
+    private final Hand hand;
 
     protected Player(String id) {
         this.id = id;
-        this.hand = new ArrayList<>(HAND_SIZE);
+        this.hand = new Hand();
     }
 
+    /**
+     * Returns a copy of the hand, which can be modified (e.g., to discard all the cards of the player).
+     */
     public List<Card> getHand() {
-        return new ArrayList<>(hand);
+        return new ArrayList<>(hand.asList());
+    }
+
+    /**
+     * Returns a live, read-only view of the hand: use it instead of {@link #getHand()} when the hand is only read.
+     */
+    public List<Card> getHandView() {
+        return hand.asList();
+    }
+
+    public boolean hasCard(Card card) {
+        return hand.contains(card);
+    }
+
+    public int countOf(Card card) {
+        return hand.count(card);
+    }
+
+    public int getHandSize() {
+        return hand.size();
     }
 
     public void removeCardFromHand(Card card) {
@@ -41,7 +64,31 @@ public abstract class Player {
     }
 
     public String serializeHand() {
-        return serializeAsNumberedList(this.hand);
+        return serializeAsNumberedList(hand.asList());
+    }
+
+    /**
+     * Called once before the first turn of a game (or before the first turn after resuming it), with the state of the
+     * game; players who need to look at the whole game to decide (e.g., {@link SearchAiPlayer}) keep it.
+     */
+    public void onGameStart(GameState state) {
+        // NO-OP
+    }
+
+    /**
+     * Asks for the card to take back from the discard pile after playing five different cards (only the first card
+     * selected is taken): by default, the player is asked as for the cards to play.
+     */
+    public List<Card> selectCardFromPile(Collection<Card> cards) {
+        return selectCardFrom(cards);
+    }
+
+    /**
+     * Asks whether to NOPE the given cards, which are about to be played (a NOPE, when noping a NOPE) and whose effect
+     * is described by the given action: by default, the player is only given the description.
+     */
+    public void askForNope(List<Card> cards, String action, CompletableFuture<Optional<Player>> nopePlayedBy) {
+        askForNope(action, nopePlayedBy);
     }
 
     //<editor-fold desc="abstract methods">
@@ -0,0 +1,186 @@
+package nl.vu.group2.kittens.engine.player;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.search.CardTracker;
+import nl.vu.group2.kittens.engine.search.InformationSetSearch;
+import nl.vu.group2.kittens.engine.search.RolloutPool;
+import nl.vu.group2.kittens.engine.search.SearchMetrics;
+import nl.vu.group2.kittens.engine.search.SearchState;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.GameEvent;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AI player which looks ahead: before every play it simulates many games from what it knows of the current one (its
+ * hand, the sizes of the other hands, the discard pile) with an {@link InformationSetSearch}, and plays the move
+ * which did best. The search also decides whether to NOPE and where to put back a defused exploding kitten. What
+ * the player learnt during the game (see {@link CardTracker}), e.g., the cards it saw on top of the deck, is kept in
+ * every simulated game.
+ * <p>
+ * The target and the card asked for by a combo are part of the move the search picked, so the following questions
+ * of the effect are answered from it. Stealing a card is blind, and a favor gives away the least valuable card.
+ * <p>
+ * The games are simulated on a {@link RolloutPool}, shared by default by all the search players of the process, and
+ * every decision has a hard deadline: when it is over, the player goes with the best move found so far. The number of
+ * simulated games and the latency of the decisions are kept per kind of decision (see {@link #getMetrics(Decision)}).
+ */
+@Slf4j
+public class SearchAiPlayer extends Player {
+
+    private static final Duration DEFAULT_BUDGET = Duration.ofMillis(500L);
+    private static final int DEFAULT_MAX_ITERATIONS = 200_000;
+    private static final int NOPE_SHARE = 3;
+
+    private final Random random;
+    private final InformationSetSearch search;
+    private final InformationSetSearch quickSearch;
+    private final Map<Decision, SearchMetrics> metrics = new EnumMap<>(Decision.class);
+    private GameState game;
+    private CardTracker knowledge;
+    private int self;
+    private int chosenMove = SearchState.DRAW;
+
+    public SearchAiPlayer(String id) {
+        this(id, RolloutPool.shared(), new Random(), DEFAULT_BUDGET, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Creates a player which simulates its games on the calling thread alone, e.g., for games already played in
+     * parallel.
+     */
+    public SearchAiPlayer(String id, Random random, Duration budget, int maxIterations) {
+        this(id, RolloutPool.sequential(), random, budget, maxIterations);
+    }
+
+    /**
+     * @param pool          threads simulating the games
+     * @param budget        how long every play can take, or zero to only stop after the given number of iterations
+     *                      (e.g., to play reproducible simulations)
+     * @param maxIterations how many games every play can simulate at most; NOPEs and reinsertions, which have fewer
+     *                      options, get a third of the budget and of the iterations
+     */
+    public SearchAiPlayer(String id, RolloutPool pool, Random random, Duration budget, int maxIterations) {
+        super(id);
+        this.random = random;
+        this.search = new InformationSetSearch(pool, random, budget, maxIterations);
+        this.quickSearch = new InformationSetSearch(pool, random, budget.dividedBy(NOPE_SHARE),
+                Math.max(1, maxIterations / NOPE_SHARE));
+        for (Decision decision : Decision.values()) {
+            metrics.put(decision, new SearchMetrics());
+        }
+    }
+
+    public SearchMetrics getMetrics(Decision decision) {
+        return metrics.get(decision);
+    }
+
+    @Override
+    public void onGameStart(GameState state) {
+        this.game = state;
+        this.self = state.getPlayers().indexOf(this);
+        this.knowledge = CardTracker.of(state, this);
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        log.debug("{} logging {}", this, event);
+    }
+
+    @Override
+    public List<Card> selectCardFrom(Collection<Card> cards) {
+        if (game == null) {
+            return List.of();
+        }
+        chosenMove = search.bestMove(SearchState.of(game, knowledge), self, metrics.get(Decision.PLAY));
+        log.debug("{} plays {}", this, SearchState.cardsOf(chosenMove));
+        return SearchState.cardsOf(chosenMove);
+    }
+
+    @Override
+    public List<Card> selectCardFromPile(Collection<Card> cards) {
+        return cards.isEmpty() ? List.of() : List.of(SearchState.mostValuable(cards));
+    }
+
+    @Override
+    public Card selectCardType() {
+        return SearchState.kindOf(chosenMove) == SearchState.TRIPLE ? SearchState.requestedCardOf(chosenMove) : Card.DEFUSE;
+    }
+
+    @Override
+    public Player selectPlayer(Collection<Player> players) {
+        final int target = SearchState.targetOf(chosenMove);
+        if (game != null && target < game.getPlayers().size() && players.contains(game.getPlayers().get(target))) {
+            return game.getPlayers().get(target);
+        }
+        return players.stream().skip(random.nextInt(players.size())).findFirst().orElse(null);
+    }
+
+    @Override
+    public Optional<Card> selectCardOf(Player player) {
+        final List<Card> hand = player.getHandView();
+        if (hand.isEmpty()) {
+            return Optional.empty();
+        }
+        if (player == this) { // asked for a favor
+            return Optional.of(SearchState.leastValuable(hand));
+        }
+        return Optional.of(hand.get(random.nextInt(hand.size())));
+    }
+
+    @Override
+    public int reinsertExplodingKitten(int deckSize) {
+        if (deckSize <= 0 || game == null) {
+            return 0;
+        }
+        final int[] offsets = {0, 1, 2, 3, deckSize / 2, deckSize};
+        final int best = quickSearch.bestOption(SearchState.of(game, knowledge), self, offsets.length,
+                (state, option, r) -> state.reinsertExplodingKitten(Math.min(offsets[option], deckSize)),
+                metrics.get(Decision.REINSERT));
+        return Math.min(offsets[best], deckSize);
+    }
+
+    @Override
+    public void askForNope(String action, CompletableFuture<Optional<Player>> nopePlayedBy) {
+        // without the cards played, the search cannot weigh the effect: no NOPE
+    }
+
+    @Override
+    public void askForNope(List<Card> cards, String action, CompletableFuture<Optional<Player>> nopePlayedBy) {
+        if (!hasCard(Card.NOPE) || game == null || nopePlayedBy.isDone()) {
+            return;
+        }
+        final int move = SearchState.moveOf(cards);
+        if (move < 0) { // e.g., a NOPE of a NOPE
+            return;
+        }
+        final int nope = quickSearch.bestOption(SearchState.of(game, knowledge), self, 2, (state, option, r) -> {
+            if (option == 1) {
+                state.discardCard(self, Card.NOPE);
+            } else {
+                state.applyEffect(move, r);
+            }
+        }, metrics.get(Decision.NOPE));
+        if (nope == 1) {
+            log.debug("{} is noping", getId());
+            nopePlayedBy.complete(Optional.of(this));
+        }
+    }
+
+    /**
+     * Kinds of decisions taken with a search: the targets and the cards asked for are part of the play.
+     */
+    public enum Decision {
+        PLAY,
+        NOPE,
+        REINSERT
+    }
+}
@@ -0,0 +1,234 @@
+package nl.vu.group2.kittens.engine.replay;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.GameStateListener;
+import nl.vu.group2.kittens.engine.effect.CardCombo;
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary log of the changes to a {@link GameState}, from which {@link GameReplay} rebuilds the state of
+ * the game at any step.
+ * <p>
+ * The log starts with a header holding the initial state (the ids and hands of the players and the deck, from the
+ * top), followed by a record per change: an opcode byte and its operands, where players are indexes in the header and
+ * cards are ordinals. Shuffles are logged with their seed, so that they are repeated rather than stored.
+ */
+public final class GameLog implements GameStateListener {
+
+    static final int MAGIC = 0x4B4C4F47; // "KLOG"
+    static final byte VERSION = 1;
+
+    //<editor-fold desc="opcodes">
+    static final byte DRAW = 1;
+    static final byte REINSERT = 2;
+    static final byte DISCARD = 3;
+    static final byte SHUFFLE = 4;
+    static final byte TRANSFER = 5;
+    static final byte TRANSFER_FROM_PILE = 6;
+    static final byte NEXT_TURN = 7;
+    static final byte ADD_TURNS = 8;
+    static final byte REMOVE = 9;
+    static final byte EFFECT = 10;
+    //</editor-fold>
+
+    /**
+     * Effects are logged as the index of the combo creating them (0 for other effects, e.g., the end of a turn): the
+     * effects of a kind are all equal, so the combo is enough to create the same effect again.
+     */
+    static final List<CardCombo> EFFECT_COMBOS = List.of(
+            new CardCombo(List.of()),
+            new CardCombo(List.of(Card.ATTACK)),
+            new CardCombo(List.of(Card.FAVOR)),
+            new CardCombo(List.of(Card.SEE_THE_FUTURE)),
+            new CardCombo(List.of(Card.SKIP)),
+            new CardCombo(List.of(Card.SHUFFLE)),
+            new CardCombo(List.of(Card.TACOCAT, Card.TACOCAT)),
+            new CardCombo(List.of(Card.TACOCAT, Card.TACOCAT, Card.TACOCAT)),
+            new CardCombo(List.of(Card.TACOCAT, Card.CATTERMELON, Card.HAIRY_POTATO_CAT, Card.BEARD_CAT, Card.RAINBOW_RALPHING_CAT))
+    );
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final Map<Player, Integer> indexes = new IdentityHashMap<>();
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+    private int steps;
+    private int[] turnSteps = new int[64];
+    private int turns = 1;
+
+    private GameLog(GameState state) {
+        final List<Player> players = state.getPlayers();
+        ensureCapacity(16);
+        buffer.putInt(MAGIC).put(VERSION).put((byte) players.size());
+        for (int i = 0; i < players.size(); i++) {
+            final Player player = players.get(i);
+            indexes.put(player, i);
+            final byte[] id = player.getId().getBytes(StandardCharsets.UTF_8);
+            ensureCapacity(Integer.BYTES + id.length);
+            buffer.putInt(id.length).put(id);
+            putCards(player.getHandView());
+        }
+        putCards(state.getDeck().peek(0, state.getDeck().size()));
+    }
+
+    /**
+     * Starts logging the changes to the given state, which must not have changed since the game was created.
+     */
+    public static GameLog record(GameState state) {
+        if (!state.getDiscardedCards().isEmpty() || !state.getEffectHistory().isEmpty()) {
+            throw new IllegalStateException("The game was already started");
+        }
+        final GameLog log = new GameLog(state);
+        state.addListener(log);
+        return log;
+    }
+
+    /**
+     * Returns the number of changes logged so far.
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the number of turns played so far, where a turn starts whenever the turn passes to the next player
+     * (the first turn starting with the game).
+     */
+    public int getTurnsCount() {
+        return turns;
+    }
+
+    /**
+     * Returns the step at which the given turn starts (0 for the first one), i.e., the number of changes before it.
+     */
+    public int getTurnStep(int turn) {
+        if (turn < 0 || turn >= turns) {
+            throw new IndexOutOfBoundsException(String.format("Turn %d out of the log bounds (0-%d)", turn, turns - 1));
+        }
+        return turnSteps[turn];
+    }
+
+    /**
+     * Returns a read-only buffer with the log as it is now, which does not see the changes logged afterwards.
+     */
+    public ByteBuffer toByteBuffer() {
+        return buffer.duplicate().flip().asReadOnlyBuffer();
+    }
+
+    //<editor-fold desc="listener">
+    @Override
+    public void onDraw(Player player, Card card) {
+        startRecord(DRAW, 1);
+        buffer.put((byte) card.ordinal());
+    }
+
+    @Override
+    public void onReinsert(Player player, Card card, int offset) {
+        startRecord(REINSERT, 2 + Integer.BYTES);
+        buffer.put(indexOf(player)).put((byte) card.ordinal()).putInt(offset);
+    }
+
+    @Override
+    public void onDiscard(Player player, Card card) {
+        startRecord(DISCARD, 2);
+        buffer.put(indexOf(player)).put((byte) card.ordinal());
+    }
+
+    @Override
+    public void onShuffle(long seed) {
+        startRecord(SHUFFLE, Long.BYTES);
+        buffer.putLong(seed);
+    }
+
+    @Override
+    public void onTransfer(Player from, Player to, Card card) {
+        startRecord(TRANSFER, 3);
+        buffer.put(indexOf(from)).put(indexOf(to)).put((byte) card.ordinal());
+    }
+
+    @Override
+    public void onTransferFromPile(Player player, Card card) {
+        startRecord(TRANSFER_FROM_PILE, 2);
+        buffer.put(indexOf(player)).put((byte) card.ordinal());
+    }
+
+    @Override
+    public void onNextTurn() {
+        startRecord(NEXT_TURN, 0);
+        if (turns == turnSteps.length) {
+            turnSteps = Arrays.copyOf(turnSteps, turns * 2);
+        }
+        turnSteps[turns++] = steps;
+    }
+
+    @Override
+    public void onAddTurns(long numberOfTurns) {
+        startRecord(ADD_TURNS, Long.BYTES);
+        buffer.putLong(numberOfTurns);
+    }
+
+    @Override
+    public void onRemove(Player player) {
+        startRecord(REMOVE, 1);
+        buffer.put(indexOf(player));
+    }
+
+    @Override
+    public void onEffect(ComboEffect effect) {
+        startRecord(EFFECT, 1);
+        buffer.put(effectCode(effect));
+    }
+    //</editor-fold>
+
+    static ComboEffect effectOf(byte code) {
+        return EFFECT_COMBOS.get(code).getEffect().orElse(null);
+    }
+
+    private static byte effectCode(ComboEffect effect) {
+        for (int i = 1; i < EFFECT_COMBOS.size(); i++) {
+            if (effect.equals(EFFECT_COMBOS.get(i).getEffect().orElse(null))) {
+                return (byte) i;
+            }
+        }
+        return 0;
+    }
+
+    private byte indexOf(Player player) {
+        final Integer index = indexes.get(player);
+        if (index == null) {
+            throw new IllegalArgumentException(player + " is not in the logged game");
+        }
+        return index.byteValue();
+    }
+
+    private void putCards(List<Card> cards) {
+        ensureCapacity(Integer.BYTES + cards.size());
+        buffer.putInt(cards.size());
+        for (Card card : cards) {
+            buffer.put((byte) card.ordinal());
+        }
+    }
+
+    private void startRecord(byte opcode, int operandsLength) {
+        ensureCapacity(1 + operandsLength);
+        buffer.put(opcode);
+        steps++;
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.remaining() < length) {
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+}
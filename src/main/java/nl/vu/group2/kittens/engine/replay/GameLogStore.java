@@ -0,0 +1,251 @@
+package nl.vu.group2.kittens.engine.replay;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage of recorded games in memory-mapped files, indexed by game id, from which a game is replayed without copying
+ * it off the mapped pages.
+ * <p>
+ * The {@link GameLog}s are appended to segment files of a fixed size, each followed by the steps at which its turns
+ * start. The index file holds a fixed-size entry per game id (segment, offset, length and number of turns), so finding
+ * game #N is a single read at a computed position, and so is finding turn #T of it.
+ * Game ids need not be contiguous (e.g., the games of a simulation are recorded as they end): the index is a sparse file
+ * and ids which were never recorded have an empty entry.
+ * <p>
+ * Games are appended by one thread at a time, while reads can happen concurrently with the appends.
+ */
+@Slf4j
+public final class GameLogStore implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final String INDEX_FILE = "games.idx";
+    private static final String SEGMENT_FILE = "games-%05d.seg";
+    private static final int MAGIC = 0x4B494431; // "KID1", i.e., version 1 of the index
+    /**
+     * Size of an entry of the index. The first entry is the header of the store: the magic number, the size of the
+     * segments, the number of segments and the position at which the next game will be appended in the last one.
+     */
+    private static final int ENTRY_SIZE = 4 * Integer.BYTES;
+    private static final int SEGMENT_SIZE_FIELD = Integer.BYTES;
+    private static final int SEGMENTS_FIELD = 2 * Integer.BYTES;
+    private static final int POSITION_FIELD = 3 * Integer.BYTES;
+    private static final int ENTRIES_PER_CHUNK = 64 * 1024;
+    private static final int CHUNK_SIZE = ENTRIES_PER_CHUNK * ENTRY_SIZE;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FileChannel index;
+    private final List<MappedByteBuffer> indexChunks = new ArrayList<>();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private int position;
+    private volatile long maxGameId = -1L;
+
+    private GameLogStore(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        this.index = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        final ByteBuffer header = chunk(0);
+        if (header.getInt(0) == 0) {
+            header.putInt(0, MAGIC).putInt(SEGMENT_SIZE_FIELD, segmentSize).putInt(SEGMENTS_FIELD, 1);
+        } else if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a game log store: " + directory);
+        } else if (header.getInt(SEGMENT_SIZE_FIELD) != segmentSize) {
+            throw new IOException(String.format("The store %s has segments of %d bytes",
+                    directory, header.getInt(SEGMENT_SIZE_FIELD)));
+        }
+        for (int i = 0; i < header.getInt(SEGMENTS_FIELD); i++) {
+            segments.add(mapSegment(i));
+        }
+        position = header.getInt(POSITION_FIELD);
+        maxGameId = scanMaxGameId();
+    }
+
+    public static GameLogStore open(Path directory) throws IOException {
+        return new GameLogStore(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens a store with segments of the given size, which must be the same size with which the store was created.
+     */
+    public static GameLogStore open(Path directory, int segmentSize) throws IOException {
+        return new GameLogStore(directory, segmentSize);
+    }
+
+    /**
+     * Appends the log of the game with the given id, which must not have been recorded yet.
+     */
+    public synchronized void append(long gameId, GameLog log) throws IOException {
+        if (gameId < 0) {
+            throw new IllegalArgumentException("Negative game id " + gameId);
+        }
+        final ByteBuffer entries = entryChunk(gameId);
+        final int entry = entryOffset(gameId);
+        if (entries.getInt(entry) != 0) {
+            throw new IllegalArgumentException("Game " + gameId + " was already recorded");
+        }
+        final ByteBuffer data = log.toByteBuffer();
+        final int length = data.remaining();
+        final int turns = log.getTurnsCount();
+        final int size = length + turns * Integer.BYTES;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException(String.format("Game %d is too big for the store (%d bytes)", gameId, size));
+        }
+        if (position + size > segmentSize) {
+            segments.add(mapSegment(segments.size()));
+            position = 0;
+        }
+        final ByteBuffer segment = segments.get(segments.size() - 1).duplicate();
+        segment.position(position);
+        segment.put(data);
+        for (int turn = 0; turn < turns; turn++) {
+            segment.putInt(log.getTurnStep(turn));
+        }
+        // the entry is written last, so that readers never find an entry pointing at data not written yet
+        entries.putInt(entry + Integer.BYTES, position)
+               .putInt(entry + 2 * Integer.BYTES, length)
+               .putInt(entry + 3 * Integer.BYTES, turns)
+               .putInt(entry, segments.size());
+        position += size;
+        indexChunks.get(0).putInt(SEGMENTS_FIELD, segments.size()).putInt(POSITION_FIELD, position);
+        maxGameId = Math.max(maxGameId, gameId);
+    }
+
+    /**
+     * Returns one more than the highest id recorded, i.e., the number of games if their ids are contiguous.
+     */
+    public long getGamesCount() {
+        return maxGameId + 1;
+    }
+
+    public boolean contains(long gameId) {
+        if (gameId < 0 || gameId > maxGameId) {
+            return false;
+        }
+        synchronized (this) {
+            return entryChunk(gameId).getInt(entryOffset(gameId)) != 0;
+        }
+    }
+
+    /**
+     * Returns the log of the given game, as a read-only view of the mapped segment (no bytes are copied).
+     */
+    public ByteBuffer read(long gameId) {
+        final ByteBuffer entry = entry(gameId);
+        return slice(entry, entry.getInt(Integer.BYTES), entry.getInt(2 * Integer.BYTES));
+    }
+
+    public GameReplay replay(long gameId) {
+        return new GameReplay(read(gameId));
+    }
+
+    public int getTurnsCount(long gameId) {
+        return entry(gameId).getInt(3 * Integer.BYTES);
+    }
+
+    /**
+     * Rebuilds the state of the given game at the start of the given turn.
+     */
+    public GameState stateAtTurn(long gameId, int turn) {
+        final ByteBuffer entry = entry(gameId);
+        final int turns = entry.getInt(3 * Integer.BYTES);
+        if (turn < 0 || turn >= turns) {
+            throw new IndexOutOfBoundsException(String.format("Turn %d out of the bounds of game %d (0-%d)",
+                    turn, gameId, turns - 1));
+        }
+        final int turnsOffset = entry.getInt(Integer.BYTES) + entry.getInt(2 * Integer.BYTES);
+        final int step = slice(entry, turnsOffset, turns * Integer.BYTES).getInt(turn * Integer.BYTES);
+        return replay(gameId).stateAt(step);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        indexChunks.forEach(MappedByteBuffer::force);
+        segments.forEach(MappedByteBuffer::force);
+        index.close();
+        log.info("Closed game log store {} ({} games)", directory, getGamesCount());
+    }
+
+    /**
+     * Returns the entry of the given game, positioned at 0.
+     */
+    private ByteBuffer entry(long gameId) {
+        if (gameId < 0 || gameId > maxGameId) {
+            throw new IllegalArgumentException("Game " + gameId + " was not recorded");
+        }
+        final ByteBuffer entry;
+        synchronized (this) {
+            entry = entryChunk(gameId).duplicate();
+        }
+        entry.position(entryOffset(gameId)).limit(entryOffset(gameId) + ENTRY_SIZE);
+        final ByteBuffer slice = entry.slice();
+        if (slice.getInt(0) == 0) {
+            throw new IllegalArgumentException("Game " + gameId + " was not recorded");
+        }
+        return slice;
+    }
+
+    private ByteBuffer slice(ByteBuffer entry, int offset, int length) {
+        final ByteBuffer segment;
+        synchronized (this) {
+            segment = segments.get(entry.getInt(0) - 1).duplicate();
+        }
+        segment.position(offset).limit(offset + length);
+        return segment.slice().asReadOnlyBuffer();
+    }
+
+    private ByteBuffer entryChunk(long gameId) {
+        final long slot = gameId + 1;
+        try {
+            return chunk((int) (slot / ENTRIES_PER_CHUNK));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map the index of game " + gameId, e);
+        }
+    }
+
+    private static int entryOffset(long gameId) {
+        return (int) ((gameId + 1) % ENTRIES_PER_CHUNK) * ENTRY_SIZE;
+    }
+
+    private MappedByteBuffer chunk(int number) throws IOException {
+        while (indexChunks.size() <= number) {
+            indexChunks.add(index.map(FileChannel.MapMode.READ_WRITE, (long) indexChunks.size() * CHUNK_SIZE, CHUNK_SIZE));
+        }
+        return indexChunks.get(number);
+    }
+
+    private MappedByteBuffer mapSegment(int number) throws IOException {
+        final Path file = directory.resolve(String.format(SEGMENT_FILE, number));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private long scanMaxGameId() throws IOException {
+        final long chunks = (index.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (long chunk = chunks - 1; chunk >= 0; chunk--) {
+            final ByteBuffer entries = chunk((int) chunk);
+            for (int slot = ENTRIES_PER_CHUNK - 1; slot >= (chunk == 0 ? 1 : 0); slot--) {
+                if (entries.getInt(slot * ENTRY_SIZE) != 0) {
+                    return chunk * ENTRIES_PER_CHUNK + slot - 1;
+                }
+            }
+        }
+        return -1L;
+    }
+}
@@ -0,0 +1,268 @@
+package nl.vu.group2.kittens.engine.replay;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.Result;
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import nl.vu.group2.kittens.model.GameEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Rebuilds the states of a game recorded by a {@link GameLog}.
+ * <p>
+ * The records are indexed once, when the replay is created, and a state is rebuilt by applying the records to the
+ * initial state: nobody is asked anything and no event is sent, so a whole game is replayed in microseconds.
+ * The players of the rebuilt states only hold their cards and cannot take decisions.
+ */
+public final class GameReplay {
+
+    private static final Card[] CARDS = Card.values();
+
+    private final ByteBuffer log;
+    private final List<String> playerIds;
+    private final int headerEnd;
+    private final int[] offsets;
+
+    public GameReplay(ByteBuffer log) {
+        this.log = log.duplicate();
+        final ByteBuffer in = log.duplicate();
+        if (in.getInt() != GameLog.MAGIC) {
+            throw new IllegalArgumentException("Not a game log");
+        }
+        final byte version = in.get();
+        if (version != GameLog.VERSION) {
+            throw new IllegalArgumentException("Unsupported game log version " + version);
+        }
+        final int playersCount = in.get();
+        playerIds = new ArrayList<>(playersCount);
+        for (int i = 0; i < playersCount; i++) {
+            final byte[] id = new byte[in.getInt()];
+            in.get(id);
+            playerIds.add(new String(id, StandardCharsets.UTF_8));
+            skipCards(in);
+        }
+        skipCards(in);
+        headerEnd = in.position();
+        offsets = indexRecords(in);
+    }
+
+    public List<String> getPlayerIds() {
+        return playerIds;
+    }
+
+    /**
+     * Returns the placement of every player, in the order a {@link nl.vu.group2.kittens.engine.Scoreboard} gets them:
+     * the players removed from the game first, each placed as the number of players still in the game when it left,
+     * then the winner. If the log ends before the game does, the players still in the game share the last placement.
+     */
+    public List<Result> getResults() {
+        final List<Result> results = new ArrayList<>(playerIds.size());
+        final boolean[] removed = new boolean[playerIds.size()];
+        for (int i = 0; i < getSteps(); i++) {
+            if (log.get(offsets[i]) == GameLog.REMOVE) {
+                final int player = log.get(offsets[i] + 1);
+                removed[player] = true;
+                results.add(new Result(playerIds.get(player), playerIds.size() - results.size()));
+            }
+        }
+        final int remaining = playerIds.size() - results.size();
+        for (int player = 0; player < removed.length; player++) {
+            if (!removed[player]) {
+                results.add(new Result(playerIds.get(player), remaining));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of changes in the log, i.e., the last step of the game.
+     */
+    public int getSteps() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Rebuilds the state of the game after the given number of changes (0 is the initial state).
+     */
+    public GameState stateAt(int step) {
+        if (step < 0 || step > getSteps()) {
+            throw new IndexOutOfBoundsException(String.format("Step %d out of the log bounds (0-%d)", step, getSteps()));
+        }
+        final ByteBuffer in = log.duplicate();
+        final List<Player> players = new ArrayList<>(playerIds.size());
+        in.position(Integer.BYTES + 2);
+        for (String id : playerIds) {
+            in.position(in.position() + Integer.BYTES + id.getBytes(StandardCharsets.UTF_8).length);
+            final Player player = new ReplayedPlayer(id);
+            readCards(in).forEach(player::addCard);
+            players.add(player);
+        }
+        // shuffles are replayed from their seeds, so the deck never draws from its own source of randomness
+        final GameState state = new GameState(players, Deck.of(readCards(in), new Random(0L)));
+        in.position(headerEnd);
+        for (int i = 0; i < step; i++) {
+            apply(in, state, players);
+        }
+        return state;
+    }
+
+    private static void apply(ByteBuffer in, GameState state, List<Player> players) {
+        final byte opcode = in.get();
+        switch (opcode) {
+            case GameLog.DRAW:
+                final Card expected = CARDS[in.get()];
+                final Card drawn = state.drawCard();
+                if (drawn != expected) {
+                    throw new IllegalStateException(String.format("Drawn %s instead of %s: the log is corrupted", drawn, expected));
+                }
+                break;
+            case GameLog.REINSERT:
+                state.reinsertCard(players.get(in.get()), CARDS[in.get()], in.getInt());
+                break;
+            case GameLog.DISCARD:
+                state.discard(players.get(in.get()), CARDS[in.get()]);
+                break;
+            case GameLog.SHUFFLE:
+                state.shuffleDeck(in.getLong());
+                break;
+            case GameLog.TRANSFER:
+                state.transferCard(players.get(in.get()), players.get(in.get()), CARDS[in.get()]);
+                break;
+            case GameLog.TRANSFER_FROM_PILE:
+                state.transferFromPile(players.get(in.get()), CARDS[in.get()]);
+                break;
+            case GameLog.NEXT_TURN:
+                state.nextTurn();
+                break;
+            case GameLog.ADD_TURNS:
+                state.addTurns(in.getLong());
+                break;
+            case GameLog.REMOVE:
+                state.removeFromGame(players.get(in.get()));
+                break;
+            case GameLog.EFFECT:
+                final ComboEffect effect = GameLog.effectOf(in.get());
+                state.addEffectToHistory(effect != null ? effect : OtherEffect.INSTANCE);
+                break;
+            default:
+                throw new IllegalStateException("Unknown opcode " + opcode + " at " + (in.position() - 1));
+        }
+    }
+
+    private static int[] indexRecords(ByteBuffer in) {
+        int[] offsets = new int[1024];
+        int count = 0;
+        while (true) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = in.position();
+            if (!in.hasRemaining()) {
+                return Arrays.copyOf(offsets, count);
+            }
+            in.position(in.position() + 1 + operandsLength(in.get(in.position())));
+        }
+    }
+
+    private static int operandsLength(byte opcode) {
+        switch (opcode) {
+            case GameLog.NEXT_TURN:
+                return 0;
+            case GameLog.DRAW:
+            case GameLog.REMOVE:
+            case GameLog.EFFECT:
+                return 1;
+            case GameLog.DISCARD:
+            case GameLog.TRANSFER_FROM_PILE:
+                return 2;
+            case GameLog.TRANSFER:
+                return 3;
+            case GameLog.REINSERT:
+                return 2 + Integer.BYTES;
+            case GameLog.SHUFFLE:
+            case GameLog.ADD_TURNS:
+                return Long.BYTES;
+            default:
+                throw new IllegalStateException("Unknown opcode " + opcode);
+        }
+    }
+
+    private static List<Card> readCards(ByteBuffer in) {
+        final int size = in.getInt();
+        final List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cards.add(CARDS[in.get()]);
+        }
+        return cards;
+    }
+
+    private static void skipCards(ByteBuffer in) {
+        final int size = in.getInt();
+        in.position(in.position() + size);
+    }
+
+    /**
+     * Effect which is not the effect of a combo, e.g., the end of a turn: it only takes its place in the history.
+     */
+    private enum OtherEffect implements ComboEffect {
+        INSTANCE;
+
+        @Override
+        public void apply(GameState state) {
+            throw new UnsupportedOperationException("Replayed effects cannot be applied");
+        }
+    }
+
+    private static class ReplayedPlayer extends Player {
+
+        ReplayedPlayer(String id) {
+            super(id);
+        }
+
+        @Override
+        public void onEvent(GameEvent event) {
+            // nobody is watching a replay
+        }
+
+        @Override
+        public Card selectCardType() {
+            throw new UnsupportedOperationException("Replayed players cannot take decisions");
+        }
+
+        @Override
+        public Player selectPlayer(Collection<Player> players) {
+            throw new UnsupportedOperationException("Replayed players cannot take decisions");
+        }
+
+        @Override
+        public Optional<Card> selectCardOf(Player player) {
+            throw new UnsupportedOperationException("Replayed players cannot take decisions");
+        }
+
+        @Override
+        public List<Card> selectCardFrom(Collection<Card> cards) {
+            throw new UnsupportedOperationException("Replayed players cannot take decisions");
+        }
+
+        @Override
+        public int reinsertExplodingKitten(int deckSize) {
+            throw new UnsupportedOperationException("Replayed players cannot take decisions");
+        }
+
+        @Override
+        public void askForNope(String action, CompletableFuture<Optional<Player>> nopePlayedBy) {
+            throw new UnsupportedOperationException("Replayed players cannot take decisions");
+        }
+    }
+}
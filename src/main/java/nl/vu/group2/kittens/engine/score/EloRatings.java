@@ -0,0 +1,210 @@
+package nl.vu.group2.kittens.engine.score;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.Result;
+import nl.vu.group2.kittens.engine.replay.GameLogStore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Skill ratings of the players, updated after every game with a multiplayer variant of Elo: a game among N players
+ * counts as a match between every pair of them, won by the one who placed better, and every match is worth 1/(N-1)
+ * of the usual K factor, so that a game moves a rating about as much as a single two-player match.
+ * <p>
+ * All the matches of a game are computed from the ratings before the game. More generally, the ratings are updated
+ * once per rating period, with all the games of the period computed from the ratings at its start: when recording
+ * game by game the period is a single game, while {@link #recompute(GameLogStore, int)} rates all the recorded games
+ * at once with longer periods, whose games are computed in parallel.
+ * <p>
+ * The ratings are saved as a JSON array of {@link Rating}s.
+ */
+@Slf4j
+public final class EloRatings implements ResultsRecorder {
+
+    public static final Path DEFAULT_PATH = Paths.get(System.getProperty("kittens.ratings", "ratings.json"));
+    public static final double INITIAL_RATING = 1500.0;
+    public static final double K_FACTOR = 32.0;
+    private static EloRatings instance;
+
+    private final Map<String, Rating> ratings = new HashMap<>();
+
+    /**
+     * Loads the ratings saved to the given file, or starts from no ratings if there is no such file.
+     *
+     * @throws IOException if the file cannot be read or does not hold ratings
+     */
+    public static EloRatings load(Path path) throws IOException {
+        final EloRatings eloRatings = new EloRatings();
+        if (!Files.exists(path)) {
+            return eloRatings;
+        }
+        try {
+            // the fields are read one by one, so that parsing does not depend on the names of the constructor
+            // parameters
+            final JSONArray array = JSON.parseArray(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            for (int i = 0; i < array.size(); i++) {
+                final JSONObject rating = array.getJSONObject(i);
+                eloRatings.ratings.put(rating.getString("playerName"), new Rating(rating.getString("playerName"),
+                        rating.getDoubleValue("rating"), rating.getLongValue("games")));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted ratings file " + path, e);
+        }
+        return eloRatings;
+    }
+
+    /**
+     * Returns the ratings saved to the {@link #DEFAULT_PATH}, shared by all the hosted games of this process.
+     */
+    public static synchronized EloRatings getInstance() {
+        if (instance == null) {
+            try {
+                instance = load(DEFAULT_PATH);
+            } catch (IOException e) {
+                log.warn("Failed to load the ratings {}, starting from scratch", DEFAULT_PATH, e);
+                instance = new EloRatings();
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Rates the given games, in order, from scratch. The games are split in rating periods of the given number of
+     * games: the changes due to the games of a period are computed in parallel and summed, then applied at once.
+     */
+    public static EloRatings recompute(List<? extends Collection<Result>> games, int periodSize) {
+        if (periodSize < 1) {
+            throw new IllegalArgumentException("Rating periods must have at least one game: " + periodSize);
+        }
+        final EloRatings eloRatings = new EloRatings();
+        for (int from = 0; from < games.size(); from += periodSize) {
+            // the ratings are only read while the changes are computed, so the threads can share them
+            final Changes changes = games.subList(from, Math.min(games.size(), from + periodSize))
+                                         .parallelStream()
+                                         .collect(() -> new Changes(eloRatings), Changes::add, Changes::merge);
+            eloRatings.apply(changes);
+        }
+        return eloRatings;
+    }
+
+    /**
+     * Rates all the games recorded in the given store from scratch, in the order of their ids, as
+     * {@link #recompute(List, int)} does.
+     */
+    public static EloRatings recompute(GameLogStore store, int periodSize) {
+        final List<List<Result>> games = new ArrayList<>();
+        for (long gameId = 0; gameId < store.getGamesCount(); gameId++) {
+            if (store.contains(gameId)) {
+                games.add(store.replay(gameId).getResults());
+            }
+        }
+        log.info("Rating {} recorded games in periods of {}", games.size(), periodSize);
+        return recompute(games, periodSize);
+    }
+
+    @Override
+    public synchronized void record(Collection<Result> results) {
+        final Changes changes = new Changes(this);
+        changes.add(results);
+        apply(changes);
+    }
+
+    public synchronized Optional<Rating> getRating(String playerName) {
+        return Optional.ofNullable(ratings.get(playerName));
+    }
+
+    /**
+     * Returns the ratings of all the players, from the highest one.
+     */
+    public synchronized List<Rating> getRanking() {
+        final List<Rating> ranking = new ArrayList<>(ratings.values());
+        ranking.sort(Comparator.comparingDouble(Rating::getRating).reversed().thenComparing(Rating::getPlayerName));
+        return ranking;
+    }
+
+    /**
+     * Saves the ratings to the given file, replacing it only once they are completely written.
+     */
+    public synchronized void save(Path path) throws IOException {
+        final Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporaryPath, JSON.toJSONString(getRanking()).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private double ratingOf(String playerName) {
+        final Rating rating = ratings.get(playerName);
+        return rating == null ? INITIAL_RATING : rating.getRating();
+    }
+
+    private void apply(Changes changes) {
+        changes.games.forEach((player, games) -> {
+            final Rating rating = ratings.get(player);
+            ratings.put(player, new Rating(player, ratingOf(player) + changes.deltas.get(player),
+                    (rating == null ? 0L : rating.getGames()) + games));
+        });
+    }
+
+    /**
+     * Changes to the ratings due to some games, all computed from the same ratings.
+     */
+    private static final class Changes {
+
+        private final EloRatings base;
+        private final Map<String, Double> deltas = new HashMap<>();
+        private final Map<String, Long> games = new HashMap<>();
+
+        Changes(EloRatings base) {
+            this.base = base;
+        }
+
+        void add(Collection<Result> results) {
+            final List<Result> game = new ArrayList<>(results);
+            if (game.size() < 2) {
+                return;
+            }
+            final double k = K_FACTOR / (game.size() - 1);
+            final double[] ratings = new double[game.size()];
+            for (int i = 0; i < game.size(); i++) {
+                ratings[i] = base.ratingOf(game.get(i).getPlayerName());
+            }
+            for (int i = 0; i < game.size(); i++) {
+                double delta = 0.0;
+                for (int j = 0; j < game.size(); j++) {
+                    if (i != j) {
+                        final double expected = 1.0 / (1.0 + Math.pow(10.0, (ratings[j] - ratings[i]) / 400.0));
+                        delta += k * (outcome(game.get(i).getScore(), game.get(j).getScore()) - expected);
+                    }
+                }
+                deltas.merge(game.get(i).getPlayerName(), delta, Double::sum);
+                games.merge(game.get(i).getPlayerName(), 1L, Long::sum);
+            }
+        }
+
+        void merge(Changes other) {
+            other.deltas.forEach((player, delta) -> deltas.merge(player, delta, Double::sum));
+            other.games.forEach((player, count) -> games.merge(player, count, Long::sum));
+        }
+
+        /**
+         * The lower the placement, the better: 1 for a win against the other player, 0.5 for a draw, 0 for a loss.
+         */
+        private static double outcome(int placement, int otherPlacement) {
+            return placement < otherPlacement ? 1.0 : placement == otherPlacement ? 0.5 : 0.0;
+        }
+    }
+}
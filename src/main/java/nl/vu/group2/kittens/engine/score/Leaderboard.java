@@ -0,0 +1,145 @@
+package nl.vu.group2.kittens.engine.score;
+
+import lombok.Value;
+import nl.vu.group2.kittens.engine.Result;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live ranking of the players of many games running at the same time, e.g., the games of a lobby or of a tournament,
+ * which can be queried while the games go on.
+ * <p>
+ * Every player has its own accumulators: the games played and the sum of the placements are {@link LongAdder}s, so
+ * games ending at the same time never wait for each other to count them. The players are kept sorted by wins in a
+ * skip list, so that the top of the ranking is read without sorting anything: only the winner of a game changes its
+ * position, which is a removal and an insertion under the lock of that player alone. A reader which saw a player move
+ * while reading the top reads it again, since the player may have moved past it.
+ */
+public final class Leaderboard implements ResultsRecorder {
+
+    private static final int WINNER_SCORE = 1;
+    /** Reads of the top before sorting all the players instead, if players kept moving during all of them. */
+    private static final int MAX_TOP_READS = 4;
+    private static final Comparator<Rank> RANKING = Comparator.comparingLong(Rank::getWins).reversed()
+                                                              .thenComparing(Rank::getPlayerName);
+    private static final Comparator<PlayerStats> STATS_RANKING =
+            Comparator.comparingLong(PlayerStats::getWins).reversed().thenComparing(PlayerStats::getPlayerName);
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Rank> ranking = new ConcurrentSkipListSet<>(RANKING);
+    private final LongAdder gamesCount = new LongAdder();
+    /** Number of moves in the ranking so far, so that readers can tell whether a player moved while they read. */
+    private final AtomicLong moves = new AtomicLong();
+
+    @Override
+    public void record(Collection<Result> results) {
+        for (Result result : results) {
+            final Entry entry = entries.computeIfAbsent(result.getPlayerName(), this::newEntry);
+            entry.games.increment();
+            entry.placementsSum.add(result.getScore());
+            if (result.getScore() == WINNER_SCORE) {
+                entry.win();
+            }
+        }
+        gamesCount.increment();
+    }
+
+    public long getGamesCount() {
+        return gamesCount.sum();
+    }
+
+    public Optional<PlayerStats> getStats(String playerName) {
+        final Entry entry = entries.get(playerName);
+        return entry == null ? Optional.empty() : Optional.of(entry.toStats());
+    }
+
+    /**
+     * Returns the (at most) k players with the most wins, from the first one. Players with the same wins are sorted
+     * by name, so the ranking does not change between two queries unless a game ended.
+     */
+    public List<PlayerStats> getTop(int k) {
+        for (int reads = 0; reads < MAX_TOP_READS; reads++) {
+            final long movesBefore = moves.get();
+            final List<PlayerStats> top = readTop(k);
+            if (moves.get() == movesBefore) {
+                return top;
+            }
+        }
+        // players kept moving: sorting them all is slower, but finds every one of them
+        final List<PlayerStats> all = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> all.add(entry.toStats()));
+        all.sort(STATS_RANKING);
+        return new ArrayList<>(all.subList(0, Math.min(k, all.size())));
+    }
+
+    /**
+     * Reads the top once. A player which is moving has two ranks for a moment: it is listed once, with its current
+     * stats, wherever it is found first. A player which moved past the reader is missed, which {@link #getTop(int)}
+     * finds out from the moves to read again.
+     */
+    private List<PlayerStats> readTop(int k) {
+        final List<PlayerStats> top = new ArrayList<>(Math.min(k, entries.size()));
+        final Set<String> listed = new HashSet<>();
+        for (Rank rank : ranking) {
+            if (top.size() == k) {
+                break;
+            }
+            final Entry entry = entries.get(rank.getPlayerName());
+            if (entry != null && listed.add(rank.getPlayerName())) { // null for a player being added
+                top.add(entry.toStats());
+            }
+        }
+        top.sort(STATS_RANKING);
+        return top;
+    }
+
+    private Entry newEntry(String playerName) {
+        final Entry entry = new Entry(playerName);
+        ranking.add(entry.rank);
+        return entry;
+    }
+
+    @Value
+    private static class Rank {
+        String playerName;
+        long wins;
+    }
+
+    private final class Entry {
+
+        private final String playerName;
+        private final LongAdder games = new LongAdder();
+        private final LongAdder placementsSum = new LongAdder();
+        private volatile Rank rank;
+
+        Entry(String playerName) {
+            this.playerName = playerName;
+            this.rank = new Rank(playerName, 0L);
+        }
+
+        // the new rank is added before the old one is removed, so that readers always find the player
+        synchronized void win() {
+            final Rank previous = rank;
+            final Rank next = new Rank(playerName, previous.getWins() + 1);
+            ranking.add(next);
+            rank = next;
+            ranking.remove(previous);
+            moves.incrementAndGet();
+        }
+
+        PlayerStats toStats() {
+            return new PlayerStats(playerName, games.sum(), rank.getWins(), placementsSum.sum());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package nl.vu.group2.kittens.engine.score;
+
+import lombok.Value;
+
+/**
+ * Results of a player over all the games in a {@link ScoreStore}.
+ * Placements start from 1 (the winner), so the lower the average placement, the better.
+ */
+@Value
+public class PlayerStats {
+
+    String playerName;
+    long games;
+    long wins;
+    long placementsSum;
+
+    static PlayerStats empty(String playerName) {
+        return new PlayerStats(playerName, 0L, 0L, 0L);
+    }
+
+    public double getAveragePlacement() {
+        return games == 0 ? 0.0 : (double) placementsSum / games;
+    }
+
+    PlayerStats plus(int placement) {
+        return new PlayerStats(playerName, games + 1, placement == 1 ? wins + 1 : wins, placementsSum + placement);
+    }
+}
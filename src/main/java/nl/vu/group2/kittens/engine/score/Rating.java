@@ -0,0 +1,14 @@
+package nl.vu.group2.kittens.engine.score;
+
+import lombok.Value;
+
+/**
+ * Skill rating of a player (see {@link EloRatings}), with the number of games it is computed from.
+ */
+@Value
+public class Rating {
+
+    String playerName;
+    double rating;
+    long games;
+}
@@ -0,0 +1,17 @@
+package nl.vu.group2.kittens.engine.score;
+
+import nl.vu.group2.kittens.engine.Result;
+
+import java.util.Collection;
+
+/**
+ * Receives the results of every game which ends, e.g., to rank or rate the players over many games.
+ */
+public interface ResultsRecorder {
+
+    /**
+     * Adds the results of a game, where the score of every player is its placement (1 for the winner).
+     * It may be called by many games at the same time.
+     */
+    void record(Collection<Result> results);
+}
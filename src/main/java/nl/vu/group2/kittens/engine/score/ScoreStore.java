@@ -0,0 +1,354 @@
+package nl.vu.group2.kittens.engine.score;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.engine.Result;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Persistent results of all the games played, e.g., by a host over many sessions or by a tournament, which only
+ * appends the results of every game instead of rewriting all of them.
+ * <p>
+ * The results are appended to a log of compact records: a player name is written once (the first time it appears),
+ * then referred to by its index in the table of names, so the results of a game take a few bytes per player. The
+ * aggregates of every player ({@link PlayerStats}) are kept in memory and updated as games are appended.
+ * <p>
+ * When the log grows past a threshold it is compacted in the background: new results go to a new log, while another
+ * thread writes a checkpoint of the names and aggregates up to that point and then deletes the older logs. Opening the
+ * store reads the checkpoint and replays the logs written after it; a record cut short by a crash is dropped.
+ * <p>
+ * A store is used by one process at a time, while its methods can be called from any thread.
+ */
+@Slf4j
+public final class ScoreStore implements Closeable {
+
+    public static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("kittens.scores", "scores"));
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 4L * 1024 * 1024;
+    private static final String CHECKPOINT_FILE = "scores.ckp";
+    private static final String LOCK_FILE = "scores.lock";
+    private static final String LOG_FILE = "scores-%05d.log";
+    private static final Pattern LOG_FILE_PATTERN = Pattern.compile("scores-(\\d{5})\\.log");
+    private static final int MAGIC = 0x4B53434F; // "KSCO"
+    private static final byte VERSION = 1;
+    private static final byte NAME = 1;
+    private static final byte GAME = 2;
+    private static ScoreStore instance;
+
+    private final Path directory;
+    private final long compactionThreshold;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final List<PlayerStats> stats = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "score-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int generation;
+    private FileChannel logChannel;
+    private long logSize;
+    private long gamesCount;
+    private Future<?> compaction = CompletableFuture.completedFuture(null);
+
+    private ScoreStore(Path directory, long compactionThreshold) throws IOException {
+        this.directory = directory;
+        this.compactionThreshold = compactionThreshold;
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("The score store " + directory + " is used by another process");
+        }
+        generation = readCheckpoint();
+        for (int logGeneration : logGenerations()) {
+            if (logGeneration < generation) {
+                Files.delete(logFile(logGeneration)); // left behind by a compaction interrupted after its checkpoint
+            } else {
+                replayLog(logGeneration);
+                generation = logGeneration;
+            }
+        }
+        logChannel = FileChannel.open(logFile(generation), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        logSize = logChannel.size();
+        log.info("Opened score store {} ({} games, {} players)", directory, gamesCount, stats.size());
+    }
+
+    public static ScoreStore open(Path directory) throws IOException {
+        return new ScoreStore(directory, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Opens a store which compacts its log every time it grows past the given number of bytes.
+     */
+    public static ScoreStore open(Path directory, long compactionThreshold) throws IOException {
+        return new ScoreStore(directory, compactionThreshold);
+    }
+
+    /**
+     * Returns the store in the {@link #DEFAULT_DIRECTORY}, shared by all the hosted games of this process, or empty if
+     * it cannot be opened (e.g., because another process is using it).
+     */
+    public static synchronized Optional<ScoreStore> getInstance() {
+        if (instance == null) {
+            try {
+                instance = open(DEFAULT_DIRECTORY);
+            } catch (IOException e) {
+                log.warn("Failed to open the score store {}, scores will not be saved", DEFAULT_DIRECTORY, e);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(instance);
+    }
+
+    /**
+     * Appends the results of a game, where the score of every player is its placement (1 for the winner).
+     */
+    public synchronized void append(List<Result> results) throws IOException {
+        final Map<String, Integer> newIds = new LinkedHashMap<>();
+        int size = 2 + results.size() * (Integer.BYTES + 1);
+        for (Result result : results) {
+            final String name = result.getPlayerName();
+            if (!nameIds.containsKey(name) && !newIds.containsKey(name)) {
+                newIds.put(name, stats.size() + newIds.size());
+                size += 1 + Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        final ByteBuffer record = ByteBuffer.allocate(size);
+        for (String name : newIds.keySet()) {
+            final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            record.put(NAME).putShort((short) bytes.length).put(bytes);
+        }
+        record.put(GAME).put((byte) results.size());
+        for (Result result : results) {
+            final Integer id = nameIds.get(result.getPlayerName());
+            record.putInt(id != null ? id : newIds.get(result.getPlayerName())).put((byte) result.getScore());
+        }
+        record.flip();
+        while (record.hasRemaining()) {
+            logChannel.write(record);
+        }
+        logSize += size;
+        newIds.keySet().forEach(this::addName);
+        for (Result result : results) {
+            addResult(nameIds.get(result.getPlayerName()), result.getScore());
+        }
+        gamesCount++;
+        if (logSize >= compactionThreshold && compaction.isDone()) {
+            compact();
+        }
+    }
+
+    public synchronized long getGamesCount() {
+        return gamesCount;
+    }
+
+    public synchronized Optional<PlayerStats> getStats(String playerName) {
+        final Integer id = nameIds.get(playerName);
+        return id == null ? Optional.empty() : Optional.of(stats.get(id));
+    }
+
+    /**
+     * Returns the stats of all the players, from the one with the most wins (and, among the ones with the same wins,
+     * the best average placement).
+     */
+    public synchronized List<PlayerStats> getStandings() {
+        final List<PlayerStats> standings = new ArrayList<>(stats);
+        standings.sort(Comparator.comparingLong(PlayerStats::getWins).reversed()
+                                 .thenComparingDouble(PlayerStats::getAveragePlacement));
+        return standings;
+    }
+
+    /**
+     * Starts a new log and checkpoints the results up to the previous one in the background.
+     *
+     * @return the compaction, which is done once the checkpoint is written and the older logs are deleted
+     */
+    public synchronized Future<?> compact() throws IOException {
+        final int checkpointGeneration = generation + 1;
+        final FileChannel previousLog = logChannel;
+        logChannel = FileChannel.open(logFile(checkpointGeneration), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        previousLog.close();
+        generation = checkpointGeneration;
+        logSize = 0L;
+        final List<PlayerStats> statsCopy = List.copyOf(stats);
+        final long gamesCountCopy = gamesCount;
+        compaction = compactor.submit(() -> writeCheckpoint(checkpointGeneration, statsCopy, gamesCountCopy));
+        return compaction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(10L, TimeUnit.SECONDS)) {
+                log.warn("Compaction of {} still running", directory);
+            }
+        } catch (InterruptedException e) {
+            log.error("Interrupted while compacting the score store", e);
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            logChannel.close();
+            lock.release();
+            lockChannel.close();
+            log.info("Closed score store {} ({} games)", directory, gamesCount);
+        }
+        synchronized (ScoreStore.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+    }
+
+    private void writeCheckpoint(int checkpointGeneration, List<PlayerStats> statsCopy, long gamesCountCopy) {
+        final List<byte[]> names = new ArrayList<>(statsCopy.size());
+        int size = Integer.BYTES + 1 + Integer.BYTES + Long.BYTES + Integer.BYTES;
+        for (PlayerStats playerStats : statsCopy) {
+            final byte[] name = playerStats.getPlayerName().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += Short.BYTES + name.length + 3 * Long.BYTES;
+        }
+        final ByteBuffer checkpoint = ByteBuffer.allocate(size);
+        checkpoint.putInt(MAGIC).put(VERSION).putInt(checkpointGeneration).putLong(gamesCountCopy)
+                  .putInt(statsCopy.size());
+        for (int i = 0; i < statsCopy.size(); i++) {
+            final PlayerStats playerStats = statsCopy.get(i);
+            checkpoint.putShort((short) names.get(i).length).put(names.get(i))
+                      .putLong(playerStats.getGames())
+                      .putLong(playerStats.getWins())
+                      .putLong(playerStats.getPlacementsSum());
+        }
+        final Path temporaryFile = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.write(temporaryFile, checkpoint.array());
+            Files.move(temporaryFile, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (int logGeneration : logGenerations()) {
+                if (logGeneration < checkpointGeneration) {
+                    Files.delete(logFile(logGeneration));
+                }
+            }
+            log.info("Compacted score store {} up to {} games", directory, gamesCountCopy);
+        } catch (IOException e) {
+            // the logs are still there, so nothing is lost: the next compaction will try again
+            log.error("Failed to compact the score store {}", directory, e);
+        }
+    }
+
+    /**
+     * @return the generation of the first log written after the checkpoint
+     */
+    private int readCheckpoint() throws IOException {
+        final Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        final ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IOException("Not a score store checkpoint: " + file);
+        }
+        final int checkpointGeneration = in.getInt();
+        gamesCount = in.getLong();
+        final int playersCount = in.getInt();
+        for (int i = 0; i < playersCount; i++) {
+            final byte[] name = new byte[in.getShort()];
+            in.get(name);
+            final PlayerStats playerStats = new PlayerStats(new String(name, StandardCharsets.UTF_8),
+                    in.getLong(), in.getLong(), in.getLong());
+            nameIds.put(playerStats.getPlayerName(), stats.size());
+            stats.add(playerStats);
+        }
+        return checkpointGeneration;
+    }
+
+    private void replayLog(int logGeneration) throws IOException {
+        final Path file = logFile(logGeneration);
+        final ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        int recordStart = 0;
+        try {
+            while (in.hasRemaining()) {
+                recordStart = in.position();
+                final byte type = in.get();
+                if (type == NAME) {
+                    final byte[] name = new byte[in.getShort()];
+                    in.get(name);
+                    addName(new String(name, StandardCharsets.UTF_8));
+                } else if (type == GAME) {
+                    final int[] ids = new int[in.get()];
+                    final int[] placements = new int[ids.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = in.getInt();
+                        placements[i] = in.get();
+                    }
+                    for (int i = 0; i < ids.length; i++) {
+                        addResult(ids[i], placements[i]);
+                    }
+                    gamesCount++;
+                } else {
+                    throw new IOException(String.format("Unknown record %d at %d of %s", type, recordStart, file));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            log.warn("Dropping the last record of {}, cut short at {}", file, recordStart);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(recordStart);
+            }
+        }
+    }
+
+    private void addName(String name) {
+        nameIds.put(name, stats.size());
+        stats.add(PlayerStats.empty(name));
+    }
+
+    private void addResult(int id, int placement) {
+        stats.set(id, stats.get(id).plus(placement));
+    }
+
+    private List<Integer> logGenerations() throws IOException {
+        final List<Integer> generations = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            files.forEach(file -> {
+                final Matcher matcher = LOG_FILE_PATTERN.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Integer.parseInt(matcher.group(1)));
+                }
+            });
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path logFile(int logGeneration) {
+        return directory.resolve(String.format(LOG_FILE, logGeneration));
+    }
+}
@@ -0,0 +1,253 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.GameStateListener;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * What a player knows about the cards it cannot see, kept up to date with the changes to the game: the cards it saw
+ * on top of the deck (see the future) or put back itself, the cards it gave to its opponents or saw them take from the
+ * discard pile, and how many cards of each type are left unseen.
+ * <p>
+ * From that, the probability of any card at any position of the deck is exact: the cards not seen are equally likely
+ * to be in any of the places the player cannot see (a position of the deck not seen, or a card of an opponent), except
+ * for the exploding kittens, which are always in the deck. Every change to the game updates a few counters (a card
+ * put back in the deck also moves the positions above it, as in the deck itself), and a shuffle forgets all the
+ * positions at once by starting a new generation of them, so nothing is recomputed from scratch.
+ * <p>
+ * Only what the player is shown is used: the cards which move out of its sight (e.g., a card drawn by an opponent)
+ * are not looked at, apart from the exploding kittens drawn, which everyone sees.
+ */
+public final class CardTracker implements GameStateListener {
+
+    private static final Card[] CARDS = Card.values();
+    private static final int TYPES = CARDS.length;
+    private static final int EXPLODING_KITTEN = Card.EXPLODING_KITTEN.ordinal();
+
+    private final List<Player> players;
+    private final Player observer;
+    private final int[] unseen = new int[TYPES];
+    private final int[] knownInDeck = new int[TYPES];
+    private final int[] knownInHands;
+    private int unseenCount;
+    /** Cards of the deck, from the bottom, which are only known if their generation is the current one. */
+    private byte[] slots;
+    private int[] generations;
+    private int deckSize;
+    private int knownSlots;
+    private int generation = 1;
+
+    private CardTracker(GameState state, Player observer) {
+        this.players = state.getPlayers();
+        this.observer = observer;
+        this.knownInHands = new int[players.size() * TYPES];
+        this.deckSize = state.getDeck().size();
+        this.slots = new byte[Math.max(1, deckSize)];
+        this.generations = new int[slots.length];
+        for (Card card : CARDS) {
+            see(card.ordinal(), -state.getDeck().count(card));
+        }
+        for (Player player : players) {
+            if (player != observer) {
+                player.getHandView().forEach(card -> see(card.ordinal(), -1));
+            }
+        }
+    }
+
+    /**
+     * Starts tracking what the given player knows of the given game, from what it can see now (its hand and the
+     * discard pile).
+     */
+    public static CardTracker of(GameState state, Player observer) {
+        final CardTracker tracker = new CardTracker(state, observer);
+        state.addListener(tracker);
+        return tracker;
+    }
+
+    //<editor-fold desc="queries">
+    /**
+     * Returns the probability that the card at the given position from the top of the deck (0) is of the given type.
+     */
+    public double probability(int offset, Card card) {
+        final int index = deckSize - 1 - offset;
+        if (index < 0 || index >= deckSize) {
+            return 0.0;
+        }
+        if (generations[index] == generation) {
+            return slots[index] == card.ordinal() ? 1.0 : 0.0;
+        }
+        final int unknownSlots = deckSize - knownSlots;
+        final double explodingOdds = (double) unseen[EXPLODING_KITTEN] / unknownSlots;
+        if (card == Card.EXPLODING_KITTEN) {
+            return explodingOdds;
+        }
+        final int unseenOthers = unseenCount - unseen[EXPLODING_KITTEN];
+        return unseenOthers == 0 ? 0.0 : (1.0 - explodingOdds) * unseen[card.ordinal()] / unseenOthers;
+    }
+
+    /**
+     * Returns the probability of drawing an exploding kitten, as far as the player knows.
+     */
+    public double explodingOdds() {
+        return probability(0, Card.EXPLODING_KITTEN);
+    }
+
+    /**
+     * Returns the card at the given position from the top of the deck, if the player knows it.
+     */
+    public Optional<Card> knownCard(int offset) {
+        final int index = deckSize - 1 - offset;
+        if (index < 0 || index >= deckSize || generations[index] != generation) {
+            return Optional.empty();
+        }
+        return Optional.of(CARDS[slots[index]]);
+    }
+
+    /**
+     * Returns how many cards of the given type the player knows to be in the hand of the given one, who is identified
+     * by its index in {@link GameState#getPlayers()}.
+     */
+    public int countKnownInHand(int player, Card card) {
+        return knownInHands[player * TYPES + card.ordinal()];
+    }
+
+    /**
+     * Returns how many cards of the given type the player has not seen (or has lost track of).
+     */
+    public int countUnseen(Card card) {
+        return unseen[card.ordinal()];
+    }
+    //</editor-fold>
+
+    //<editor-fold desc="changes">
+    @Override
+    public void onDraw(Player player, Card card) {
+        final int index = deckSize - 1;
+        final boolean known = generations[index] == generation;
+        deckSize--;
+        if (known) {
+            knownSlots--;
+            knownInDeck[slots[index]]--;
+        }
+        if (player == observer) {
+            if (!known) {
+                see(card.ordinal(), 1);
+            }
+        } else if (known) {
+            knownInHands[indexOf(player) + slots[index]]++;
+        } else if (card == Card.EXPLODING_KITTEN) { // everyone is told
+            see(EXPLODING_KITTEN, 1);
+            knownInHands[indexOf(player) + EXPLODING_KITTEN]++;
+        }
+    }
+
+    @Override
+    public void onReinsert(Player player, Card card, int offset) {
+        if (slots.length == deckSize) {
+            slots = Arrays.copyOf(slots, Math.max(1, deckSize * 2));
+            generations = Arrays.copyOf(generations, Math.max(1, deckSize * 2));
+        }
+        final int index = deckSize - offset;
+        System.arraycopy(slots, index, slots, index + 1, offset);
+        System.arraycopy(generations, index, generations, index + 1, offset);
+        deckSize++;
+        if (player == observer) {
+            slots[index] = (byte) card.ordinal();
+            generations[index] = generation;
+            knownSlots++;
+            knownInDeck[card.ordinal()]++;
+        } else {
+            generations[index] = 0;
+            forgetInHand(player, card);
+        }
+    }
+
+    @Override
+    public void onDiscard(Player player, Card card) {
+        if (player != observer) {
+            forgetInHand(player, card);
+            see(card.ordinal(), 1);
+        }
+    }
+
+    @Override
+    public void onShuffle(long seed) {
+        for (int i = 0; i < TYPES; i++) {
+            see(i, -knownInDeck[i]);
+            knownInDeck[i] = 0;
+        }
+        knownSlots = 0;
+        generation++;
+    }
+
+    @Override
+    public void onTransfer(Player from, Player to, Card card) {
+        if (to == observer) {
+            forgetInHand(from, card);
+            see(card.ordinal(), 1);
+        } else if (from == observer) {
+            knownInHands[indexOf(to) + card.ordinal()]++;
+        } else {
+            // the card is not shown: whatever was known of the hand it left may be wrong now
+            for (int i = 0; i < TYPES; i++) {
+                see(i, -knownInHands[indexOf(from) + i]);
+                knownInHands[indexOf(from) + i] = 0;
+            }
+        }
+    }
+
+    @Override
+    public void onTransferFromPile(Player player, Card card) {
+        if (player != observer) { // the discard pile is in sight of everyone
+            knownInHands[indexOf(player) + card.ordinal()]++;
+        }
+    }
+
+    @Override
+    public void onPeek(Player player, List<Card> cards) {
+        if (player != observer) {
+            return;
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            final int index = deckSize - 1 - i;
+            if (generations[index] != generation) {
+                final int card = cards.get(i).ordinal();
+                slots[index] = (byte) card;
+                generations[index] = generation;
+                knownSlots++;
+                knownInDeck[card]++;
+                see(card, 1);
+            }
+        }
+    }
+    //</editor-fold>
+
+    /**
+     * Counts the given number of cards of the given type as seen (or as unseen again, if negative).
+     */
+    private void see(int card, int count) {
+        unseen[card] -= count;
+        unseenCount -= count;
+    }
+
+    private int indexOf(Player player) {
+        return players.indexOf(player) * TYPES;
+    }
+
+    /**
+     * Counts a card of the given opponent as unseen again, if it was known to be in its hand: the card is about to be
+     * shown (e.g., discarded) or to move out of sight.
+     */
+    private void forgetInHand(Player player, Card card) {
+        final int index = indexOf(player) + card.ordinal();
+        if (knownInHands[index] > 0) {
+            knownInHands[index]--;
+            see(card.ordinal(), -1);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package nl.vu.group2.kittens.engine.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Monte Carlo tree search over the information set of a player (single-observer ISMCTS): every iteration deals the
+ * cards the player cannot see at random ({@link SearchState#determinize(int, Random)}), walks down the tree along
+ * the moves that are legal in that deal, adds a node, plays the rest of the game at random and backs the placements
+ * up the path. A node is picked with UCB1 where the number of trials is the number of times it was available, so that
+ * moves which are only legal in some deals are not penalised.
+ * <p>
+ * A decision grows one tree per worker of its {@link RolloutPool}, each with its own deals, and sums the visits of
+ * their root moves (root parallelisation): the trees share nothing, so the workers never synchronise. A decision stops
+ * after its time budget or its number of iterations (split among the workers), whichever comes first, and picks the
+ * best move of the trees grown in time; with no time budget, a decision only depends on its {@link Random} and on the
+ * number of workers, e.g., to play reproducible simulations.
+ */
+public final class InformationSetSearch {
+
+    private static final double EXPLORATION = 0.7;
+    /** Share of the budget the forked workers leave to the calling thread to collect their results. */
+    private static final int MARGIN_SHARE = 20;
+
+    private final RolloutPool pool;
+    private final Random random;
+    private final Duration budget;
+    private final int maxIterations;
+
+    public InformationSetSearch(Random random, Duration budget, int maxIterations) {
+        this(RolloutPool.sequential(), random, budget, maxIterations);
+    }
+
+    /**
+     * @param budget        how long a decision can take, or zero for no time limit
+     * @param maxIterations how many games a decision can simulate at most
+     */
+    public InformationSetSearch(RolloutPool pool, Random random, Duration budget, int maxIterations) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("A search needs at least one iteration: " + maxIterations);
+        }
+        this.pool = pool;
+        this.random = random;
+        this.budget = budget;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Returns the move (see {@link SearchState#move(int, int, int, int, int)}) the observer, who must be the current
+     * player of the given state, should play.
+     */
+    public int bestMove(SearchState root, int observer, SearchMetrics metrics) {
+        final long start = System.nanoTime();
+        final long deadline = deadline(start);
+        final long[] seeds = seeds();
+        final List<Node> trees = pool.run(worker -> grow(root, observer, new Random(seeds[worker]),
+                iterations(worker), deadline(worker, deadline)), deadline);
+        final Map<Integer, Integer> visits = new LinkedHashMap<>();
+        long rollouts = 0L;
+        for (Node tree : trees) {
+            rollouts += tree.visits;
+            for (Node child : tree.children) {
+                if (child.player == observer) {
+                    visits.merge(child.move, child.visits, Integer::sum);
+                }
+            }
+        }
+        metrics.record(rollouts, System.nanoTime() - start);
+        return visits.entrySet()
+                     .stream()
+                     .reduce((best, next) -> next.getValue() > best.getValue() ? next : best)
+                     .map(Map.Entry::getKey)
+                     .orElse(SearchState.DRAW);
+    }
+
+    /**
+     * Picks one of the given options of the observer (e.g., where to put back an exploding kitten) with UCB1: every
+     * iteration deals the hidden cards at random, applies an option and plays the rest of the game at random.
+     *
+     * @return the index of the option with the most visits
+     */
+    public int bestOption(SearchState root, int observer, int optionsCount, Option option, SearchMetrics metrics) {
+        final long start = System.nanoTime();
+        final long deadline = deadline(start);
+        final long[] seeds = seeds();
+        final List<int[]> results = pool.run(worker -> sample(root, observer, optionsCount, option,
+                new Random(seeds[worker]), iterations(worker), deadline(worker, deadline)), deadline);
+        final int[] visits = new int[optionsCount];
+        long rollouts = 0L;
+        for (int[] result : results) {
+            for (int i = 0; i < optionsCount; i++) {
+                visits[i] += result[i];
+                rollouts += result[i];
+            }
+        }
+        metrics.record(rollouts, System.nanoTime() - start);
+        int best = 0;
+        for (int i = 1; i < optionsCount; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private Node grow(SearchState root, int observer, Random random, int iterations, long deadline) {
+        final Node tree = new Node(SearchState.DRAW, observer, null);
+        final SearchState state = new SearchState(root);
+        final int[] moves = new int[SearchState.MAX_MOVES];
+        for (int iteration = 0; iteration < iterations && !expired(deadline); iteration++) {
+            state.copyFrom(root);
+            state.determinize(observer, random);
+            Node node = tree;
+            while (!state.isOver()) {
+                final int player = state.getCurrentPlayer();
+                final int count = state.legalMoves(moves);
+                final Node child = node.untried(moves, count, player, random);
+                if (child != null) {
+                    node = child;
+                    state.play(node.move, random);
+                    break;
+                }
+                node = node.select(moves, count, player);
+                state.play(node.move, random);
+            }
+            state.playout(random);
+            for (; node != null; node = node.parent) {
+                node.visits++;
+                node.reward += state.reward(node.player);
+            }
+        }
+        return tree;
+    }
+
+    private static int[] sample(SearchState root, int observer, int optionsCount, Option option, Random random,
+                                int iterations, long deadline) {
+        final SearchState state = new SearchState(root);
+        final int[] visits = new int[optionsCount];
+        final double[] rewards = new double[optionsCount];
+        for (int iteration = 0; iteration < iterations && !expired(deadline); iteration++) {
+            final int choice = iteration < optionsCount ? iteration : ucb(visits, rewards, iteration);
+            state.copyFrom(root);
+            state.determinize(observer, random);
+            option.apply(state, choice, random);
+            state.playout(random);
+            visits[choice]++;
+            rewards[choice] += state.reward(observer);
+        }
+        return visits;
+    }
+
+    /**
+     * Draws the seeds of the workers on the calling thread, so that they do not depend on the scheduling.
+     */
+    private long[] seeds() {
+        final long[] seeds = new long[pool.getParallelism()];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+        return seeds;
+    }
+
+    private int iterations(int worker) {
+        final int workers = pool.getParallelism();
+        return Math.max(1, maxIterations / workers + (worker < maxIterations % workers ? 1 : 0));
+    }
+
+    private long deadline(long start) {
+        return budget.isZero() ? RolloutPool.NO_DEADLINE : start + budget.toNanos();
+    }
+
+    private long deadline(int worker, long deadline) {
+        return worker == 0 || deadline == RolloutPool.NO_DEADLINE ? deadline : deadline - budget.toNanos() / MARGIN_SHARE;
+    }
+
+    private static boolean expired(long deadline) {
+        return deadline != RolloutPool.NO_DEADLINE && System.nanoTime() - deadline > 0;
+    }
+
+    private static int ucb(int[] visits, double[] rewards, int trials) {
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < visits.length; i++) {
+            final double value = rewards[i] / visits[i] + EXPLORATION * Math.sqrt(Math.log(trials) / visits[i]);
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Applies an option of the observer to a determinized state.
+     */
+    @FunctionalInterface
+    public interface Option {
+
+        void apply(SearchState state, int option, Random random);
+    }
+
+    private static final class Node {
+
+        private final int move;
+        private final int player;
+        private final Node parent;
+        private final List<Node> children = new ArrayList<>();
+        private int visits;
+        private int availability;
+        private double reward;
+
+        Node(int move, int player, Node parent) {
+            this.move = move;
+            this.player = player;
+            this.parent = parent;
+        }
+
+        /**
+         * Adds a child for one of the legal moves not tried yet (picked at random), or returns null if all of them
+         * were tried.
+         */
+        Node untried(int[] moves, int count, int player, Random random) {
+            int untried = 0;
+            for (int i = 0; i < count; i++) {
+                if (child(moves[i], player) == null) {
+                    untried++;
+                }
+            }
+            if (untried == 0) {
+                return null;
+            }
+            int choice = random.nextInt(untried);
+            for (int i = 0; i < count; i++) {
+                if (child(moves[i], player) == null && choice-- == 0) {
+                    final Node child = new Node(moves[i], player, this);
+                    children.add(child);
+                    markAvailable(moves, count, player);
+                    return child;
+                }
+            }
+            throw new IllegalStateException("No untried move left");
+        }
+
+        /**
+         * Returns the child, among the legal moves, with the best upper confidence bound.
+         */
+        Node select(int[] moves, int count, int player) {
+            markAvailable(moves, count, player);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                final Node child = child(moves[i], player);
+                final double value = child.reward / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        private void markAvailable(int[] moves, int count, int player) {
+            for (int i = 0; i < count; i++) {
+                final Node child = child(moves[i], player);
+                if (child != null) {
+                    child.availability++;
+                }
+            }
+        }
+
+        private Node child(int move, int player) {
+            for (Node child : children) {
+                if (child.move == move && child.player == player) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package nl.vu.group2.kittens.engine.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+/**
+ * Threads on which the searches of the AI players simulate games, shared by all the decisions (and all the games) of
+ * the process so that the cores are not oversubscribed when many search players think at the same time.
+ * <p>
+ * A decision is split in one search per worker (see {@link #run(IntFunction, long)}): the calling thread runs the
+ * first one, the others are forked on a work-stealing pool, so idle threads pick up the searches of busy decisions.
+ * The number of workers is fixed by the pool, not by the threads free at the time, so that a search capped by
+ * iterations does the same work (and picks the same move) however busy the pool is.
+ */
+public final class RolloutPool {
+
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int SHARED_PARALLELISM = Integer.getInteger("kittens.search.threads",
+            Runtime.getRuntime().availableProcessors());
+    private static final RolloutPool SEQUENTIAL = new RolloutPool(1);
+    private static RolloutPool shared;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism how many searches every decision is split in, the calling thread included
+     */
+    public RolloutPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("A pool needs at least one worker: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism - 1) : null;
+    }
+
+    /**
+     * Returns the pool shared by the search players of this process, with as many workers as cores (or as the
+     * {@code kittens.search.threads} system property).
+     */
+    public static synchronized RolloutPool shared() {
+        if (shared == null) {
+            shared = new RolloutPool(Math.max(1, SHARED_PARALLELISM));
+        }
+        return shared;
+    }
+
+    /**
+     * Returns a pool running every decision on the calling thread alone, e.g., for games which are already played in
+     * parallel.
+     */
+    public static RolloutPool sequential() {
+        return SEQUENTIAL;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Runs the given search once per worker, passing the index of the worker (0 for the calling thread), and returns
+     * the results of the searches which ended by the deadline, in the order of their workers. The first result is
+     * always there, since the calling thread runs its search itself: a search should stop at the deadline and return
+     * what it found so far, the others should stop a little earlier to make it in time.
+     *
+     * @param deadline {@link System#nanoTime()} after which the results are not waited for, or {@link #NO_DEADLINE}
+     */
+    <R> List<R> run(IntFunction<R> search, long deadline) {
+        final List<ForkJoinTask<R>> tasks = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            final int worker = i;
+            tasks.add(pool.submit(() -> search.apply(worker)));
+        }
+        final List<R> results = new ArrayList<>(parallelism);
+        results.add(search.apply(0));
+        for (ForkJoinTask<R> task : tasks) {
+            try {
+                results.add(deadline == NO_DEADLINE
+                            ? task.get()
+                            : task.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                task.cancel(false); // a search which did not start yet is not started at all
+            } catch (InterruptedException e) {
+                task.cancel(false);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A search failed", e.getCause());
+            }
+        }
+        return results;
+    }
+}
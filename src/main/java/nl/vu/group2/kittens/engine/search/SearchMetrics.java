@@ -0,0 +1,87 @@
+package nl.vu.group2.kittens.engine.search;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the decisions taken by a search: how many there were, how many games they simulated and how long
+ * they took. They can be read while decisions are being recorded, e.g., by the games of a lobby.
+ * <p>
+ * The latencies are counted in a histogram of microseconds whose buckets are 1/16 of a power of two wide, so that a
+ * percentile is off by at most about 6% and recording a decision allocates nothing.
+ */
+public final class SearchMetrics {
+
+    private static final int SUB_BUCKETS_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKETS_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKETS_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder rollouts = new LongAdder();
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+
+    public void record(long rolloutsCount, long latencyNanos) {
+        decisions.increment();
+        rollouts.add(rolloutsCount);
+        latencies.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    public long getDecisionsCount() {
+        return decisions.sum();
+    }
+
+    public long getRolloutsCount() {
+        return rollouts.sum();
+    }
+
+    public double getRolloutsPerDecision() {
+        final long count = getDecisionsCount();
+        return count == 0 ? 0.0 : (double) getRolloutsCount() / count;
+    }
+
+    /**
+     * Returns the latency which the given share of the decisions (e.g., 0.99) did not exceed, rounded up to the upper
+     * bound of its bucket.
+     */
+    public Duration getLatencyPercentile(double percentile) {
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += latencies.get(i);
+        }
+        final long rank = (long) Math.ceil(percentile * total);
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += latencies.get(i);
+            if (seen >= rank && seen > 0) {
+                return Duration.ofNanos(upperBoundOf(i) * 1_000L);
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchMetrics(decisions=%d, rolloutsPerDecision=%.0f, p99=%dms)", getDecisionsCount(),
+                getRolloutsPerDecision(), getLatencyPercentile(0.99).toMillis());
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        final int subBucket = (int) (micros >>> (exponent - SUB_BUCKETS_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKETS_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKETS_BITS - 1;
+        final long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKETS_BITS)) - 1;
+    }
+}
@@ -0,0 +1,679 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.effect.CardCombo;
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.effect.ComboTable;
+import nl.vu.group2.kittens.engine.effect.MoveBuffer;
+import nl.vu.group2.kittens.engine.effect.MoveGenerator;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compact copy of a {@link GameState} on which a search plays many simulated games: the hands are counts per card,
+ * the deck is an array of card ordinals (whose end is the top) and the turn order is a few integers, so that forking a
+ * state is a handful of array copies into a state allocated once ({@link #copyFrom(SearchState)}), and playing a
+ * simulated game allocates nothing.
+ * <p>
+ * The rules are the ones of {@link nl.vu.group2.kittens.engine.HostedGame} and of the {@link ComboEffect}s, while the
+ * decisions the engine would ask to the players (targets, NOPEs, where to put back an exploding kitten) are either
+ * part of the move being played or taken by a cheap random policy.
+ * <p>
+ * A move is an int (see {@link #move(int, int, int, int, int)}): the kind of play, the card played, the target player,
+ * the card asked for with three of a kind and, for five different cards, the mask of the cards played.
+ */
+public final class SearchState {
+
+    public static final int DRAW = 0;
+    public static final int SINGLE = 1;
+    public static final int PAIR = 2;
+    public static final int TRIPLE = 3;
+    public static final int FIVE = 4;
+    /** Target of a move left to the policy, e.g., for an effect someone else is playing. */
+    public static final int ANY_TARGET = 7;
+    public static final int MAX_MOVES = 256;
+
+    private static final Card[] CARDS = Card.values();
+    private static final int TYPES = CARDS.length;
+    private static final int ATTACK = Card.ATTACK.ordinal();
+    private static final int DEFUSE = Card.DEFUSE.ordinal();
+    private static final int EXPLODING_KITTEN = Card.EXPLODING_KITTEN.ordinal();
+    private static final int FAVOR = Card.FAVOR.ordinal();
+    private static final int NOPE = Card.NOPE.ordinal();
+    private static final int SEE_THE_FUTURE = Card.SEE_THE_FUTURE.ordinal();
+    private static final int SHUFFLE = Card.SHUFFLE.ordinal();
+    private static final int SKIP = Card.SKIP.ordinal();
+    private static final ComboEffect ATTACK_EFFECT = new CardCombo(List.of(Card.ATTACK)).getEffect().orElseThrow();
+    /**
+     * How much the players value their cards, from the least valuable: it decides the card given with a favor, the
+     * cards spent on five different cards and the card taken back from the discard pile. Exploding kittens are left
+     * out, so that they are never picked: the hand of an exploded player, the exploding kitten included, ends up in
+     * the discard pile, but players never keep one in their hands.
+     */
+    private static final int[] VALUE_ORDER = {
+            Card.BEARD_CAT.ordinal(), Card.CATTERMELON.ordinal(), Card.HAIRY_POTATO_CAT.ordinal(),
+            Card.RAINBOW_RALPHING_CAT.ordinal(), Card.TACOCAT.ordinal(), SHUFFLE, SEE_THE_FUTURE, FAVOR, SKIP,
+            ATTACK, NOPE, DEFUSE};
+    private static final double ROLLOUT_NOPE_PROBABILITY = 0.25;
+    private static final int MAX_ROLLOUT_TURNS = 500;
+
+    private final int playersCount;
+    private final int[] hands;
+    private final int[] handSizes;
+    private final byte[] deck;
+    private final int[] discard = new int[TYPES];
+    private final boolean[] active;
+    private final int[] placements;
+    private final int[] moves = new int[MAX_MOVES];
+    private final MoveBuffer plays = new MoveBuffer();
+    private final byte[] pool;
+    /** What the observer knows where the state was captured: it is shared by the forks, and never changed. */
+    private boolean[] knownSlots;
+    private int[] knownHands;
+    private int deckSize;
+    private int activeCount;
+    private int current;
+    private long extraTurns;
+    private int leadingAttacks;
+
+    /**
+     * Creates an empty state, to {@link #copyFrom(SearchState) copy} another one into.
+     */
+    public SearchState(SearchState shape) {
+        this(shape.playersCount, shape.deck.length);
+    }
+
+    private SearchState(int playersCount, int cardsCount) {
+        this.playersCount = playersCount;
+        this.hands = new int[playersCount * TYPES];
+        this.handSizes = new int[playersCount];
+        this.deck = new byte[cardsCount];
+        this.active = new boolean[playersCount];
+        this.placements = new int[playersCount];
+        this.pool = new byte[cardsCount];
+        this.knownSlots = new boolean[cardsCount];
+        this.knownHands = new int[playersCount * TYPES];
+    }
+
+    /**
+     * Copies the current state of the game, where players are identified by their index in {@link
+     * GameState#getPlayers()}. Everything is copied, hidden cards included: a search must {@link #determinize} the
+     * copy before playing on it.
+     */
+    public static SearchState of(GameState game) {
+        return of(game, null);
+    }
+
+    /**
+     * Copies the current state of the game, along with what the player whose knowledge is given knows of it: the
+     * positions of the deck and the cards of the opponents it knows are kept by {@link #determinize}.
+     */
+    public static SearchState of(GameState game, CardTracker knowledge) {
+        final List<Player> players = game.getPlayers();
+        int cardsCount = game.getDeck().size();
+        for (Player player : players) {
+            cardsCount += player.getHandSize();
+        }
+        for (Card card : CARDS) {
+            cardsCount += game.countDiscarded(card);
+        }
+        final SearchState state = new SearchState(players.size(), cardsCount);
+        for (int i = 0; i < players.size(); i++) {
+            for (Card card : players.get(i).getHandView()) {
+                state.hands[i * TYPES + card.ordinal()]++;
+            }
+            state.handSizes[i] = players.get(i).getHandSize();
+            state.active[i] = game.getActivePlayers().contains(players.get(i));
+            state.activeCount += state.active[i] ? 1 : 0;
+        }
+        final List<Card> deckCards = game.getDeck().peek(0, game.getDeck().size());
+        state.deckSize = deckCards.size();
+        for (int i = 0; i < deckCards.size(); i++) {
+            state.deck[deckCards.size() - 1 - i] = (byte) deckCards.get(i).ordinal();
+        }
+        for (Card card : CARDS) {
+            state.discard[card.ordinal()] = game.countDiscarded(card);
+        }
+        state.current = players.indexOf(game.getCurrentPlayer());
+        state.extraTurns = game.getExtraTurns();
+        state.leadingAttacks = (int) game.getEffectHistory().stream().takeWhile(ATTACK_EFFECT::equals).count();
+        if (knowledge != null) {
+            for (int offset = 0; offset < state.deckSize; offset++) {
+                state.knownSlots[state.deckSize - 1 - offset] = knowledge.knownCard(offset).isPresent();
+            }
+            for (int i = 0; i < players.size(); i++) {
+                for (Card card : CARDS) {
+                    state.knownHands[i * TYPES + card.ordinal()] = knowledge.countKnownInHand(i, card);
+                }
+            }
+        }
+        return state;
+    }
+
+    public void copyFrom(SearchState other) {
+        System.arraycopy(other.hands, 0, hands, 0, hands.length);
+        System.arraycopy(other.handSizes, 0, handSizes, 0, playersCount);
+        System.arraycopy(other.deck, 0, deck, 0, other.deckSize);
+        System.arraycopy(other.discard, 0, discard, 0, TYPES);
+        System.arraycopy(other.active, 0, active, 0, playersCount);
+        System.arraycopy(other.placements, 0, placements, 0, playersCount);
+        deckSize = other.deckSize;
+        activeCount = other.activeCount;
+        current = other.current;
+        extraTurns = other.extraTurns;
+        leadingAttacks = other.leadingAttacks;
+        knownSlots = other.knownSlots;
+        knownHands = other.knownHands;
+    }
+
+    /**
+     * Replaces what the observer cannot see (the hands of the opponents and the order of the deck) with a random
+     * arrangement of the same cards, keeping the size of every hand and what the observer knew when the state was
+     * {@link #of(GameState, CardTracker) captured}: it must be called on a copy of the captured state. Exploding
+     * kittens only go back to the deck, since players never keep them in their hands.
+     */
+    public void determinize(int observer, Random random) {
+        int poolSize = 0;
+        int explodingKittens = 0;
+        for (int i = 0; i < deckSize; i++) {
+            if (knownSlots[i]) {
+                continue;
+            }
+            if (deck[i] == EXPLODING_KITTEN) {
+                explodingKittens++;
+            } else {
+                pool[poolSize++] = deck[i];
+            }
+        }
+        for (int player = 0; player < playersCount; player++) {
+            if (player == observer) {
+                continue;
+            }
+            for (int card = 0; card < TYPES; card++) {
+                final int kept = Math.min(knownHands[player * TYPES + card], hands[player * TYPES + card]);
+                for (int i = hands[player * TYPES + card] - kept; i > 0; i--) {
+                    if (card == EXPLODING_KITTEN) {
+                        explodingKittens++;
+                    } else {
+                        pool[poolSize++] = (byte) card;
+                    }
+                }
+                hands[player * TYPES + card] = kept;
+            }
+        }
+        shuffle(pool, 0, poolSize, random);
+        int next = 0;
+        for (int player = 0; player < playersCount; player++) {
+            if (player == observer) {
+                continue;
+            }
+            int held = 0;
+            for (int card = 0; card < TYPES; card++) {
+                held += hands[player * TYPES + card];
+            }
+            while (held < handSizes[player] && next < poolSize) {
+                hands[player * TYPES + pool[next++]]++;
+                held++;
+            }
+            handSizes[player] = held;
+        }
+        for (int i = 0; i < explodingKittens; i++) {
+            pool[poolSize++] = (byte) EXPLODING_KITTEN;
+        }
+        shuffle(pool, next, poolSize, random);
+        for (int i = 0; i < deckSize; i++) {
+            if (!knownSlots[i]) {
+                deck[i] = pool[next++];
+            }
+        }
+    }
+
+    //<editor-fold desc="accessors">
+    public int getPlayersCount() {
+        return playersCount;
+    }
+
+    public int getCurrentPlayer() {
+        return current;
+    }
+
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    public int countInHand(int player, Card card) {
+        return hands[player * TYPES + card.ordinal()];
+    }
+
+    public int countInDeck(Card card) {
+        int count = 0;
+        for (int i = 0; i < deckSize; i++) {
+            count += deck[i] == card.ordinal() ? 1 : 0;
+        }
+        return count;
+    }
+
+    public boolean isOver() {
+        return activeCount <= 1;
+    }
+
+    /**
+     * Returns how well the player did in a finished game, from 1 (winner) to 0 (first one eliminated). If the game
+     * did not finish, the players still in the game share the placements left.
+     */
+    public double reward(int player) {
+        if (playersCount < 2) {
+            return 1.0;
+        }
+        final double placement = active[player] ? (activeCount + 1) / 2.0 : placements[player];
+        return (playersCount - placement) / (playersCount - 1);
+    }
+
+    /**
+     * Returns the card of the given ones which the players value the least (e.g., the one to give with a favor),
+     * never an exploding kitten.
+     */
+    public static Card leastValuable(Collection<Card> cards) {
+        for (int card : VALUE_ORDER) {
+            if (cards.contains(CARDS[card])) {
+                return CARDS[card];
+            }
+        }
+        throw new IllegalArgumentException("No cards to choose from: " + cards);
+    }
+
+    /**
+     * Returns the card of the given ones which the players value the most (e.g., the one to take from the discard
+     * pile), never an exploding kitten.
+     */
+    public static Card mostValuable(Collection<Card> cards) {
+        for (int i = VALUE_ORDER.length - 1; i >= 0; i--) {
+            if (cards.contains(CARDS[VALUE_ORDER[i]])) {
+                return CARDS[VALUE_ORDER[i]];
+            }
+        }
+        throw new IllegalArgumentException("No cards to choose from: " + cards);
+    }
+    //</editor-fold>
+
+    //<editor-fold desc="moves">
+    public static int move(int kind, int card, int target, int requestedCard, int fiveMask) {
+        return kind | card << 3 | target << 7 | requestedCard << 10 | fiveMask << 14;
+    }
+
+    public static int kindOf(int move) {
+        return move & 0x7;
+    }
+
+    public static Card cardOf(int move) {
+        return CARDS[move >>> 3 & 0xF];
+    }
+
+    public static int targetOf(int move) {
+        return move >>> 7 & 0x7;
+    }
+
+    public static Card requestedCardOf(int move) {
+        return CARDS[move >>> 10 & 0xF];
+    }
+
+    /**
+     * Returns the cards played with the given move, in the form the engine expects them (see {@link CardCombo}).
+     */
+    public static List<Card> cardsOf(int move) {
+        switch (kindOf(move)) {
+            case SINGLE:
+                return List.of(cardOf(move));
+            case PAIR:
+                return List.of(cardOf(move), cardOf(move));
+            case TRIPLE:
+                return List.of(cardOf(move), cardOf(move), cardOf(move));
+            case FIVE:
+                final Card[] cards = new Card[5];
+                int count = 0;
+                for (int card = 0; card < TYPES; card++) {
+                    if ((move >>> 14 & 1 << card) != 0) {
+                        cards[count++] = CARDS[card];
+                    }
+                }
+                return List.of(cards);
+            default:
+                return List.of();
+        }
+    }
+
+    /**
+     * Returns the move playing the given cards, whose target (if any) is left to the policy and for which three of a
+     * kind ask for a defuse, or -1 if the cards have no effect together (see {@link ComboTable}).
+     */
+    public static int moveOf(List<Card> cards) {
+        if (ComboTable.effectOf(cards).isEmpty()) {
+            return -1;
+        }
+        final int card = cards.get(0).ordinal();
+        switch (cards.size()) {
+            case 1:
+                return move(SINGLE, card, ANY_TARGET, 0, 0);
+            case 2:
+                return move(PAIR, card, ANY_TARGET, 0, 0);
+            case 3:
+                return move(TRIPLE, card, ANY_TARGET, DEFUSE, 0);
+            default:
+                int fiveMask = 0;
+                for (Card played : cards) {
+                    fiveMask |= 1 << played.ordinal();
+                }
+                return move(FIVE, 0, ANY_TARGET, 0, fiveMask);
+        }
+    }
+
+    /**
+     * Writes the moves the current player can make to the given buffer, drawing a card (ending the turn) first.
+     *
+     * @return the number of moves
+     */
+    public int legalMoves(int[] buffer) {
+        int count = 0;
+        buffer[count++] = DRAW;
+        // five different cards are a single move, the cheapest ones (below), so that the tree does not branch on them
+        MoveGenerator.generate(hands, current * TYPES, TRIPLE, plays);
+        for (int i = 0; i < plays.size(); i++) {
+            final int play = plays.get(i);
+            final int kind = MoveGenerator.sizeOf(play); // SINGLE, PAIR or TRIPLE, which are the numbers of cards
+            final int card = MoveGenerator.cardOf(play).ordinal();
+            if (kind == SINGLE && card != FAVOR) {
+                buffer[count++] = move(SINGLE, card, ANY_TARGET, 0, 0);
+                continue;
+            }
+            for (int target = nextActive(current); target != current; target = nextActive(target)) {
+                buffer[count++] = move(kind, card, target, kind == TRIPLE ? DEFUSE : 0, 0);
+            }
+        }
+        final int fiveMask = cheapestDistinctCards(current, 5);
+        if (fiveMask != 0) {
+            buffer[count++] = move(FIVE, 0, ANY_TARGET, 0, fiveMask);
+        }
+        return count;
+    }
+    //</editor-fold>
+
+    //<editor-fold desc="transitions">
+    /**
+     * Makes the current player play the given move: draw a card, or play cards which the other players may NOPE.
+     */
+    public void play(int move, Random random) {
+        if (kindOf(move) == DRAW) {
+            draw(random);
+            return;
+        }
+        discardCards(current, move);
+        for (int player = nextActive(current); player != current; player = nextActive(player)) {
+            if (hands[player * TYPES + NOPE] > 0 && random.nextDouble() < ROLLOUT_NOPE_PROBABILITY) {
+                discardCard(player, NOPE);
+                return;
+            }
+        }
+        applyEffect(move, random);
+    }
+
+    /**
+     * Applies the effect of a move whose cards were already played (and not NOPE'd).
+     */
+    public void applyEffect(int move, Random random) {
+        final int kind = kindOf(move);
+        final int card = move >>> 3 & 0xF;
+        if (kind == SINGLE && card == ATTACK) {
+            final int attacker = current;
+            while (current == attacker) {
+                nextTurn();
+            }
+            extraTurns += leadingAttacks * 2L + 1;
+            leadingAttacks++;
+            return;
+        }
+        leadingAttacks = 0;
+        if (kind == SINGLE && card == SKIP) {
+            nextTurn();
+        } else if (kind == SINGLE && card == SHUFFLE) {
+            shuffle(deck, deckSize, random);
+        } else if (kind == SINGLE && card == FAVOR) {
+            final int target = target(move, random);
+            final int given = cheapestCard(target);
+            if (given >= 0) {
+                transfer(target, current, given);
+            }
+        } else if (kind == PAIR) {
+            final int target = target(move, random);
+            if (handSizes[target] > 0) {
+                transfer(target, current, randomCard(target, random));
+            }
+        } else if (kind == TRIPLE) {
+            final int target = target(move, random);
+            final int requested = move >>> 10 & 0xF;
+            if (hands[target * TYPES + requested] > 0) {
+                transfer(target, current, requested);
+            }
+        } else if (kind == FIVE) {
+            for (int i = VALUE_ORDER.length - 1; i >= 0; i--) {
+                if (discard[VALUE_ORDER[i]] > 0) {
+                    discard[VALUE_ORDER[i]]--;
+                    addCard(current, VALUE_ORDER[i]);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends the turn of the current player by drawing a card: an exploding kitten is defused (and put back at a random
+     * position) if they can, otherwise they are out of the game.
+     */
+    public void draw(Random random) {
+        if (deckSize == 0) {
+            endTurn();
+            return;
+        }
+        final int card = deck[--deckSize];
+        if (card != EXPLODING_KITTEN) {
+            addCard(current, card);
+            endTurn();
+        } else if (hands[current * TYPES + DEFUSE] > 0) {
+            discardCard(current, DEFUSE);
+            insertCard(EXPLODING_KITTEN, random.nextInt(deckSize + 1));
+            endTurn();
+        } else {
+            discard[EXPLODING_KITTEN]++;
+            eliminateCurrent();
+        }
+    }
+
+    /**
+     * Puts back the exploding kitten the current player holds after defusing it (see
+     * {@link nl.vu.group2.kittens.engine.player.Player#reinsertExplodingKitten(int)}), which ends their turn.
+     *
+     * @param offset position from the top of the deck: 0 is the top and {@link #getDeckSize()} is the bottom
+     */
+    public void reinsertExplodingKitten(int offset) {
+        if (hands[current * TYPES + EXPLODING_KITTEN] > 0) {
+            hands[current * TYPES + EXPLODING_KITTEN]--;
+            handSizes[current]--;
+        }
+        insertCard(EXPLODING_KITTEN, offset);
+        endTurn();
+    }
+
+    public void discardCard(int player, Card card) {
+        discardCard(player, card.ordinal());
+    }
+
+    /**
+     * Plays random (legal) moves until the game ends: on each step the current player draws with even odds,
+     * otherwise plays one of its moves at random.
+     */
+    public void playout(Random random) {
+        int steps = 0;
+        while (activeCount > 1 && steps++ < MAX_ROLLOUT_TURNS) {
+            if (random.nextBoolean()) {
+                draw(random);
+            } else {
+                final int count = legalMoves(moves);
+                play(moves[random.nextInt(count)], random);
+            }
+        }
+    }
+    //</editor-fold>
+
+    private void endTurn() {
+        leadingAttacks = 0;
+        nextTurn();
+    }
+
+    private void nextTurn() {
+        if (extraTurns > 0) {
+            extraTurns--;
+        } else {
+            current = nextActive(current);
+        }
+    }
+
+    private int nextActive(int player) {
+        int next = player;
+        do {
+            next = (next + 1) % playersCount;
+        } while (!active[next] && next != player);
+        return next;
+    }
+
+    private void eliminateCurrent() {
+        placements[current] = activeCount;
+        for (int card = 0; card < TYPES; card++) {
+            discard[card] += hands[current * TYPES + card];
+            hands[current * TYPES + card] = 0;
+        }
+        handSizes[current] = 0;
+        active[current] = false;
+        activeCount--;
+        current = nextActive(current);
+        extraTurns = 0;
+        leadingAttacks = 0;
+    }
+
+    private int target(int move, Random random) {
+        final int target = targetOf(move);
+        if (target != ANY_TARGET && active[target]) {
+            return target;
+        }
+        int choice = random.nextInt(Math.max(1, activeCount - 1));
+        for (int player = nextActive(current); player != current; player = nextActive(player)) {
+            if (choice-- == 0) {
+                return player;
+            }
+        }
+        return current;
+    }
+
+    private void discardCards(int player, int move) {
+        final int card = move >>> 3 & 0xF;
+        switch (kindOf(move)) {
+            case SINGLE:
+            case PAIR:
+            case TRIPLE:
+                // the kinds of the plays of the same card are their numbers of cards
+                for (int i = 0; i < kindOf(move); i++) {
+                    discardCard(player, card);
+                }
+                break;
+            case FIVE:
+                for (int i = 0; i < TYPES; i++) {
+                    if ((move >>> 14 & 1 << i) != 0) {
+                        discardCard(player, i);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void discardCard(int player, int card) {
+        if (hands[player * TYPES + card] > 0) {
+            hands[player * TYPES + card]--;
+            handSizes[player]--;
+            discard[card]++;
+        }
+    }
+
+    private void addCard(int player, int card) {
+        hands[player * TYPES + card]++;
+        handSizes[player]++;
+    }
+
+    private void transfer(int from, int to, int card) {
+        hands[from * TYPES + card]--;
+        handSizes[from]--;
+        addCard(to, card);
+    }
+
+    private void insertCard(int card, int offset) {
+        final int index = deckSize - Math.max(0, Math.min(offset, deckSize));
+        System.arraycopy(deck, index, deck, index + 1, deckSize - index);
+        deck[index] = (byte) card;
+        deckSize++;
+    }
+
+    private int cheapestCard(int player) {
+        for (int card : VALUE_ORDER) {
+            if (hands[player * TYPES + card] > 0) {
+                return card;
+            }
+        }
+        return -1;
+    }
+
+    private int cheapestDistinctCards(int player, int count) {
+        int mask = 0;
+        int found = 0;
+        for (int i = 0; i < VALUE_ORDER.length && found < count; i++) {
+            if (hands[player * TYPES + VALUE_ORDER[i]] > 0) {
+                mask |= 1 << VALUE_ORDER[i];
+                found++;
+            }
+        }
+        return found == count ? mask : 0;
+    }
+
+    private int randomCard(int player, Random random) {
+        int choice = random.nextInt(handSizes[player]);
+        for (int card = 0; card < TYPES; card++) {
+            choice -= hands[player * TYPES + card];
+            if (choice < 0) {
+                return card;
+            }
+        }
+        return cheapestCard(player);
+    }
+
+    private static void shuffle(byte[] cards, int size, Random random) {
+        shuffle(cards, 0, size, random);
+    }
+
+    private static void shuffle(byte[] cards, int from, int to, Random random) {
+        for (int i = to - 1; i > from; i--) {
+            final int j = from + random.nextInt(i - from + 1);
+            final byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchState(current=%d, extraTurns=%d, deck=%d, hands=%s, active=%s)",
+                current, extraTurns, deckSize, Arrays.toString(handSizes), Arrays.toString(active));
+    }
+}
@@ -1,69 +1,183 @@
 package nl.vu.group2.kittens.model;
 
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.Value;
-
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static java.lang.Math.min;
 
-@Value
-public class Deck {
+/**
+ * The cards are stored as ordinals in an array whose end is the top of the deck, so that drawing a card does not shift
+ * all the other ones (and inserting a card only shifts the cards above it).
+ * The count of each card is kept up to date on every change, so that the odds of drawing an exploding kitten are
+ * computed in constant time even for very big custom decks.
+ */
+public class Deck implements DeckView {
+
+    private static final Card[] CARDS = Card.values();
 
-    @Getter(value = AccessLevel.NONE)
-    List<Card> cards;
+    private byte[] cards;
+    private int size;
+    private final int[] counts;
+    private final Random random;
+    private final DeckView view = new ReadOnlyView();
+
+    private Deck(byte[] cards, int size, int[] counts, Random random) {
+        this.cards = cards;
+        this.size = size;
+        this.counts = counts;
+        this.random = random;
+    }
 
-    private Deck(List<Card> cards) {
-        this.cards = new ArrayList<>(cards);
+    /**
+     * Returns a view of this deck which cannot be used (or cast) to modify it.
+     * The same instance is returned at every call, so the view can be handed out in hot loops.
+     */
+    public DeckView view() {
+        return view;
     }
 
     public Card drawCard() {
-        return cards.remove(0);
+        if (size == 0) {
+            throw new IllegalStateException("Cannot draw a card from an empty deck.");
+        }
+        final Card card = CARDS[cards[--size]];
+        counts[card.ordinal()]--;
+        return card;
     }
 
+    /**
+     * @param offset position from the top of the deck: 0 is the top and {@link #size()} is the bottom
+     */
     public void insertCard(Card card, int offset) {
-        cards.add(offset, card);
+        if (offset < 0 || offset > size) {
+            throw new IndexOutOfBoundsException(String.format("Offset %d out of the deck bounds (size %d)", offset, size));
+        }
+        if (size == cards.length) {
+            cards = Arrays.copyOf(cards, Math.max(1, size * 2));
+        }
+        final int index = size - offset;
+        System.arraycopy(cards, index, cards, index + 1, offset);
+        cards[index] = (byte) card.ordinal();
+        size++;
+        counts[card.ordinal()]++;
+    }
+
+    /**
+     * Shuffles the deck with a seed drawn from the source of randomness of the deck.
+     *
+     * @return the seed of the shuffle, with which {@link #shuffle(long)} repeats it (e.g., to replay a game)
+     */
+    public long shuffle() {
+        final long seed = random.nextLong();
+        shuffle(seed);
+        return seed;
     }
 
-    public void shuffle() {
-        Collections.shuffle(cards);
+    /**
+     * Same algorithm as {@link java.util.Collections#shuffle(List, Random)}, without boxing the cards.
+     * Shuffling does not change the counts.
+     */
+    public void shuffle(long seed) {
+        final Random random = new Random(seed);
+        for (int i = size; i > 1; i--) {
+            final int j = random.nextInt(i);
+            final byte card = cards[i - 1];
+            cards[i - 1] = cards[j];
+            cards[j] = card;
+        }
     }
 
+    @Override
     public List<Card> peek(int from, int to) {
         final List<Card> peekedCards = new ArrayList<>();
         for (int i = from; i < min(to, size()); i++) {
-            peekedCards.add(cards.get(i));
+            peekedCards.add(CARDS[cards[size - 1 - i]]);
         }
         return peekedCards;
     }
 
+    @Override
+    public int count(Card card) {
+        return counts[card.ordinal()];
+    }
+
+    @Override
     public int totalExplodingCards() {
-        Card explodingCard = Card.EXPLODING_KITTEN;
-        int nrOfCards = 0;
-        for (int i = 0; i < size(); i++) {
-            if (cards.get(i) == explodingCard) {
-                nrOfCards++;
-            }
-        }
-        return nrOfCards;
+        return count(Card.EXPLODING_KITTEN);
     }
 
+    @Override
     public double explodingOdds() {
         return ((double) totalExplodingCards()) / size();
     }
 
     public Deck copy() {
-        return new Deck(this.cards);
+        return new Deck(Arrays.copyOf(cards, size), size, counts.clone(), random);
     }
 
+    @Override
     public int size() {
-        return cards.size();
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "Deck(cards=" + peek(0, size) + ")";
     }
 
     public static Deck of(List<Card> cards) {
-        return new Deck(cards);
+        return of(cards, new Random());
+    }
+
+    /**
+     * Creates a deck whose shuffles are driven by the given source of randomness, e.g., to replay a game from a seed.
+     *
+     * @param cards the cards of the deck, from the top (index 0) to the bottom
+     */
+    public static Deck of(List<Card> cards, Random random) {
+        final int size = cards.size();
+        final byte[] ordinals = new byte[size];
+        final int[] counts = new int[CARDS.length];
+        for (int i = 0; i < size; i++) {
+            final Card card = cards.get(i);
+            ordinals[size - 1 - i] = (byte) card.ordinal();
+            counts[card.ordinal()]++;
+        }
+        return new Deck(ordinals, size, counts, random);
+    }
+
+    private class ReadOnlyView implements DeckView {
+
+        @Override
+        public int size() {
+            return Deck.this.size();
+        }
+
+        @Override
+        public int count(Card card) {
+            return Deck.this.count(card);
+        }
+
+        @Override
+        public int totalExplodingCards() {
+            return Deck.this.totalExplodingCards();
+        }
+
+        @Override
+        public double explodingOdds() {
+            return Deck.this.explodingOdds();
+        }
+
+        @Override
+        public List<Card> peek(int from, int to) {
+            return Deck.this.peek(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return Deck.this.toString();
+        }
     }
 }
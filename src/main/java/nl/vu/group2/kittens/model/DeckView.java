@@ -0,0 +1,19 @@
+package nl.vu.group2.kittens.model;
+
+import java.util.List;
+
+/**
+ * Read-only view of a {@link Deck}: it reflects the changes to the deck without copying it.
+ */
+public interface DeckView {
+
+    int size();
+
+    int count(Card card);
+
+    int totalExplodingCards();
+
+    double explodingOdds();
+
+    List<Card> peek(int from, int to);
+}
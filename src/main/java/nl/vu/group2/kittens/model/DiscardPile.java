@@ -1,39 +1,91 @@
 package nl.vu.group2.kittens.model;
 
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
-@Value
+/**
+ * The discarded cards are kept as a count per card (indexed by ordinal), so that pushing and extracting a card, or
+ * counting the cards of a type, take constant time whatever the size of the pile.
+ * The set of distinct cards in the pile is updated on every change and handed out as a read-only view.
+ * <p>
+ * The order in which the cards were discarded is only tracked when asked for (see {@link #withHistory()}), since
+ * the game itself never needs it.
+ */
 @Slf4j
 public class DiscardPile {
 
-    @Getter(value = AccessLevel.NONE)
-    List<Card> discardedCards;
+    private final int[] counts = new int[Card.values().length];
+    private final Set<Card> distinctCards = EnumSet.noneOf(Card.class);
+    private final Set<Card> distinctCardsView = Collections.unmodifiableSet(distinctCards);
+    private final Deque<Card> history;
+    private int size;
 
     public DiscardPile() {
-        this.discardedCards = new LinkedList<>();
+        this(null);
+    }
+
+    private DiscardPile(Deque<Card> history) {
+        this.history = history;
+    }
+
+    /**
+     * Creates a pile which also keeps the order in which the cards were discarded.
+     */
+    public static DiscardPile withHistory() {
+        return new DiscardPile(new ArrayDeque<>());
     }
 
     public void pushCard(Card card) {
-        discardedCards.add(card);
+        if (counts[card.ordinal()]++ == 0) {
+            distinctCards.add(card);
+        }
+        size++;
+        if (history != null) {
+            history.addLast(card);
+        }
     }
 
     public void extractCard(Card card) {
-        if (!discardedCards.contains(card)) {
+        if (counts[card.ordinal()] == 0) {
             log.error("Trying to extract a card {} which is not present in the discard pile.", card);
             throw new IllegalStateException(String.format("Card %s not present in the discard pile.", card));
         }
-        discardedCards.remove(card);
+        if (--counts[card.ordinal()] == 0) {
+            distinctCards.remove(card);
+        }
+        size--;
+        if (history != null) {
+            history.removeLastOccurrence(card);
+        }
     }
 
+    /**
+     * Returns a live, read-only view of the distinct cards in the pile, in the order of their declaration.
+     */
     public Set<Card> getCards() {
-        return new HashSet<>(discardedCards);
+        return distinctCardsView;
+    }
+
+    public int count(Card card) {
+        return counts[card.ordinal()];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the cards in the order in which they were discarded (the most recent last), or an empty collection if
+     * the history is not tracked.
+     */
+    public Collection<Card> getHistory() {
+        return history == null ? List.of() : Collections.unmodifiableCollection(history);
     }
 }
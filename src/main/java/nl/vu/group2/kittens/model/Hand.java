@@ -0,0 +1,77 @@
+package nl.vu.group2.kittens.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cards held by a player.
+ * <p>
+ * The count of each card, indexed by ordinal, answers the questions asked during a game (does the player have a
+ * DEFUSE? how many TACOCATs?) in constant time, while the list only keeps the order in which the cards were received,
+ * to show them to the user.
+ */
+public class Hand {
+
+    private static final int INITIAL_SIZE = 8;
+
+    private final int[] counts = new int[Card.values().length];
+    private final List<Card> cards = new ArrayList<>(INITIAL_SIZE);
+    private final List<Card> view = Collections.unmodifiableList(cards);
+    private int distinctCards;
+
+    public void add(Card card) {
+        if (counts[card.ordinal()]++ == 0) {
+            distinctCards++;
+        }
+        cards.add(card);
+    }
+
+    /**
+     * Removes one card of the given type, if any.
+     *
+     * @return whether the hand contained the card
+     */
+    public boolean remove(Card card) {
+        if (counts[card.ordinal()] == 0) {
+            return false;
+        }
+        if (--counts[card.ordinal()] == 0) {
+            distinctCards--;
+        }
+        cards.remove(card);
+        return true;
+    }
+
+    public boolean contains(Card card) {
+        return counts[card.ordinal()] > 0;
+    }
+
+    public int count(Card card) {
+        return counts[card.ordinal()];
+    }
+
+    public int distinctCards() {
+        return distinctCards;
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    public boolean isEmpty() {
+        return cards.isEmpty();
+    }
+
+    /**
+     * Returns a live, read-only view of the cards, in the order in which they were received.
+     */
+    public List<Card> asList() {
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        return cards.toString();
+    }
+}
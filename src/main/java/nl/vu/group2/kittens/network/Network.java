@@ -4,27 +4,53 @@ import lombok.extern.slf4j.Slf4j;
 import nl.vu.group2.kittens.engine.GameRunner;
 import nl.vu.group2.kittens.engine.player.HumanPlayer;
 import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.ui.AsyncUserInterface;
+import nl.vu.group2.kittens.ui.AsyncUserInterface.Backpressure;
+import nl.vu.group2.kittens.ui.BinaryTcpInterface;
+import nl.vu.group2.kittens.ui.Compression;
+import nl.vu.group2.kittens.ui.RemoteInterface;
 import nl.vu.group2.kittens.ui.TcpInterface;
 import nl.vu.group2.kittens.ui.UserInterface;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static nl.vu.group2.kittens.model.GameEvent.infoEvent;
 
 @Slf4j
 public class Network {
 
+    /** Query with which a remote player is asked their name when joining. */
+    public static final String NAME_QUERY = "Enter your name";
     public static final int PORT = Integer.getInteger("kittens.port", 8080);
     public static final String HOST = System.getProperty("kittens.host", "localhost");
+    /** Events which can wait to be sent to a remote player before the backpressure policy kicks in. */
+    public static final int EVENTS_QUEUE_CAPACITY = Integer.getInteger("kittens.events.capacity", 256);
+    public static final Backpressure EVENTS_BACKPRESSURE =
+            Backpressure.valueOf(System.getProperty("kittens.events.backpressure", Backpressure.BLOCK.name()));
+    /** Whether the players connect to a long-lived, non-blocking {@link NioServer} instead of a polled server socket. */
+    public static final boolean NIO = Boolean.getBoolean("kittens.nio");
+    /** Whether the binary protocol is offered to (by the host) or requested from (by the clients) the other side. */
+    public static final boolean BINARY_PROTOCOL = !"text".equalsIgnoreCase(System.getProperty("kittens.protocol", "binary"));
+    /** Whether the clients ask the host to compress the session (see {@link Compression}). */
+    public static final boolean COMPRESSION = Boolean.getBoolean("kittens.compression");
+    /** Time given to a client of the NIO server to tell their name before being disconnected. */
+    public static final Duration HANDSHAKE_TIMEOUT = Duration.ofSeconds(30L);
     private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(GameRunner.MAX_PLAYER_COUNT);
 
     static {
@@ -33,11 +59,17 @@ public class Network {
 
     private static final Network INSTANCE = new Network();
 
+    private final BlockingQueue<Player> lobby = new LinkedBlockingQueue<>();
+    private NioServer nioServer;
+
     public static Network getInstance() {
         return INSTANCE;
     }
 
     public List<Player> registerPlayers(int playersCount) {
+        if (NIO) {
+            return registerNioPlayers(playersCount);
+        }
         final Queue<Player> players = new ArrayBlockingQueue<>(playersCount);
         while (players.size() < playersCount) {
             try (ServerSocket serverSocket = new ServerSocket(PORT, 0, InetAddress.getByName(null))) {
@@ -56,13 +88,80 @@ public class Network {
         return List.copyOf(players);
     }
 
+    /**
+     * Takes the first players waiting in the lobby of the NIO server, starting the server the first time.
+     * The server keeps accepting connections in the meantime, so players can join while the previous game is running.
+     */
+    private List<Player> registerNioPlayers(int playersCount) {
+        startNioServer();
+        final List<Player> players = new ArrayList<>(playersCount);
+        try {
+            while (players.size() < playersCount) {
+                players.add(lobby.take());
+            }
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for players", e);
+            Thread.currentThread().interrupt();
+            lobby.addAll(players);
+            throw new IllegalStateException(e);
+        }
+        return List.copyOf(players);
+    }
+
+    private synchronized void startNioServer() {
+        if (nioServer != null) {
+            return;
+        }
+        try {
+            nioServer = new NioServer(new InetSocketAddress(InetAddress.getByName(null), PORT), this::join).start();
+        } catch (IOException e) {
+            log.error("Error while starting the NIO server.", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Asks the name of a client of the NIO server without waiting for it, and puts the player in the lobby once it
+     * has replied, or drops the connection if it does not in time.
+     */
+    private void join(NioConnection connection) {
+        connection.queryAsync(NAME_QUERY)
+                .orTimeout(HANDSHAKE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((id, error) -> {
+                    if (error != null) {
+                        log.info("Client left before telling their name: {}", error.toString());
+                        connection.closeNow();
+                        return;
+                    }
+                    log.info("{} joined the game.", id);
+                    // no thread to send the events: the connection queues them and disconnects the client if it lags
+                    connection.notify(infoEvent("Welcome " + id));
+                    lobby.offer(new HumanPlayer(id, connection));
+                });
+    }
+
     public Socket joinGame() throws IOException {
         return new Socket(InetAddress.getByName(HOST), PORT);
     }
 
     private static Player createRemotePlayer(Socket socket) {
-        final UserInterface ui = new TcpInterface(socket);
-        final String id = ui.query("Enter your name");
+        if (!BINARY_PROTOCOL) {
+            final UserInterface transport = new TcpInterface(socket);
+            return createRemotePlayer(transport, transport.query(NAME_QUERY));
+        }
+        try {
+            // the name is asked along with the offer of the protocols, so that older clients do not have to wait
+            final Pair<RemoteInterface, String> session = BinaryTcpInterface.negotiate(socket, NAME_QUERY);
+            return createRemotePlayer(session.getLeft(), session.getRight());
+        } catch (IOException e) {
+            log.error("Error while negotiating the protocol.", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Player createRemotePlayer(UserInterface transport, String id) {
+        // events are sent from a thread per player, so that a slow client does not slow down the whole game
+        final UserInterface ui = new AsyncUserInterface(transport, EVENTS_QUEUE_CAPACITY, EVENTS_BACKPRESSURE);
         log.info("{} joined the game.", id);
         ui.notify(infoEvent("Welcome " + id));
         return new HumanPlayer(id, ui);
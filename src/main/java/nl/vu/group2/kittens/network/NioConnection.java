@@ -0,0 +1,293 @@
+package nl.vu.group2.kittens.network;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.model.GameEvent;
+import nl.vu.group2.kittens.ui.RemoteInterface;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client connection of a {@link NioServer}, speaking the same text protocol as the blocking
+ * {@link nl.vu.group2.kittens.ui.TcpInterface}.
+ * <p>
+ * The game threads never touch the channel: the lines they send are queued and written by the selector thread when
+ * the channel is writable, and the lines read by the selector thread are queued until a game thread asks for them (or
+ * handed to the callback of an {@link #queryAsync(String) asynchronous query}). Sending never blocks, so no thread is
+ * needed to deliver the events of a slow client: the queues are bounded instead, and a client which falls too far
+ * behind, sends too long a line or too many lines is disconnected. The events sent to a disconnected client are
+ * dropped, while its queries fail.
+ */
+@Slf4j
+public class NioConnection extends RemoteInterface {
+
+    /** Lines which can wait to be written before the client is considered too slow and disconnected. */
+    static final int MAX_PENDING_WRITES = Network.EVENTS_QUEUE_CAPACITY;
+    /** Longest line accepted from a client; replies are names and numbers. */
+    static final int MAX_LINE_LENGTH = 4096;
+    /** Lines a client can send ahead of the queries asking for them. */
+    static final int MAX_RECEIVED_LINES = 64;
+    private static final int READ_BUFFER_SIZE = 4096;
+    /** Queued in place of a line when the client disconnects, to wake up a game waiting for a reply. */
+    private static final String END_OF_STREAM = "\u0000";
+
+    private final NioServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    /** Lines received and not asked for yet, and the asynchronous query waiting for the next one: guarded by itself. */
+    private final Deque<String> receivedLines = new ArrayDeque<>();
+    private CompletableFuture<String> awaitedLine;
+    private final Queue<ByteBuffer> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingWritesCount = new AtomicInteger();
+    /** Whether the selector thread is going to write the pending lines, so that it is only woken up once for them. */
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private volatile boolean closing;
+    private volatile boolean closed;
+
+    NioConnection(NioServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+    }
+
+    /**
+     * Closes the connection once the lines sent so far have been written, e.g., the end of the game.
+     */
+    @Override
+    public void close() {
+        if (closing) {
+            return;
+        }
+        closing = true;
+        if (pendingWrites.isEmpty()) {
+            closeNow();
+        } else {
+            server.requestWrite(this); // closed by the selector thread after the last write
+        }
+    }
+
+    /**
+     * Closes the connection right away, dropping the lines not written yet.
+     */
+    synchronized void closeNow() {
+        if (closed) {
+            return;
+        }
+        closing = true;
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.error("Error while closing NIO connection", e);
+        }
+        pendingWrites.clear();
+        onLine(END_OF_STREAM);
+    }
+
+    /**
+     * Writes as much of the pending lines as the socket takes right away, then closes the connection: the server is
+     * shutting down.
+     */
+    void closeOnShutdown() {
+        try {
+            ByteBuffer buffer;
+            while ((buffer = pendingWrites.peek()) != null) {
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    break;
+                }
+                pendingWrites.poll();
+            }
+        } catch (IOException e) {
+            log.debug("Failed to write the last lines before closing", e);
+        }
+        closeNow();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Sends a query and returns its reply as soon as it is read, without waiting for it: the returned future is
+     * completed on the selector thread, so what depends on it must not block. It fails if the client disconnects.
+     */
+    public CompletableFuture<String> queryAsync(String prompt) {
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+        final String line;
+        synchronized (receivedLines) {
+            line = receivedLines.pollFirst();
+            if (line == null) {
+                awaitedLine = reply;
+            } else if (END_OF_STREAM.equals(line)) {
+                receivedLines.addFirst(END_OF_STREAM); // for whoever asks next
+            }
+        }
+        if (line != null) {
+            complete(reply, line); // the client replied ahead of the query
+        } else if (closing || !send(toLine(QUERY_MARKER + prompt))) {
+            onLine(END_OF_STREAM);
+        }
+        return reply;
+    }
+
+    @Override
+    protected void sendEvent(GameEvent event) {
+        if (closing) {
+            log.debug("Client disconnected, dropping {}", event);
+            return;
+        }
+        send(toLine(event.toString()));
+    }
+
+    @Override
+    protected void sendQuery(String prompt) {
+        final String line = toLine(QUERY_MARKER + prompt);
+        if (closing || !send(line)) {
+            handleNetworkError(null, "Failed to produce %s to the network: connection closed", line);
+        }
+    }
+
+    /**
+     * Queues a line to be written, or disconnects the client if too many lines are waiting already.
+     *
+     * @return whether the line was queued
+     */
+    private boolean send(String line) {
+        if (pendingWritesCount.incrementAndGet() > MAX_PENDING_WRITES) {
+            log.warn("{} lines waiting to be written: disconnecting the client", MAX_PENDING_WRITES);
+            closeNow();
+            return false;
+        }
+        pendingWrites.offer(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+        if (writeScheduled.compareAndSet(false, true)) {
+            server.requestWrite(this);
+        }
+        return true;
+    }
+
+    @Override
+    protected String receive(String initialPrompt) {
+        try {
+            final String line;
+            synchronized (receivedLines) {
+                while (receivedLines.isEmpty()) {
+                    receivedLines.wait();
+                }
+                line = receivedLines.pollFirst();
+                if (END_OF_STREAM.equals(line)) {
+                    receivedLines.addFirst(END_OF_STREAM); // for whoever asks next
+                }
+            }
+            if (END_OF_STREAM.equals(line)) {
+                return handleNetworkError(null, "Failed to read reply for %s from the network: connection closed", initialPrompt);
+            }
+            return line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return handleNetworkError(e, "Interrupted while waiting for reply for %s", initialPrompt);
+        }
+    }
+
+    //<editor-fold desc="selector thread">
+    void enableWrites() {
+        if (key.isValid()) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+    }
+
+    void onReadable() throws IOException {
+        readBuffer.clear();
+        final int read = channel.read(readBuffer);
+        if (read < 0) {
+            log.info("Connection closed by the client.");
+            closeNow();
+            return;
+        }
+        readBuffer.flip();
+        while (readBuffer.hasRemaining() && !closed) {
+            final byte b = readBuffer.get();
+            if (b == '\n') {
+                onLine(decodeLine(partialLine));
+                partialLine.reset();
+            } else if (partialLine.size() < MAX_LINE_LENGTH) {
+                partialLine.write(b);
+            } else {
+                log.warn("Line longer than {} bytes: disconnecting the client", MAX_LINE_LENGTH);
+                closeNow();
+            }
+        }
+    }
+
+    void onWritable() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = pendingWrites.peek()) != null) {
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                return; // the socket buffer is full: wait until the channel is writable again
+            }
+            pendingWrites.poll();
+            pendingWritesCount.decrementAndGet();
+        }
+        if (closing) {
+            closeNow();
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        writeScheduled.set(false);
+        if (!pendingWrites.isEmpty() && writeScheduled.compareAndSet(false, true)) {
+            // a line was queued after the loop above, by a sender which did not wake the selector up
+            enableWrites();
+        }
+    }
+    //</editor-fold>
+
+    private void onLine(String line) {
+        final CompletableFuture<String> reply;
+        synchronized (receivedLines) {
+            reply = awaitedLine;
+            awaitedLine = null;
+            if (reply == null) {
+                if (receivedLines.size() >= MAX_RECEIVED_LINES && !END_OF_STREAM.equals(line)) {
+                    log.warn("{} lines received and not asked for: disconnecting the client", MAX_RECEIVED_LINES);
+                } else {
+                    receivedLines.addLast(line);
+                    receivedLines.notifyAll();
+                    return;
+                }
+            }
+        }
+        if (reply == null) {
+            closeNow();
+        } else {
+            complete(reply, line);
+        }
+    }
+
+    private void complete(CompletableFuture<String> reply, String line) {
+        if (END_OF_STREAM.equals(line)) {
+            reply.completeExceptionally(new IOException("Connection closed by the client"));
+        } else {
+            reply.complete(line);
+        }
+    }
+
+    private static String decodeLine(ByteArrayOutputStream bytes) {
+        final String line = bytes.toString(StandardCharsets.UTF_8);
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+}
@@ -0,0 +1,154 @@
+package nl.vu.group2.kittens.network;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking server: a single listening channel and all the client connections are multiplexed by a
+ * {@link Selector} on one thread, so that a connection only costs a thread while a game is actually waiting for its
+ * reply.
+ * <p>
+ * Every accepted connection is handed to the given handler as a {@link NioConnection}; the handler is called on the
+ * selector thread, so it must not block: it can query the connection {@link NioConnection#queryAsync(String)
+ * asynchronously}, or hand it over to another thread.
+ */
+@Slf4j
+public class NioServer implements Closeable {
+
+    private final Selector selector;
+    private final ServerSocketChannel listener;
+    private final Consumer<NioConnection> onConnection;
+    private final Queue<NioConnection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    public NioServer(InetSocketAddress address, Consumer<NioConnection> onConnection) throws IOException {
+        this.onConnection = onConnection;
+        this.selector = Selector.open();
+        this.listener = ServerSocketChannel.open();
+        listener.bind(address);
+        listener.configureBlocking(false);
+        listener.register(selector, SelectionKey.OP_ACCEPT);
+        this.selectorThread = new Thread(this::run, "nio-selector");
+        selectorThread.setDaemon(true);
+    }
+
+    public NioServer start() {
+        log.info("Listening on {}", getPort());
+        selectorThread.start();
+        return this;
+    }
+
+    public int getPort() {
+        return listener.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            log.error("Interrupted while stopping the NIO server", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asks the selector thread to write the pending output of the connection as soon as its channel is writable. The
+     * connection only asks once for all the lines queued until the selector thread has written them.
+     */
+    void requestWrite(NioConnection connection) {
+        pendingWrites.offer(connection);
+        selector.wakeup();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                registerPendingWrites();
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException e) {
+            log.error("NIO server stopped because of an error", e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void registerPendingWrites() {
+        NioConnection connection;
+        while ((connection = pendingWrites.poll()) != null) {
+            connection.enableWrites();
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                accept();
+            } else {
+                final NioConnection connection = (NioConnection) key.attachment();
+                if (key.isReadable()) {
+                    connection.onReadable();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    connection.onWritable();
+                }
+            }
+        } catch (CancelledKeyException e) {
+            // the connection was closed by another thread meanwhile
+        } catch (IOException e) {
+            log.warn("Closing connection after I/O error", e);
+            if (key.attachment() != null) {
+                ((NioConnection) key.attachment()).closeNow();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        final SocketChannel channel = listener.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        final NioConnection connection = new NioConnection(this, channel, key);
+        key.attach(connection);
+        log.info("New connection established from {}.", channel.getRemoteAddress());
+        onConnection.accept(connection);
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() != null) {
+                ((NioConnection) key.attachment()).closeOnShutdown();
+            }
+        }
+        try {
+            listener.close();
+            selector.close();
+        } catch (IOException e) {
+            log.error("Error while closing the NIO server", e);
+        }
+    }
+}
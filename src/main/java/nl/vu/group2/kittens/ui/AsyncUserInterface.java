@@ -0,0 +1,227 @@
+package nl.vu.group2.kittens.ui;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.model.GameEvent;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorator delivering the events to the wrapped user interface from a thread of its own, so that the game does not
+ * wait for a slow client (e.g., a remote player on a bad connection) every time it broadcasts an event.
+ * <p>
+ * The events waiting to be delivered are kept in a bounded queue: what happens when it's full depends on the
+ * {@link Backpressure} policy. Queries are still executed on the caller's thread, but only once all the events
+ * notified before them have been delivered, so that the user sees them in the same order as before. The wrapped
+ * interface is {@link UserInterface#flush() flushed} from the thread delivering the events whenever it has caught up
+ * with them, so that it can batch the events of a step without a thread of its own.
+ */
+@Slf4j
+public class AsyncUserInterface implements UserInterface {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final UserInterface delegate;
+    private final int capacity;
+    private final Backpressure backpressure;
+
+    private final Object lock = new Object();
+    private final Deque<GameEvent> queue = new ArrayDeque<>();
+    private boolean delivering;
+    private boolean closed;
+    private boolean disconnected;
+    private int maxQueueDepth;
+    private long droppedEvents;
+
+    public AsyncUserInterface(UserInterface delegate, int capacity, Backpressure backpressure) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of the events queue must be positive: " + capacity);
+        }
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.backpressure = backpressure;
+        final Thread drainer = new Thread(this::drain, "events-" + THREAD_COUNTER.incrementAndGet());
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void notify(GameEvent event) {
+        synchronized (lock) {
+            while (queue.size() >= capacity && !disconnected) {
+                if (backpressure == Backpressure.DISCONNECT) {
+                    log.warn("Events queue full ({} events): disconnecting the client", queue.size());
+                    disconnect();
+                } else if (backpressure == Backpressure.DROP_OLDEST_INFO && dropOldestInfo()) {
+                    droppedEvents++;
+                } else if (!await()) {
+                    return;
+                }
+            }
+            if (disconnected) {
+                log.debug("Client disconnected, ignoring {}", event);
+                droppedEvents++;
+                return;
+            }
+            queue.addLast(event);
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public String query(String prompt) {
+        flush();
+        return delegate.query(prompt);
+    }
+
+    @Override
+    public int queryNumber(String prompt, int min, int max, Duration timeout, int defaultValue) {
+        flush();
+        return delegate.queryNumber(prompt, min, max, timeout, defaultValue);
+    }
+
+    @Override
+    public List<Integer> queryNumbers(String prompt, int max) {
+        flush();
+        return delegate.queryNumbers(prompt, max);
+    }
+
+    @Override
+    public void close() {
+        flush();
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        delegate.close();
+    }
+
+    /**
+     * Waits until all the events notified so far have been delivered (or the client got disconnected).
+     */
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            while ((delivering || !queue.isEmpty()) && !disconnected) {
+                if (!await()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    //<editor-fold desc="metrics">
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    public int getMaxQueueDepth() {
+        synchronized (lock) {
+            return maxQueueDepth;
+        }
+    }
+
+    public long getDroppedEvents() {
+        synchronized (lock) {
+            return droppedEvents;
+        }
+    }
+
+    public boolean isDisconnected() {
+        synchronized (lock) {
+            return disconnected;
+        }
+    }
+    //</editor-fold>
+
+    private void drain() {
+        while (true) {
+            final GameEvent event;
+            final boolean caughtUp;
+            synchronized (lock) {
+                while (queue.isEmpty() && !closed && !disconnected) {
+                    if (!await()) {
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                event = queue.pollFirst();
+                caughtUp = queue.isEmpty();
+                delivering = true;
+            }
+            try {
+                delegate.notify(event);
+                if (caughtUp) {
+                    delegate.flush();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to deliver {}: disconnecting the client", event, e);
+                synchronized (lock) {
+                    disconnect();
+                }
+            } finally {
+                synchronized (lock) {
+                    delivering = false;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /** Must be called holding the lock. */
+    private boolean dropOldestInfo() {
+        final Iterator<GameEvent> events = queue.iterator();
+        while (events.hasNext()) {
+            if (events.next().getType() == GameEvent.EventType.INFO) {
+                events.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Must be called holding the lock; closing the wrapped interface also unblocks a pending delivery. */
+    private void disconnect() {
+        if (disconnected) {
+            return;
+        }
+        delegate.close();
+        disconnected = true;
+        droppedEvents += queue.size();
+        queue.clear();
+        lock.notifyAll();
+    }
+
+    /** Must be called holding the lock; returns false if the thread was interrupted while waiting. */
+    private boolean await() {
+        try {
+            lock.wait();
+            return true;
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting on the events queue", e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * What to do when an event is notified while the queue is full.
+     */
+    public enum Backpressure {
+        /** Wait for the client to catch up, as if the events were delivered synchronously. */
+        BLOCK,
+        /** Drop the oldest informative event waiting in the queue, or wait if there is none. */
+        DROP_OLDEST_INFO,
+        /** Give up on the client: no more events are delivered and the following queries fail. */
+        DISCONNECT
+    }
+}
@@ -0,0 +1,44 @@
+package nl.vu.group2.kittens.ui;
+
+import lombok.NonNull;
+import lombok.Value;
+import nl.vu.group2.kittens.model.GameEvent;
+import nl.vu.group2.kittens.model.GameEvent.EventType;
+
+/**
+ * Message of the binary protocol: an event, a query or the reply to a query, paired with it by the prompt id.
+ * The text is sent as it is (newlines included), so it does not have to be escaped and the messages are not parsed
+ * back from strings; see {@link FrameCodec} for the encoding.
+ */
+@Value
+public class BinaryFrame {
+
+    @NonNull Kind kind;
+    /** Only set for events. */
+    EventType eventType;
+    /** Only set for queries and replies. */
+    int promptId;
+    @NonNull String text;
+
+    public static BinaryFrame event(GameEvent event) {
+        return new BinaryFrame(Kind.EVENT, event.getType(), 0, event.getDescription());
+    }
+
+    public static BinaryFrame query(int promptId, String prompt) {
+        return new BinaryFrame(Kind.QUERY, null, promptId, prompt);
+    }
+
+    public static BinaryFrame reply(int promptId, String reply) {
+        return new BinaryFrame(Kind.REPLY, null, promptId, reply);
+    }
+
+    public GameEvent toEvent() {
+        return new GameEvent(text, eventType);
+    }
+
+    public enum Kind {
+        EVENT,
+        QUERY,
+        REPLY
+    }
+}
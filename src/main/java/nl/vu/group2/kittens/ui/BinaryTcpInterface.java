@@ -0,0 +1,210 @@
+package nl.vu.group2.kittens.ui;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.model.GameEvent;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static nl.vu.group2.kittens.model.GameEvent.systemEvent;
+
+/**
+ * Remote user interface speaking the binary protocol (see {@link BinaryFrame}).
+ * <p>
+ * The protocol is negotiated when the client connects, in text so that older clients keep working, and without
+ * waiting for the client:
+ * <ol>
+ *     <li>the host sends the {@link #PROTOCOL_OFFER} and then the {@link #COMPRESSION_OFFER} as system events, which
+ *     older clients just show to the user, followed by the first query (e.g., the name of the player), in text;</li>
+ *     <li>an older client replies to the query; a client supporting the binary protocol replies instead with the
+ *     {@link #PROTOCOL_REQUEST} line, or asks for a {@link Compression compressed} session with
+ *     {@code PROTOCOL: BINARY+DEFLATE} (or {@code PROTOCOL: TEXT+DEFLATE} to keep the text protocol);</li>
+ *     <li>the host confirms a request with the {@link #ack(String) acknowledgement} line of the protocol used from then
+ *     on ({@code TEXT} if it does not know the one requested), and asks the first query again in that protocol.</li>
+ * </ol>
+ * Compression is offered on a line of its own, so that the clients which only know the binary protocol still recognize
+ * its offer: they skip the lines up to the acknowledgement.
+ * <p>
+ * The negotiation reads the socket one byte at a time, so that no byte following it is buffered by the wrong reader.
+ */
+@Slf4j
+public class BinaryTcpInterface extends RemoteInterface {
+
+    public static final String PROTOCOL_OFFER = "Protocols available: TEXT, BINARY";
+    public static final String COMPRESSION_OFFER = "Compression available: DEFLATE";
+    public static final String TEXT = "TEXT";
+    public static final String BINARY = "BINARY";
+    public static final String REQUEST_PREFIX = "PROTOCOL: ";
+    public static final String PROTOCOL_REQUEST = request(BINARY);
+    public static final String PROTOCOL_ACK = ack(BINARY);
+    /** Beginning of every acknowledgement line, whichever the protocol. */
+    public static final String ACK_PREFIX = ack("");
+
+    private final Socket socket;
+    private final CoalescingOutputStream output;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+    private final FrameCodec codec = new FrameCodec();
+    private int lastPromptId;
+
+    public BinaryTcpInterface(Socket socket) {
+        this(socket, false);
+    }
+
+    public BinaryTcpInterface(Socket socket, boolean compressed) {
+        this.socket = socket;
+        CoalescingOutputStream output = null;
+        DataInputStream input = null;
+        try {
+            final OutputStream socketOutput = socket.getOutputStream();
+            final InputStream socketInput = socket.getInputStream();
+            output = new CoalescingOutputStream(compressed ? Compression.compress(socketOutput) : socketOutput);
+            input = new DataInputStream(new BufferedInputStream(compressed ? Compression.decompress(socketInput) : socketInput));
+        } catch (IOException e) {
+            handleNetworkError(e, "Failed to create NetworkInterface");
+        }
+        this.output = output;
+        this.out = new DataOutputStream(output);
+        this.in = input;
+    }
+
+    /**
+     * Line sent by a client to ask for the given protocol, e.g., {@code BINARY+DEFLATE}.
+     */
+    public static String request(String protocol) {
+        return REQUEST_PREFIX + protocol;
+    }
+
+    /**
+     * Line sent by the host to confirm that the given protocol is used from now on.
+     */
+    public static String ack(String protocol) {
+        return systemEvent("Protocol: " + protocol).toString();
+    }
+
+    /**
+     * Offers the binary protocol to a client which just connected, along with the first query, and waits for the
+     * client to reply to either.
+     *
+     * @return the interface for the protocol agreed with the client, and the reply to the first query
+     */
+    public static Pair<RemoteInterface, String> negotiate(Socket socket, String firstQuery) throws IOException {
+        final OutputStream output = socket.getOutputStream();
+        writeLine(output, systemEvent(PROTOCOL_OFFER) + "\n" + systemEvent(COMPRESSION_OFFER) + "\n" +
+                toLine(QUERY_MARKER + firstQuery));
+        final String request = readLine(socket.getInputStream());
+        if (request == null) {
+            throw new EOFException("Connection closed by the client during the negotiation");
+        }
+        if (!request.startsWith(REQUEST_PREFIX)) {
+            log.info("No protocol requested by the client, going on in text");
+            return Pair.of(new TcpInterface(socket), request);
+        }
+        String protocol = request.substring(REQUEST_PREFIX.length());
+        final boolean compressed = protocol.endsWith(Compression.DEFLATE);
+        final String encoding = compressed ? protocol.substring(0, protocol.length() - Compression.DEFLATE.length()) : protocol;
+        final RemoteInterface ui;
+        if (BINARY.equals(encoding) || TEXT.equals(encoding)) {
+            writeLine(output, ack(protocol));
+            ui = BINARY.equals(encoding) ? new BinaryTcpInterface(socket, compressed) : new TcpInterface(socket, compressed);
+        } else {
+            log.warn("Unknown protocol {} requested by the client, falling back to text", protocol);
+            protocol = TEXT;
+            writeLine(output, ack(protocol));
+            ui = new TcpInterface(socket);
+        }
+        log.info("Client switched to the {} protocol", protocol);
+        return Pair.of(ui, ui.query(firstQuery));
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+            in.close();
+            socket.close();
+        } catch (IOException e) {
+            log.error("Error while closing I/O TCP connections", e);
+        }
+    }
+
+    // events are batched with the following ones, queries are sent right away since the client has to reply
+    @Override
+    protected void sendEvent(GameEvent event) {
+        send(BinaryFrame.event(event), false);
+    }
+
+    @Override
+    protected void sendQuery(String prompt) {
+        send(BinaryFrame.query(++lastPromptId, prompt), true);
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            handleNetworkError(e, "Failed to flush the events to the network");
+        }
+    }
+
+    @Override
+    protected String receive(String initialPrompt) {
+        try {
+            BinaryFrame frame = codec.read(in);
+            while (frame.getKind() != BinaryFrame.Kind.REPLY || frame.getPromptId() != lastPromptId) {
+                log.warn("Ignoring unexpected frame {} while waiting for the reply to {}", frame, lastPromptId);
+                frame = codec.read(in);
+            }
+            return frame.getText();
+        } catch (IOException e) {
+            return handleNetworkError(e, "Failed to read reply for %s from the network", initialPrompt);
+        }
+    }
+
+    /**
+     * Writes a line of text, e.g., during the negotiation of the protocol.
+     */
+    public static void writeLine(OutputStream output, String line) throws IOException {
+        output.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        output.flush();
+    }
+
+    /**
+     * Reads a line of text without reading any byte after it.
+     *
+     * @return the line without its terminator, or null if the stream ended
+     */
+    public static String readLine(InputStream input) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = input.read()) != '\n') {
+            if (b < 0) {
+                return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    private void send(BinaryFrame frame, boolean flush) {
+        try {
+            codec.write(frame, out);
+            output.endMessage();
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            handleNetworkError(e, "Failed to produce %s to the network", frame.getText());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package nl.vu.group2.kittens.ui;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Output stream batching the messages sent to a client, so that the events of a game step go out with a single write
+ * (i.e., a single system call and, usually, a single TCP segment) instead of one each.
+ * <p>
+ * Messages are buffered until {@link #flush()} is called (e.g., before waiting for the reply to a query, or once the
+ * events of a step have all been sent, see {@link UserInterface#flush()}), or until a message ends a short delay after
+ * the first buffered one, so that a steady flow of events is not held back either. Everything is written on the thread
+ * of the caller: a slow client only ever stalls the thread writing to it. The number of messages and of writes to the
+ * wrapped stream are counted, to measure the effect.
+ */
+@Slf4j
+public class CoalescingOutputStream extends OutputStream {
+
+    public static final Duration DEFAULT_FLUSH_DELAY = Duration.ofMillis(Long.getLong("kittens.flush.delay", 10L));
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    /** Buffered bytes after which the messages are written without waiting for the delay. */
+    private static final int MAX_BUFFERED_BYTES = 64 * 1024;
+
+    private final OutputStream out;
+    private final Duration flushDelay;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int count;
+    /** When the first message still in the buffer was written, by {@link System#nanoTime()}. */
+    private long firstMessageTime;
+
+    private long messages;
+    private long writes;
+    private long bytes;
+
+    public CoalescingOutputStream(OutputStream out) {
+        this(out, DEFAULT_FLUSH_DELAY);
+    }
+
+    public CoalescingOutputStream(OutputStream out, Duration flushDelay) {
+        this.out = out;
+        this.flushDelay = flushDelay;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    /**
+     * Marks the end of a message: the buffered messages are written if they have waited for the delay already.
+     */
+    public synchronized void endMessage() throws IOException {
+        messages++;
+        if (count >= MAX_BUFFERED_BYTES || System.nanoTime() - firstMessageTime >= flushDelay.toNanos()) {
+            writeBuffer();
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes all the buffered messages with a single write and flushes the wrapped stream.
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        writeBuffer();
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            log.info("Closing stream after {} messages in {} writes ({} bytes)", messages, writes, bytes);
+            out.close();
+        }
+    }
+
+    //<editor-fold desc="metrics">
+    public synchronized long getMessages() {
+        return messages;
+    }
+
+    public synchronized long getWrites() {
+        return writes;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+    //</editor-fold>
+
+    private void writeBuffer() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        out.write(buffer, 0, count);
+        writes++;
+        bytes += count;
+        count = 0;
+    }
+
+    private void ensureCapacity(int length) {
+        if (count == 0) {
+            firstMessageTime = System.nanoTime();
+        }
+        if (count + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package nl.vu.group2.kittens.ui;
+
+import nl.vu.group2.kittens.model.Card;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Deflate compression of the messages exchanged with a remote player, with a preset dictionary of the card names and
+ * of the text recurring in events and prompts: even the first messages of a session, and the short ones, find most
+ * of their words in the dictionary.
+ * <p>
+ * Both sides must use the same dictionary, so changing it is a change of the protocol.
+ */
+public final class Compression {
+
+    /** Suffix of the protocol requested by a client which wants the session to be compressed. */
+    public static final String DEFLATE = "+DEFLATE";
+    private static final int BUFFER_SIZE = 8192;
+
+    // Deflate finds matches more cheaply at the end of the dictionary, so the most frequent strings come last
+    private static final byte[] DICTIONARY = String.join("\n",
+            "<---- SCOREBOARD ---->", "<---- ********** ---->", "Invalid card selection", "Congratulations, you won!",
+            "You lost!\t", " won", "Welcome ", "Enter your name", "Choose a card:", "Select an opponent: ",
+            "The five-card effect was played, but the discard pile has no cards", "The deck has been shuffled",
+            "Select a card. The first option (0) will be considered invalid", "The top card on the deck is ",
+            " cards on the deck are ", "The target player ", " has no cards", " does not have the card ",
+            " transferred from ", " more turns", "PLAYER ", "Player has ", " cards, choose 1-", "Where do you want to reinsert it? (Range 0-", "\tExploded",
+            "\tPicked an exploding kitten!", "\tDefused the explosion!", "\thas been NOPE'd!", "\tHas been noped by ",
+            " is about to be happen. Do you want to nope? (0 - NO / 1 - YES)", "You cannot NOPE :(",
+            "\tis about to be played by ", "Your initial hand is ", String.join(";;;", cardNames()),
+            "0. PICK CARD", "Select a card to play", " Cards left in the deck! ",
+            "% chance of drawing an exploding kitten", "\tdrew a card", "\tdrawn", "\tis currently playing",
+            "ERROR: ", "INFO: ", "SYSTEM: ", "QUERY: ", ";;;").getBytes(StandardCharsets.UTF_8);
+
+    private Compression() {
+    }
+
+    /**
+     * Wraps the stream so that every flush also flushes the compressor (sync flush), i.e., whatever was written
+     * before a flush can be decompressed right away by the other side.
+     */
+    public static OutputStream compress(OutputStream out) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setDictionary(DICTIONARY);
+        return new DeflaterOutputStream(out, deflater, BUFFER_SIZE, true) {
+            // a deflater given to the stream is not released by the stream itself
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    public static InputStream decompress(InputStream in) {
+        final Inflater inflater = new Inflater(true);
+        inflater.setDictionary(DICTIONARY);
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            // the default implementation returns 1 until the end of the stream, so readers checking whether they can
+            // read more without blocking (e.g., InputStreamReader) would block waiting for the next message
+            @Override
+            public int available() {
+                return 0;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static String[] cardNames() {
+        final Card[] cards = Card.values();
+        final String[] names = new String[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            names[i] = cards[i].name();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,220 @@
+package nl.vu.group2.kittens.ui;
+
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.GameEvent.EventType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the {@link BinaryFrame}s of a session, as:
+ * <pre>
+ * | kind and event type (1 byte) | prompt id (varint, queries and replies) | body length (varint) | body |
+ * </pre>
+ * The text of the frame is sent as a sequence of words and separators: a card is sent as its ordinal, and every other
+ * word (e.g., the name of a player) or separator is spelled out the first time only, and referred to by its index in
+ * the words sent so far afterwards. Most of the messages of a game are made of cards, player names and a few recurring
+ * phrases, so that a frame usually takes a byte per word.
+ * <p>
+ * The dictionary of the words grows with the session, so a codec must be used for a single connection, on both sides,
+ * and every frame must be decoded in the order it was encoded. It is not thread-safe.
+ */
+public class FrameCodec {
+
+    private static final BinaryFrame.Kind[] KINDS = BinaryFrame.Kind.values();
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final Card[] CARDS = Card.values();
+    private static final Map<String, Card> CARDS_BY_NAME = new HashMap<>();
+    /** Upper bound to the length of a body, so that a corrupted frame does not allocate huge buffers. */
+    private static final int MAX_BODY_LENGTH = 1 << 20;
+    /** Upper bound to the words remembered, so that a client sending random words does not use up the memory. */
+    private static final int MAX_WORDS = 1 << 14;
+
+    //<editor-fold desc="tokens">
+    private static final int SPACE = 0;
+    private static final int LITERAL = 1;
+    private static final int FIRST_CARD = 2;
+    private static final int FIRST_WORD = FIRST_CARD + CARDS.length;
+    /** Followed by the index of the word as a varint, for the words which do not fit in the token itself. */
+    private static final int FAR_WORD = 0xFF;
+    private static final int NEAR_WORDS = FAR_WORD - FIRST_WORD;
+    //</editor-fold>
+
+    static {
+        for (Card card : CARDS) {
+            CARDS_BY_NAME.put(card.name(), card);
+        }
+    }
+
+    private final Map<String, Integer> sentWords = new HashMap<>();
+    private final List<String> receivedWords = new ArrayList<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    public void write(BinaryFrame frame, DataOutputStream out) throws IOException {
+        body.reset();
+        final String text = frame.getText();
+        int start = 0;
+        while (start < text.length()) {
+            final int end = tokenEnd(text, start);
+            writeToken(text.substring(start, end));
+            start = end;
+        }
+        final EventType eventType = frame.getEventType();
+        out.writeByte(frame.getKind().ordinal() << 2 | (eventType == null ? 0 : eventType.ordinal()));
+        if (frame.getKind() != BinaryFrame.Kind.EVENT) {
+            writeVarint(out, frame.getPromptId());
+        }
+        writeVarint(out, body.size());
+        body.writeTo(out);
+    }
+
+    /**
+     * Reads the next frame, blocking until it is complete.
+     *
+     * @throws java.io.EOFException if the stream ends before the frame
+     */
+    public BinaryFrame read(DataInputStream in) throws IOException {
+        final int header = in.readUnsignedByte();
+        final BinaryFrame.Kind kind = KINDS[checkIndex(header >>> 2, KINDS.length)];
+        final EventType eventType = kind == BinaryFrame.Kind.EVENT ? EVENT_TYPES[checkIndex(header & 3, EVENT_TYPES.length)] : null;
+        final int promptId = kind == BinaryFrame.Kind.EVENT ? 0 : readVarint(in);
+        final int length = checkIndex(readVarint(in), MAX_BODY_LENGTH);
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        final StringBuilder text = new StringBuilder();
+        int position = 0;
+        while (position < length) {
+            position = readToken(bytes, position, text);
+        }
+        return new BinaryFrame(kind, eventType, promptId, text.toString());
+    }
+
+    //<editor-fold desc="helper methods">
+    private void writeToken(String token) throws IOException {
+        if (" ".equals(token)) {
+            body.write(SPACE);
+            return;
+        }
+        final Card card = CARDS_BY_NAME.get(token);
+        if (card != null) {
+            body.write(FIRST_CARD + card.ordinal());
+            return;
+        }
+        final Integer index = sentWords.get(token);
+        if (index == null) {
+            final byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+            body.write(LITERAL);
+            writeVarint(body, bytes.length);
+            body.write(bytes, 0, bytes.length);
+            if (sentWords.size() < MAX_WORDS) {
+                sentWords.put(token, sentWords.size());
+            }
+        } else if (index < NEAR_WORDS) {
+            body.write(FIRST_WORD + index);
+        } else {
+            body.write(FAR_WORD);
+            writeVarint(body, index);
+        }
+    }
+
+    /**
+     * Appends the token at the given position of the body to the text.
+     *
+     * @return the position of the next token
+     */
+    private int readToken(byte[] bytes, int position, StringBuilder text) throws IOException {
+        final int token = bytes[position++] & 0xFF;
+        if (token == SPACE) {
+            text.append(' ');
+        } else if (token == LITERAL) {
+            final int[] length = new int[1];
+            position = readVarint(bytes, position, length);
+            checkIndex(length[0], bytes.length - position + 1);
+            final String word = new String(bytes, position, length[0], StandardCharsets.UTF_8);
+            position += length[0];
+            if (receivedWords.size() < MAX_WORDS) {
+                receivedWords.add(word);
+            }
+            text.append(word);
+        } else if (token < FIRST_WORD) {
+            text.append(CARDS[token - FIRST_CARD].name());
+        } else if (token < FAR_WORD) {
+            text.append(receivedWords.get(checkIndex(token - FIRST_WORD, receivedWords.size())));
+        } else {
+            final int[] index = new int[1];
+            position = readVarint(bytes, position, index);
+            text.append(receivedWords.get(checkIndex(index[0], receivedWords.size())));
+        }
+        return position;
+    }
+
+    /**
+     * Returns the end of the word, or of the run of separators, starting at the given index.
+     */
+    private static int tokenEnd(String text, int start) {
+        final boolean word = isWordChar(text.charAt(start));
+        int end = start + 1;
+        while (end < text.length() && isWordChar(text.charAt(end)) == word) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || Character.isSurrogate(c);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted frame: varint too long");
+    }
+
+    /**
+     * Reads a varint from the given position of the bytes into the given holder.
+     *
+     * @return the position after the varint
+     */
+    private static int readVarint(byte[] bytes, int position, int[] value) throws IOException {
+        value[0] = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            checkIndex(position, bytes.length);
+            final int b = bytes[position++] & 0xFF;
+            value[0] |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return position;
+            }
+        }
+        throw new IOException("Corrupted frame: varint too long");
+    }
+
+    private static int checkIndex(int value, int bound) throws IOException {
+        if (value < 0 || value >= bound) {
+            throw new IOException(String.format("Corrupted frame: %d out of bounds (%d)", value, bound));
+        }
+        return value;
+    }
+    //</editor-fold>
+}
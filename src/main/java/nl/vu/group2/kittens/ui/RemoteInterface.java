@@ -0,0 +1,119 @@
+package nl.vu.group2.kittens.ui;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.vu.group2.kittens.model.GameEvent;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * User interface of a player connected over the network: the replies to the queries are parsed and validated here,
+ * while subclasses only encode the messages for their protocol and transport.
+ * <p>
+ * In the line-based text protocol every event and every query is a line, queries are marked by {@link #QUERY_MARKER}
+ * and the replies are lines as well.
+ */
+@Slf4j
+public abstract class RemoteInterface implements UserInterface {
+
+    public static final String QUERY_MARKER = "QUERY: ";
+    public static final String NEWLINE_REPLACEMENT = ";;;";
+
+    @Override
+    public void notify(GameEvent event) {
+        sendEvent(event);
+    }
+
+    @Override
+    public String query(String prompt) {
+        sendQuery(prompt);
+        return receive(prompt);
+    }
+
+    // NOTE: Timeout is ignored over the network
+    @Override
+    public int queryNumber(String prompt, int min, int max, Duration timeout, int defaultValue) {
+        int value = min - 1;
+        while (value < min || value > max) {
+            final String result = query(prompt);
+            Integer parsedNumber = toNumber(result);
+            if (parsedNumber != null) {
+                value = parsedNumber;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public List<Integer> queryNumbers(String prompt, int nCards) {
+        Collection<Integer> values = Set.of();
+        while (values.isEmpty()) {
+            final String result = query(prompt);
+            Set<Integer> numbers = Arrays.stream(result.split(","))
+                                         .map(String::trim)
+                                         .map(RemoteInterface::toNumber)
+                                         .collect(Collectors.toSet());
+            boolean hasOnlyValidNumbers = numbers.stream().noneMatch(isInvalidNumber(nCards));
+            if (hasOnlyValidNumbers) {
+                values = numbers;
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    protected abstract void sendEvent(GameEvent event);
+
+    protected abstract void sendQuery(String prompt);
+
+    /**
+     * Waits for the reply of the client to the last query.
+     *
+     * @param initialPrompt the prompt of the query, for error messages
+     */
+    protected abstract String receive(String initialPrompt);
+
+    /**
+     * Encodes a message as a line of the text protocol (without the line terminator).
+     */
+    protected static String toLine(String text) {
+        return text.replace("\n", NEWLINE_REPLACEMENT);
+    }
+
+    private static Integer toNumber(String str) {
+        if (StringUtils.isNumeric(str)) {
+            return Integer.parseInt(str);
+        }
+        return null;
+    }
+
+    private Predicate<Integer> isInvalidNumber(int max) {
+        return n -> n == null || n < 0 || n > max;
+    }
+
+    // <editor-fold desc="helper methods">
+    // The type parameter is here only to make the compiler happy: we know that the method will throw an exception and
+    // that this will never return anything, but the `receive` method doesn't know...
+    protected <T> T handleNetworkError(Exception e, String errorMessage, String... args) {
+        final String formattedMessage = String.format(errorMessage, (Object[]) args);
+        log.error(formattedMessage, e);
+        throw new NetworkException(formattedMessage);
+    }
+    // </editor-fold>
+
+    /**
+     * Just to have a dedicated type/wrapper for networking exceptions.
+     */
+    protected static class NetworkException extends RuntimeException {
+
+        public NetworkException(String errorMessage) {
+            super(errorMessage);
+        }
+    }
+}
@@ -36,5 +36,11 @@ public interface UserInterface {
      */
     List<Integer> queryNumbers(String prompt, int max);
 
+    /**
+     * Delivers the events notified so far right away, for the interfaces holding them back to batch them.
+     */
+    default void flush() {
+    }
+
     void close();
 }
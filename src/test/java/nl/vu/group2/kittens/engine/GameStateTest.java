@@ -0,0 +1,76 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.effect.ComboEffect;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests on the read-only views returned by {@link GameState}.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class GameStateTest {
+
+    private Player playerA;
+    private Player playerB;
+    private Player playerC;
+    private GameState state;
+
+    @BeforeEach
+    void init() {
+        playerA = mock(Player.class);
+        playerB = mock(Player.class);
+        playerC = mock(Player.class);
+        final Deck deck = Deck.of(List.of(Card.SKIP, Card.EXPLODING_KITTEN, Card.SKIP, Card.SKIP));
+        state = new GameState(List.of(playerA, playerB, playerC), deck);
+    }
+
+    @Test
+    void deckViewReflectsChanges() {
+        assertSame(state.getDeck(), state.getDeck());
+        assertEquals(4, state.getDeck().size());
+        assertEquals(0.25, state.getDeck().explodingOdds());
+        state.drawCard();
+        assertEquals(3, state.getDeck().size());
+        assertFalse(state.getDeck() instanceof Deck);
+    }
+
+    @Test
+    void activePlayersViewReflectsEliminations() {
+        assertEquals(3, state.getActivePlayersCount());
+        assertEquals(List.of(playerB, playerC), state.getActiveOpponents());
+        state.removeFromGame(playerC);
+        assertEquals(2, state.getActivePlayersCount());
+        assertEquals(2, state.getActivePlayers().size());
+        assertFalse(state.getActivePlayers().contains(playerC));
+        assertEquals(List.of(playerB), state.getActiveOpponents());
+        assertEquals(List.of(playerB, playerC), state.getOpponents());
+    }
+
+    @Test
+    void viewsCannotBeModified() {
+        assertThrows(UnsupportedOperationException.class, () -> state.getPlayers().remove(playerA));
+        assertThrows(UnsupportedOperationException.class, () -> state.getActivePlayers().remove(playerA));
+        assertThrows(UnsupportedOperationException.class, () -> state.getOpponents().clear());
+        assertThrows(UnsupportedOperationException.class, () -> state.getEffectHistory().clear());
+    }
+
+    @Test
+    void effectHistoryStartsFromTheMostRecentEffect() {
+        final ComboEffect first = ignoredState -> { /* NO-OP */ };
+        final ComboEffect second = ignoredState -> { /* NO-OP */ };
+        state.addEffectToHistory(first);
+        state.addEffectToHistory(second);
+        assertEquals(List.of(second, first), List.copyOf(state.getEffectHistory()));
+    }
+}
@@ -0,0 +1,114 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.ui.RemoteInterface;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static nl.vu.group2.kittens.model.GameEvent.systemEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link LobbyServer}s, with scripted clients always drawing a card.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class LobbyServerTest {
+
+    @Test
+    void playsManyGamesAtOnce() throws Exception {
+        try (LobbyServer server = new LobbyServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2).start()) {
+            final List<CompletableFuture<Boolean>> clients = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                final String name = "player " + i;
+                clients.add(CompletableFuture.supplyAsync(() -> playUntilTheEnd(server.getPort(), name)));
+            }
+            for (CompletableFuture<Boolean> client : clients) {
+                assertTrue(client.get(60, TimeUnit.SECONDS));
+            }
+            assertEquals(3, server.getGamesPlayed());
+            assertEquals(0, server.getWaitingPlayers());
+        }
+    }
+
+    @Test
+    void dropsPlayersWhoLeaveTheLobby() throws Exception {
+        try (LobbyServer server = new LobbyServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2).start()) {
+            try (Socket leaving = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+                new PrintWriter(leaving.getOutputStream(), true).println("leaving player");
+                awaitWaitingPlayers(server, 1);
+            }
+            awaitWaitingPlayers(server, 0);
+            final CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> playUntilTheEnd(server.getPort(), "player 1"));
+            final CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> playUntilTheEnd(server.getPort(), "player 2"));
+            assertTrue(first.get(60, TimeUnit.SECONDS));
+            assertTrue(second.get(60, TimeUnit.SECONDS));
+            assertEquals(1, server.getGamesPlayed());
+        }
+    }
+
+    @Test
+    void closesTheConnectionsOfWaitingPlayers() throws Exception {
+        final LobbyServer server = new LobbyServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2).start();
+        try (Socket waiting = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            new PrintWriter(waiting.getOutputStream(), true).println("waiting player");
+            awaitWaitingPlayers(server, 1);
+            server.close();
+            final BufferedReader in = new BufferedReader(new InputStreamReader(waiting.getInputStream(), StandardCharsets.UTF_8));
+            String last = null;
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                last = line;
+            }
+            assertEquals(systemEvent("The lobby is closing").toString(), last);
+        }
+    }
+
+    private static void awaitWaitingPlayers(LobbyServer server, int players) throws InterruptedException {
+        while (server.getWaitingPlayers() != players) {
+            Thread.sleep(5L);
+        }
+    }
+
+    /**
+     * Returns whether the client got to the end of a game.
+     */
+    private static boolean playUntilTheEnd(int port, String name) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            final PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals(RemoteGame.GAME_ENDED_MESSAGE)) {
+                    return true;
+                }
+                if (line.startsWith(RemoteInterface.QUERY_MARKER)) {
+                    out.println(reply(line, name));
+                }
+            }
+            return false;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String reply(String query, String name) {
+        if (query.contains("Enter your name")) {
+            return name;
+        }
+        // pick a card (i.e., play no card), do not NOPE and reinsert exploding kittens on top of the deck
+        if (query.contains("PICK CARD") || query.contains("NOPE") || query.contains("reinsert")) {
+            return "0";
+        }
+        return "1";
+    }
+}
@@ -0,0 +1,64 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.player.SearchAiPlayer;
+import nl.vu.group2.kittens.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SimulationRunner}.
+ * If you're a reviewer, please ignore this class.
+ */
+class SimulationRunnerTest {
+
+    private static final long SEED = 42L;
+    private static final int GAMES = 200;
+
+    @Test
+    void everyGameHasExactlyOneWinner() {
+        final SimulationReport report = new SimulationRunner(4, SEED).run(GAMES);
+        assertEquals(GAMES, report.getGamesCount());
+        assertEquals(GAMES, report.getWins().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(4, report.getAveragePlacements().size());
+    }
+
+    @Test
+    void sameSeedSameResults() {
+        final SimulationReport first = new SimulationRunner(3, SEED).run(GAMES);
+        final SimulationReport second = new SimulationRunner(3, SEED).run(GAMES);
+        assertEquals(first.getWins(), second.getWins());
+        assertEquals(first.getAveragePlacements(), second.getAveragePlacements());
+    }
+
+    @Test
+    void searchPlayerBeatsRandomPlayers() {
+        final SimulationReport report = new SimulationRunner(2, SEED)
+                .challenger((id, random) -> new SearchAiPlayer(id, random, Duration.ZERO, 300))
+                .run(20);
+        assertTrue(report.getWinRate("AI 1") > 0.5, report::toString);
+    }
+
+    @Test
+    void customDeck() {
+        final Map<Card, Integer> deck = Map.of(
+                Card.EXPLODING_KITTEN, 5,
+                Card.DEFUSE, 5,
+                Card.NOPE, 5,
+                Card.TACOCAT, 500
+        );
+        final SimulationReport report = new SimulationRunner(2, SEED, deck).run(10);
+        assertEquals(10, report.getWins().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void invalidCustomDeck() {
+        final Map<Card, Integer> deck = Map.of(Card.EXPLODING_KITTEN, 5, Card.DEFUSE, 5);
+        assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(2, SEED, deck));
+    }
+}
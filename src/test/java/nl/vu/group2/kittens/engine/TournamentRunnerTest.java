@@ -0,0 +1,39 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.score.Leaderboard;
+import nl.vu.group2.kittens.engine.score.PlayerStats;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link TournamentRunner}.
+ * If you're a reviewer, please ignore this class.
+ */
+class TournamentRunnerTest {
+
+    private static final long SEED = 7L;
+    private static final int GAMES = 1_000;
+
+    @Test
+    void parallelRunMatchesSequentialRun() {
+        final SimulationRunner simulation = new SimulationRunner(4, SEED);
+        final SimulationReport sequential = simulation.run(GAMES);
+        final SimulationReport parallel = new TournamentRunner(simulation, 4).run(GAMES);
+        assertEquals(GAMES, parallel.getGamesCount());
+        assertEquals(sequential.getWins(), parallel.getWins());
+        assertEquals(sequential.getAveragePlacements(), parallel.getAveragePlacements());
+    }
+
+    @Test
+    void leaderboardMatchesTheReport() {
+        final Leaderboard leaderboard = new Leaderboard();
+        final SimulationReport report = new TournamentRunner(new SimulationRunner(4, SEED).reportTo(leaderboard), 4)
+                .run(GAMES);
+        assertEquals(GAMES, leaderboard.getGamesCount());
+        for (PlayerStats stats : leaderboard.getTop(4)) {
+            assertEquals(report.getWins().get(stats.getPlayerName()), stats.getWins());
+            assertEquals(report.getAveragePlacements().get(stats.getPlayerName()), stats.getAveragePlacement(), 1e-9);
+        }
+    }
+}
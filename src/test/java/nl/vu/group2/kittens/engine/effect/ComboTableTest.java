@@ -0,0 +1,117 @@
+package nl.vu.group2.kittens.engine.effect;
+
+import nl.vu.group2.kittens.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link ComboTable}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class ComboTableTest {
+
+    @Test
+    void everyCombinationHasTheEffectOfTheRules() {
+        for (List<Card> cards : combinations(ComboTable.MAX_CARDS + 1)) {
+            assertEquals(expectedEffect(cards), ComboTable.effectOf(cards).map(Object::toString), cards::toString);
+        }
+    }
+
+    @Test
+    void effectsAreShared() {
+        assertSame(new CardCombo(List.of(Card.ATTACK)).getEffect().orElseThrow(),
+                new CardCombo(List.of(Card.ATTACK)).getEffect().orElseThrow());
+        assertSame(new CardCombo(List.of(Card.TACOCAT, Card.TACOCAT)).getEffect().orElseThrow(),
+                new CardCombo(List.of(Card.NOPE, Card.NOPE)).getEffect().orElseThrow());
+    }
+
+    @Test
+    void legalCombosAreAllTheValidCombinationsOfTheHand() {
+        final List<Card> hand = List.of(Card.ATTACK, Card.ATTACK, Card.TACOCAT, Card.TACOCAT, Card.TACOCAT, Card.NOPE,
+                Card.DEFUSE, Card.BEARD_CAT, Card.SKIP);
+        final List<CardCombo> combos = CardCombo.legalCombos(hand);
+        final Set<List<Card>> expected = new HashSet<>();
+        for (List<Card> cards : combinations(ComboTable.MAX_CARDS)) {
+            if (isPartOf(cards, hand) && expectedEffect(cards).isPresent()) {
+                cards.sort(null);
+                expected.add(cards);
+            }
+        }
+        final Set<List<Card>> actual = new HashSet<>();
+        for (CardCombo combo : combos) {
+            assertTrue(combo.getEffect().isPresent(), combo::toString);
+            final List<Card> cards = new ArrayList<>(combo.getCards());
+            cards.sort(null);
+            actual.add(cards);
+        }
+        assertEquals(combos.size(), actual.size());
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Returns the name of the effect of the given cards, as the rules spell it out.
+     */
+    private static Optional<String> expectedEffect(List<Card> cards) {
+        final long distinct = cards.stream().distinct().count();
+        switch (cards.size()) {
+            case 1:
+                switch (cards.get(0)) {
+                    case ATTACK:
+                        return Optional.of("AttackEffect()");
+                    case FAVOR:
+                        return Optional.of("FavorEffect()");
+                    case SEE_THE_FUTURE:
+                        return Optional.of("SeeTheFutureEffect()");
+                    case SKIP:
+                        return Optional.of("SkipEffect()");
+                    case SHUFFLE:
+                        return Optional.of("ShuffleEffect()");
+                    default:
+                        return Optional.empty();
+                }
+            case 2:
+                return distinct == 1 ? Optional.of("TwoCardsEffect()") : Optional.empty();
+            case 3:
+                return distinct == 1 ? Optional.of("ThreeCardsEffect()") : Optional.empty();
+            case 5:
+                return distinct == 5 ? Optional.of("FiveCardsEffect()") : Optional.empty();
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static boolean isPartOf(List<Card> cards, List<Card> hand) {
+        final List<Card> rest = new ArrayList<>(hand);
+        return cards.stream().allMatch(rest::remove);
+    }
+
+    /**
+     * Returns every multiset of cards of up to the given size, in increasing order of the cards.
+     */
+    private static List<List<Card>> combinations(int maxSize) {
+        final List<List<Card>> combinations = new ArrayList<>();
+        combinations.add(new ArrayList<>());
+        for (int from = 0; from < combinations.size(); from++) {
+            final List<Card> cards = combinations.get(from);
+            if (cards.size() == maxSize) {
+                continue;
+            }
+            final int first = cards.isEmpty() ? 0 : cards.get(cards.size() - 1).ordinal();
+            for (int card = first; card < Card.values().length; card++) {
+                final List<Card> next = new ArrayList<>(cards);
+                next.add(Card.values()[card]);
+                combinations.add(next);
+            }
+        }
+        return combinations;
+    }
+}
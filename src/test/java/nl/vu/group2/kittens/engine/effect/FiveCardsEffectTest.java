@@ -32,7 +32,7 @@ class FiveCardsEffectTest {
         final List<Card> cards = List.of(Card.NOPE, Card.EXPLODING_KITTEN, Card.DEFUSE, Card.BEARD_CAT);
         final GameState state = new GameState(ALL_PLAYERS, Deck.of(cards));
         state.discard(PLAYER, Card.ATTACK);
-        when(PLAYER.selectCardFrom(any())).thenReturn(List.of(Card.ATTACK));
+        when(PLAYER.selectCardFromPile(any())).thenReturn(List.of(Card.ATTACK));
 
         FIVE_CARDS_EFFECT.apply(state);
         assertTrue(true);
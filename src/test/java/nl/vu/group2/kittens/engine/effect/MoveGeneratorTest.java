@@ -0,0 +1,56 @@
+package nl.vu.group2.kittens.engine.effect;
+
+import nl.vu.group2.kittens.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link MoveGenerator}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class MoveGeneratorTest {
+
+    @Test
+    void aFullHandHasEveryPlay() {
+        final List<Card> hand = new ArrayList<>();
+        for (Card card : Card.values()) {
+            hand.addAll(Collections.nCopies(4, card));
+        }
+        final MoveBuffer moves = new MoveBuffer();
+        MoveGenerator.generate(hand, moves);
+        assertEquals(MoveGenerator.MAX_MOVES - Card.values().length + 5, moves.size());
+        final Set<List<Card>> plays = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            final List<Card> cards = MoveGenerator.cardsOf(moves.get(i));
+            assertEquals(MoveGenerator.sizeOf(moves.get(i)), cards.size());
+            assertEquals(new CardCombo(cards).getEffect(), MoveGenerator.effectOf(moves.get(i)));
+            assertTrue(MoveGenerator.effectOf(moves.get(i)).isPresent(), cards::toString);
+            assertTrue(plays.add(cards), cards::toString);
+        }
+    }
+
+    @Test
+    void theBufferIsReplacedAndCanBeLimitedToFewerCards() {
+        final MoveBuffer moves = new MoveBuffer();
+        MoveGenerator.generate(List.of(Card.TACOCAT, Card.BEARD_CAT, Card.CATTERMELON, Card.HAIRY_POTATO_CAT,
+                Card.RAINBOW_RALPHING_CAT, Card.SKIP), moves);
+        // the skip, and the six ways of picking five different cards
+        assertEquals(7, moves.size());
+        final int[] counts = new int[Card.values().length];
+        counts[Card.TACOCAT.ordinal()] = 2;
+        counts[Card.NOPE.ordinal()] = 1;
+        MoveGenerator.generate(counts, 0, 3, moves);
+        assertEquals(1, moves.size());
+        assertEquals(List.of(Card.TACOCAT, Card.TACOCAT), MoveGenerator.cardsOf(moves.get(0)));
+        MoveGenerator.generate(List.of(Card.NOPE, Card.DEFUSE), moves);
+        assertTrue(moves.isEmpty());
+    }
+}
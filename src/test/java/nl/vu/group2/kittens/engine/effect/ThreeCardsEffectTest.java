@@ -4,7 +4,6 @@ import nl.vu.group2.kittens.model.Card;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
-import java.util.List;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
@@ -22,7 +21,7 @@ class ThreeCardsEffectTest extends ComboEffectTestBase {
     void simpleThreeCardsEffectScenario() {
         when(playerA.selectCardType()).thenReturn(Card.ATTACK);
         when(playerA.selectPlayer(any(Collection.class))).thenReturn(playerB);
-        when(playerB.getHand()).thenReturn(List.of(Card.ATTACK));
+        when(playerB.hasCard(Card.ATTACK)).thenReturn(true);
 
         playEffectUnderTest(playerA);
 
@@ -36,7 +35,7 @@ class ThreeCardsEffectTest extends ComboEffectTestBase {
     void opponentDoesNotHaveRequestedCardScenario() {
         when(playerA.selectCardType()).thenReturn(Card.ATTACK);
         when(playerA.selectPlayer(any(Collection.class))).thenReturn(playerB);
-        when(playerB.getHand()).thenReturn(List.of(Card.SKIP));
+        when(playerB.hasCard(Card.ATTACK)).thenReturn(false);
 
         playEffectUnderTest(playerA);
 
@@ -0,0 +1,46 @@
+package nl.vu.group2.kittens.engine.player;
+
+import nl.vu.group2.kittens.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link AiPlayer}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class AiPlayerTest {
+
+    @Test
+    void fiveCardPlaysDoNotDominate() {
+        final AiPlayer player = new AiPlayer("AI", new Random(42L), Duration.ZERO);
+        // five single plays (the action cards) and 56 ways of playing five different cards
+        List.of(Card.ATTACK, Card.FAVOR, Card.SEE_THE_FUTURE, Card.SKIP, Card.SHUFFLE, Card.TACOCAT, Card.BEARD_CAT,
+                Card.CATTERMELON).forEach(player::addCard);
+        int plays = 0;
+        int fives = 0;
+        for (int i = 0; i < 2_000; i++) {
+            final List<Card> cards = player.selectCardFrom(player.getHandView());
+            plays += cards.isEmpty() ? 0 : 1;
+            fives += cards.size() == 5 ? 1 : 0;
+        }
+        final double fivesShare = (double) fives / plays;
+        assertTrue(fivesShare > 0.4 && fivesShare < 0.6, () -> "Share of five-card plays: " + fivesShare);
+    }
+
+    @Test
+    void picksACardOfThePile() {
+        final AiPlayer player = new AiPlayer("AI", new Random(42L), Duration.ZERO);
+        final List<Card> pile = List.of(Card.DEFUSE, Card.NOPE);
+        for (int i = 0; i < 20; i++) {
+            final List<Card> picked = player.selectCardFromPile(pile);
+            assertEquals(1, picked.size());
+            assertTrue(pile.contains(picked.get(0)));
+        }
+    }
+}
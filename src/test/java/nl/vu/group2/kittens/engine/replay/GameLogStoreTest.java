@@ -0,0 +1,79 @@
+package nl.vu.group2.kittens.engine.replay;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link GameLogStore}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class GameLogStoreTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void gamesAreFoundByIdAndTurn() throws IOException {
+        try (GameLogStore store = GameLogStore.open(directory, SEGMENT_SIZE)) {
+            for (int id = 0; id < 20; id++) {
+                store.append(id, game(id + 1));
+            }
+            assertEquals(20, store.getGamesCount());
+            assertEquals(8, store.getTurnsCount(7));
+            final GameState state = store.stateAtTurn(7, 5);
+            assertEquals(5, state.getPlayers().get(0).getHandSize() + state.getPlayers().get(1).getHandSize());
+            assertEquals(23, store.stateAtTurn(7, 7).getDeck().size());
+        }
+    }
+
+    @Test
+    void storeCanBeReopened() throws IOException {
+        try (GameLogStore store = GameLogStore.open(directory, SEGMENT_SIZE)) {
+            store.append(3, game(4));
+        }
+        try (GameLogStore store = GameLogStore.open(directory, SEGMENT_SIZE)) {
+            assertEquals(4, store.getGamesCount());
+            assertTrue(store.contains(3));
+            assertFalse(store.contains(2));
+            store.append(100_000, game(2));
+            assertEquals(2, store.getTurnsCount(100_000));
+            assertEquals(6, store.replay(3).getSteps());
+            assertThrows(IllegalArgumentException.class, () -> store.append(3, game(1)));
+            assertThrows(IllegalArgumentException.class, () -> store.read(2));
+        }
+    }
+
+    /**
+     * Two players drawing in turns from a deck of thirty cards, for the given number of turns.
+     */
+    private static GameLog game(int turns) {
+        final List<Player> players = List.of(new AiPlayer("A", new Random(), Duration.ZERO),
+                new AiPlayer("B", new Random(), Duration.ZERO));
+        final GameState state = new GameState(players, Deck.of(Collections.nCopies(30, Card.TACOCAT)));
+        final GameLog log = GameLog.record(state);
+        for (int turn = 1; turn < turns; turn++) {
+            state.drawCard();
+            state.nextTurn();
+        }
+        return log;
+    }
+}
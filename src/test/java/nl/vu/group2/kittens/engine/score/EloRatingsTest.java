@@ -0,0 +1,109 @@
+package nl.vu.group2.kittens.engine.score;
+
+import nl.vu.group2.kittens.engine.Result;
+import nl.vu.group2.kittens.engine.SimulationRunner;
+import nl.vu.group2.kittens.engine.replay.GameLogStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link EloRatings}.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class EloRatingsTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void winnerTakesPointsFromTheOthers() {
+        final EloRatings ratings = new EloRatings();
+        ratings.record(game("Alice", "Bob"));
+        assertEquals(new Rating("Alice", 1516.0, 1L), ratings.getRating("Alice").orElseThrow());
+        assertEquals(new Rating("Bob", 1484.0, 1L), ratings.getRating("Bob").orElseThrow());
+        ratings.record(game("Carol", "Alice", "Bob", "Dave"));
+        final double sum = ratings.getRanking().stream().mapToDouble(Rating::getRating).sum();
+        assertEquals(4 * EloRatings.INITIAL_RATING, sum, DELTA);
+        assertEquals(EloRatings.INITIAL_RATING + 16.0, ratings.getRating("Carol").orElseThrow().getRating(), DELTA);
+        assertTrue(ratings.getRating("Dave").orElseThrow().getRating() < EloRatings.INITIAL_RATING);
+    }
+
+    @Test
+    void savesAndLoadsTheRatings(@TempDir Path directory) throws IOException {
+        final EloRatings ratings = new EloRatings();
+        ratings.record(game("Alice", "Bob", "Carol"));
+        ratings.save(directory.resolve("ratings.json"));
+        assertEquals(ratings.getRanking(), EloRatings.load(directory.resolve("ratings.json")).getRanking());
+        assertTrue(EloRatings.load(directory.resolve("missing.json")).getRanking().isEmpty());
+    }
+
+    @Test
+    void failsToLoadCorruptedRatings(@TempDir Path directory) throws IOException {
+        final Path path = directory.resolve("ratings.json");
+        Files.write(path, "[{\"playerName\":".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> EloRatings.load(path));
+    }
+
+    @Test
+    void recomputesTheRecordedGames(@TempDir Path directory) throws IOException {
+        final EloRatings incremental = new EloRatings();
+        try (GameLogStore store = GameLogStore.open(directory, 1024 * 1024)) {
+            // a single thread, so that the games are recorded in the order of their ids
+            new SimulationRunner(4, 11L).recordTo(store).reportTo(incremental).run(50);
+            final EloRatings recomputed = EloRatings.recompute(store, 1);
+            assertEquals(incremental.getRanking().size(), recomputed.getRanking().size());
+            for (Rating rating : incremental.getRanking()) {
+                final Rating other = recomputed.getRating(rating.getPlayerName()).orElseThrow();
+                assertEquals(rating.getRating(), other.getRating(), DELTA);
+                assertEquals(50L, other.getGames());
+            }
+        }
+    }
+
+    @Test
+    void recomputesStoredGamesInParallelPeriods() {
+        final Random random = new Random(3L);
+        final List<List<Result>> games = new ArrayList<>();
+        final String[] players = {"Alice", "Bob", "Carol", "Dave", "Eve"};
+        for (int i = 0; i < 10_000; i++) {
+            final List<String> shuffled = new ArrayList<>(List.of(players));
+            Collections.shuffle(shuffled, random);
+            games.add(game(shuffled.subList(0, 2 + random.nextInt(3)).toArray(new String[0])));
+        }
+        final EloRatings incremental = new EloRatings();
+        games.forEach(incremental::record);
+        final EloRatings singleGamePeriods = EloRatings.recompute(games, 1);
+        for (Rating rating : incremental.getRanking()) {
+            assertEquals(rating.getRating(),
+                    singleGamePeriods.getRating(rating.getPlayerName()).orElseThrow().getRating(), DELTA);
+        }
+        final EloRatings longPeriods = EloRatings.recompute(games, 1_000);
+        final double sum = longPeriods.getRanking().stream().mapToDouble(Rating::getRating).sum();
+        assertEquals(players.length * EloRatings.INITIAL_RATING, sum, 1e-6);
+        final long gamesCount = longPeriods.getRanking().stream().mapToLong(Rating::getGames).sum();
+        assertEquals(incremental.getRanking().stream().mapToLong(Rating::getGames).sum(), gamesCount);
+    }
+
+    /**
+     * Results of a game in which the given players placed in the given order.
+     */
+    private static List<Result> game(String... players) {
+        final List<Result> results = new ArrayList<>();
+        for (int i = players.length - 1; i >= 0; i--) {
+            results.add(new Result(players[i], i + 1));
+        }
+        return results;
+    }
+}
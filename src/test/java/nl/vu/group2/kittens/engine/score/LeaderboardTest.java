@@ -0,0 +1,70 @@
+package nl.vu.group2.kittens.engine.score;
+
+import nl.vu.group2.kittens.engine.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests on {@link Leaderboard}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class LeaderboardTest {
+
+    @Test
+    void ranksThePlayersByWins() {
+        final Leaderboard leaderboard = new Leaderboard();
+        leaderboard.record(game("Bob", "Alice", "Carol"));
+        leaderboard.record(game("Alice", "Bob"));
+        leaderboard.record(game("Alice", "Dave"));
+        assertEquals(List.of("Alice", "Bob"), names(leaderboard.getTop(2)));
+        assertEquals(List.of("Alice", "Bob", "Carol", "Dave"), names(leaderboard.getTop(10)));
+        assertEquals(new PlayerStats("Alice", 3L, 2L, 4L), leaderboard.getStats("Alice").orElseThrow());
+        assertEquals(3L, leaderboard.getGamesCount());
+    }
+
+    @Test
+    void countsEveryResultOfConcurrentGames() throws Exception {
+        final Leaderboard leaderboard = new Leaderboard();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> games = new ArrayList<>();
+            for (int i = 0; i < 4_000; i++) {
+                final boolean aliceWins = i % 4 != 0;
+                games.add(executor.submit(() -> {
+                    leaderboard.record(aliceWins ? game("Alice", "Bob") : game("Bob", "Alice"));
+                    assertEquals(2, leaderboard.getTop(2).size()); // nobody is missed while the others move
+                }));
+            }
+            for (Future<?> game : games) {
+                game.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(List.of(new PlayerStats("Alice", 4_000L, 3_000L, 5_000L),
+                new PlayerStats("Bob", 4_000L, 1_000L, 7_000L)), leaderboard.getTop(3));
+    }
+
+    /**
+     * Results of a game in which the given players placed in the given order.
+     */
+    private static List<Result> game(String... players) {
+        final List<Result> results = new ArrayList<>();
+        for (int i = players.length - 1; i >= 0; i--) {
+            results.add(new Result(players[i], i + 1));
+        }
+        return results;
+    }
+
+    private static List<String> names(List<PlayerStats> top) {
+        return top.stream().map(PlayerStats::getPlayerName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,96 @@
+package nl.vu.group2.kittens.engine.score;
+
+import nl.vu.group2.kittens.engine.Result;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link ScoreStore}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class ScoreStoreTest {
+
+    @Test
+    void keepsTheAggregatesAcrossReopenings(@TempDir Path directory) throws IOException {
+        try (ScoreStore store = ScoreStore.open(directory)) {
+            store.append(game("Alice", "Bob", "Carol"));
+            store.append(game("Bob", "Alice"));
+        }
+        try (ScoreStore store = ScoreStore.open(directory)) {
+            store.append(game("Alice", "Dave"));
+            assertEquals(3L, store.getGamesCount());
+            assertEquals(new PlayerStats("Alice", 3L, 2L, 4L), store.getStats("Alice").orElseThrow());
+            assertEquals(1.5, store.getStats("Bob").orElseThrow().getAveragePlacement());
+            assertTrue(store.getStats("Eve").isEmpty());
+            assertEquals(List.of("Alice", "Bob", "Dave", "Carol"), names(store.getStandings()));
+        }
+    }
+
+    @Test
+    void compactsTheLogsIntoACheckpoint(@TempDir Path directory) throws Exception {
+        try (ScoreStore store = ScoreStore.open(directory, 64L)) {
+            for (int i = 0; i < 10; i++) {
+                store.append(game("Alice", "Bob", "Carol", "Dave"));
+            }
+            store.compact().get();
+            store.append(game("Dave", "Alice"));
+        }
+        assertTrue(Files.exists(directory.resolve("scores.ckp")));
+        assertFalse(Files.exists(directory.resolve("scores-00000.log")));
+        try (ScoreStore store = ScoreStore.open(directory, 64L)) {
+            assertEquals(11L, store.getGamesCount());
+            assertEquals(new PlayerStats("Alice", 11L, 10L, 12L), store.getStats("Alice").orElseThrow());
+            assertEquals(new PlayerStats("Dave", 11L, 1L, 41L), store.getStats("Dave").orElseThrow());
+        }
+    }
+
+    @Test
+    void dropsARecordCutShortByACrash(@TempDir Path directory) throws IOException {
+        try (ScoreStore store = ScoreStore.open(directory)) {
+            store.append(game("Alice", "Bob"));
+        }
+        final Path log = directory.resolve("scores-00000.log");
+        final long size = Files.size(log);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{2, 2, 0, 0})); // a game with two results, cut short
+        }
+        try (ScoreStore store = ScoreStore.open(directory)) {
+            assertEquals(1L, store.getGamesCount());
+            assertEquals(size, Files.size(log));
+            store.append(game("Bob", "Alice"));
+        }
+        try (ScoreStore store = ScoreStore.open(directory)) {
+            assertEquals(2L, store.getGamesCount());
+            assertEquals(new PlayerStats("Bob", 2L, 1L, 3L), store.getStats("Bob").orElseThrow());
+        }
+    }
+
+    /**
+     * Results of a game in which the given players placed in the given order.
+     */
+    private static List<Result> game(String... players) {
+        final List<Result> results = new ArrayList<>();
+        for (int i = players.length - 1; i >= 0; i--) {
+            results.add(new Result(players[i], i + 1));
+        }
+        return results;
+    }
+
+    private static List<String> names(List<PlayerStats> standings) {
+        return standings.stream().map(PlayerStats::getPlayerName).collect(Collectors.toList());
+    }
+}
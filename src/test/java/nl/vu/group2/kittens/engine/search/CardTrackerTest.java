@@ -0,0 +1,147 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link CardTracker}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class CardTrackerTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void seeingTheFutureMakesTheTopCardsCertainUntilTheNextShuffle() {
+        final GameState state = game(List.of(Card.TACOCAT, Card.EXPLODING_KITTEN, Card.NOPE, Card.SKIP, Card.SKIP));
+        final Player observer = state.getPlayers().get(0);
+        final CardTracker tracker = CardTracker.of(state, observer);
+        final CardTracker opponent = CardTracker.of(state, state.getPlayers().get(1));
+        assertEquals(0.2, tracker.explodingOdds(), DELTA);
+        state.peekDeck(observer, 3);
+        assertEquals(0.0, tracker.explodingOdds(), DELTA);
+        assertEquals(1.0, tracker.probability(1, Card.EXPLODING_KITTEN), DELTA);
+        assertEquals(0.0, tracker.probability(3, Card.EXPLODING_KITTEN), DELTA);
+        assertEquals(0.2, opponent.explodingOdds(), DELTA);
+        state.drawCard();
+        assertEquals(Optional.of(Card.EXPLODING_KITTEN), tracker.knownCard(0));
+        assertEquals(0.25, opponent.explodingOdds(), DELTA);
+        state.shuffleDeck(1L);
+        assertEquals(0.25, tracker.explodingOdds(), DELTA);
+        assertEquals(Optional.empty(), tracker.knownCard(0));
+    }
+
+    @Test
+    void onlyThePlayerPuttingBackAnExplodingKittenKnowsWhere() {
+        final List<Card> cards = new ArrayList<>(Collections.nCopies(9, Card.TACOCAT));
+        cards.add(0, Card.EXPLODING_KITTEN);
+        final GameState state = game(cards);
+        final Player observer = state.getPlayers().get(0);
+        observer.addCard(Card.DEFUSE);
+        final CardTracker tracker = CardTracker.of(state, observer);
+        final CardTracker opponent = CardTracker.of(state, state.getPlayers().get(1));
+        state.drawCard();
+        assertEquals(0, opponent.countUnseen(Card.EXPLODING_KITTEN));
+        state.discard(observer, Card.DEFUSE);
+        state.reinsertCard(observer, Card.EXPLODING_KITTEN, 2);
+        assertEquals(1.0, tracker.probability(2, Card.EXPLODING_KITTEN), DELTA);
+        assertEquals(0.0, tracker.explodingOdds(), DELTA);
+        assertEquals(0.1, opponent.probability(2, Card.EXPLODING_KITTEN), DELTA);
+        assertEquals(0.9, opponent.probability(2, Card.TACOCAT), DELTA);
+    }
+
+    @Test
+    void knowledgeAlwaysMatchesTheGame() {
+        final Random random = new Random(11L);
+        final List<Card> cards = new ArrayList<>();
+        for (Card card : Card.values()) {
+            if (card != Card.EXPLODING_KITTEN) { // which never stay in a hand, unlike the cards moved at random here
+                cards.addAll(Collections.nCopies(4, card));
+            }
+        }
+        Collections.shuffle(cards, random);
+        final GameState state = game(cards);
+        final List<CardTracker> trackers = new ArrayList<>();
+        state.getPlayers().forEach(player -> trackers.add(CardTracker.of(state, player)));
+        for (int step = 0; step < 2_000 && state.getDeck().size() > 1; step++) {
+            final List<Player> players = state.getPlayers();
+            final Player player = players.get(random.nextInt(players.size()));
+            final Player other = players.get((players.indexOf(player) + 1) % players.size());
+            switch (random.nextInt(6)) {
+                case 0:
+                    state.peekDeck(player, 3);
+                    break;
+                case 1:
+                    if (state.getCurrentPlayer() == player) {
+                        state.drawCard();
+                    }
+                    break;
+                case 2:
+                    if (!player.getHandView().isEmpty()) {
+                        final Card card = player.getHandView().get(random.nextInt(player.getHandSize()));
+                        state.reinsertCard(player, card, random.nextInt(state.getDeck().size() + 1));
+                    }
+                    break;
+                case 3:
+                    if (!player.getHandView().isEmpty()) {
+                        state.transferCard(player, other, player.getHandView().get(0));
+                    }
+                    break;
+                case 4:
+                    if (!player.getHandView().isEmpty()) {
+                        state.discard(player, player.getHandView().get(0));
+                    }
+                    break;
+                default:
+                    if (random.nextInt(10) == 0) {
+                        state.shuffleDeck(random.nextLong());
+                    } else {
+                        state.nextTurn();
+                    }
+            }
+            for (CardTracker tracker : trackers) {
+                assertConsistent(tracker, state);
+            }
+        }
+    }
+
+    private static void assertConsistent(CardTracker tracker, GameState state) {
+        final List<Card> deck = state.getDeck().peek(0, state.getDeck().size());
+        for (int offset = 0; offset < deck.size(); offset++) {
+            final Optional<Card> known = tracker.knownCard(offset);
+            if (known.isPresent()) {
+                assertEquals(deck.get(offset), known.get());
+            }
+            double sum = 0.0;
+            for (Card card : Card.values()) {
+                sum += tracker.probability(offset, card);
+            }
+            assertEquals(1.0, sum, 1e-6);
+        }
+        for (Card card : Card.values()) {
+            assertTrue(tracker.countUnseen(card) >= 0, card::toString);
+        }
+    }
+
+    private static GameState game(List<Card> deck) {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(new AiPlayer("AI " + i, new Random(i), Duration.ZERO));
+        }
+        return new GameState(players, Deck.of(deck, new Random(1L)));
+    }
+}
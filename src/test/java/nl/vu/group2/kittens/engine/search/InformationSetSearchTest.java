@@ -0,0 +1,74 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link InformationSetSearch}es.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class InformationSetSearchTest {
+
+    private static final RolloutPool POOL = new RolloutPool(3);
+
+    @Test
+    void decisionEndsAtItsDeadline() {
+        final SearchMetrics metrics = new SearchMetrics();
+        final InformationSetSearch search = new InformationSetSearch(POOL, new Random(1L), Duration.ofMillis(50L),
+                Integer.MAX_VALUE);
+        final long start = System.nanoTime();
+        search.bestMove(root(), 0, metrics);
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertTrue(elapsed.toMillis() < 250L, elapsed::toString);
+        assertEquals(1L, metrics.getDecisionsCount());
+        assertTrue(metrics.getRolloutsCount() > 0L);
+    }
+
+    @Test
+    void cappedDecisionsDoNotDependOnTheScheduling() {
+        final SearchState root = root();
+        final SearchMetrics metrics = new SearchMetrics();
+        final int first = new InformationSetSearch(POOL, new Random(5L), Duration.ZERO, 900).bestMove(root, 0, metrics);
+        final int second = new InformationSetSearch(POOL, new Random(5L), Duration.ZERO, 900).bestMove(root, 0, metrics);
+        assertEquals(first, second);
+        assertEquals(1800L, metrics.getRolloutsCount());
+    }
+
+    @Test
+    void attackingIsBetterThanDrawingAnExplodingKitten() {
+        final SearchState root = root();
+        final int move = new InformationSetSearch(POOL, new Random(3L), Duration.ZERO, 3_000)
+                .bestMove(root, 0, new SearchMetrics());
+        assertEquals(List.of(Card.ATTACK), SearchState.cardsOf(move));
+    }
+
+    /**
+     * The first player can only draw the exploding kitten on top of the deck, with no defuse, or attack.
+     */
+    private static SearchState root() {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            players.add(new AiPlayer("AI " + i, new Random(i), Duration.ZERO));
+        }
+        players.get(0).addCard(Card.ATTACK);
+        players.get(1).addCard(Card.DEFUSE);
+        players.get(2).addCard(Card.DEFUSE);
+        final List<Card> deck = new ArrayList<>(Collections.nCopies(20, Card.TACOCAT));
+        deck.add(0, Card.EXPLODING_KITTEN);
+        deck.add(Card.EXPLODING_KITTEN);
+        return SearchState.of(new GameState(players, Deck.of(deck, new Random(1L))));
+    }
+}
@@ -0,0 +1,27 @@
+package nl.vu.group2.kittens.engine.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests on {@link SearchMetrics}.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class SearchMetricsTest {
+
+    @Test
+    void percentilesAreWithinTheWidthOfABucket() {
+        final SearchMetrics metrics = new SearchMetrics();
+        for (int millis = 1; millis <= 100; millis++) {
+            metrics.record(10L, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        assertEquals(100L, metrics.getDecisionsCount());
+        assertEquals(10.0, metrics.getRolloutsPerDecision());
+        assertEquals(99.0, metrics.getLatencyPercentile(0.99).toNanos() / 1e6, 99.0 / 16);
+        assertEquals(50.0, metrics.getLatencyPercentile(0.5).toNanos() / 1e6, 50.0 / 16);
+        assertEquals(0L, new SearchMetrics().getLatencyPercentile(0.99).toNanos());
+    }
+}
@@ -0,0 +1,150 @@
+package nl.vu.group2.kittens.engine.search;
+
+import nl.vu.group2.kittens.engine.GameState;
+import nl.vu.group2.kittens.engine.player.AiPlayer;
+import nl.vu.group2.kittens.engine.player.Player;
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link SearchState}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class SearchStateTest {
+
+    private static final int ATTACK = SearchState.move(SearchState.SINGLE, Card.ATTACK.ordinal(),
+            SearchState.ANY_TARGET, 0, 0);
+
+    @Test
+    void attackGivesTheNextPlayerTwoTurns() {
+        final SearchState state = SearchState.of(game(Collections.nCopies(20, Card.TACOCAT),
+                List.of(Card.ATTACK), List.of(), List.of()));
+        final Random random = new Random(1L);
+        state.play(ATTACK, random);
+        assertEquals(1, state.getCurrentPlayer());
+        state.draw(random);
+        assertEquals(1, state.getCurrentPlayer());
+        state.draw(random);
+        assertEquals(2, state.getCurrentPlayer());
+        assertEquals(2, state.countInHand(1, Card.TACOCAT));
+    }
+
+    @Test
+    void explodingKittenIsDefusedOrEndsTheGameOfThePlayer() {
+        final List<Card> deck = new ArrayList<>(Collections.nCopies(5, Card.TACOCAT));
+        deck.add(0, Card.EXPLODING_KITTEN); // on top
+        final Random random = new Random(1L);
+        final SearchState defused = SearchState.of(game(deck, List.of(Card.DEFUSE), List.of(), List.of()));
+        defused.draw(random);
+        assertEquals(1, defused.getCurrentPlayer());
+        assertEquals(1, defused.countInDeck(Card.EXPLODING_KITTEN));
+        assertEquals(0, defused.countInHand(0, Card.DEFUSE));
+        final SearchState exploded = SearchState.of(game(deck, List.of(Card.NOPE), List.of(), List.of()));
+        exploded.draw(random);
+        assertEquals(1, exploded.getCurrentPlayer());
+        assertEquals(0.0, exploded.reward(0), 1e-9);
+        assertEquals(0.75, exploded.reward(1), 1e-9);
+        assertFalse(exploded.isOver());
+    }
+
+    @Test
+    void explodingKittensAreNeverTakenBackFromTheDiscardPile() {
+        final GameState game = game(Collections.nCopies(5, Card.TACOCAT),
+                List.of(Card.EXPLODING_KITTEN, Card.NOPE, Card.TACOCAT), List.of(), List.of());
+        final Player exploded = game.getPlayers().get(0);
+        for (Card card : List.copyOf(exploded.getHandView())) {
+            game.discard(exploded, card);
+        }
+        assertEquals(Card.NOPE, SearchState.mostValuable(game.getDiscardedCards()));
+        final SearchState state = SearchState.of(game);
+        state.applyEffect(SearchState.move(SearchState.FIVE, 0, SearchState.ANY_TARGET, 0, 0), new Random(1L));
+        assertEquals(0, state.countInHand(0, Card.EXPLODING_KITTEN));
+        assertEquals(1, state.countInHand(0, Card.NOPE));
+    }
+
+    @Test
+    void forksDoNotShareTheirCards() {
+        final SearchState state = SearchState.of(game(Collections.nCopies(20, Card.TACOCAT),
+                List.of(Card.ATTACK), List.of(), List.of()));
+        final SearchState fork = new SearchState(state);
+        fork.copyFrom(state);
+        fork.play(ATTACK, new Random(1L));
+        fork.playout(new Random(2L));
+        assertEquals(0, state.getCurrentPlayer());
+        assertEquals(20, state.getDeckSize());
+        assertEquals(1, state.countInHand(0, Card.ATTACK));
+    }
+
+    @Test
+    void determinizationKeepsTheCardsOfTheObserverAndTheSizes() {
+        final List<Card> deck = new ArrayList<>(Collections.nCopies(10, Card.TACOCAT));
+        deck.addAll(Collections.nCopies(2, Card.EXPLODING_KITTEN));
+        final SearchState state = SearchState.of(game(deck, List.of(Card.NOPE, Card.SKIP),
+                List.of(Card.DEFUSE, Card.ATTACK, Card.FAVOR), List.of(Card.SHUFFLE)));
+        final Random random = new Random(7L);
+        for (int i = 0; i < 20; i++) {
+            final SearchState deal = new SearchState(state);
+            deal.copyFrom(state);
+            deal.determinize(0, random);
+            assertEquals(1, deal.countInHand(0, Card.NOPE));
+            assertEquals(1, deal.countInHand(0, Card.SKIP));
+            assertEquals(12, deal.getDeckSize());
+            assertEquals(2, deal.countInDeck(Card.EXPLODING_KITTEN));
+            for (Card card : List.of(Card.DEFUSE, Card.ATTACK, Card.FAVOR, Card.SHUFFLE, Card.TACOCAT)) {
+                final int total = deal.countInHand(1, card) + deal.countInHand(2, card) + deal.countInDeck(card);
+                assertEquals(state.countInHand(1, card) + state.countInHand(2, card) + state.countInDeck(card), total);
+            }
+        }
+    }
+
+    @Test
+    void legalMovesStartWithDrawing() {
+        final SearchState state = SearchState.of(game(Collections.nCopies(5, Card.TACOCAT),
+                List.of(Card.TACOCAT, Card.TACOCAT, Card.TACOCAT, Card.FAVOR, Card.NOPE), List.of(), List.of()));
+        final int[] moves = new int[SearchState.MAX_MOVES];
+        final int count = state.legalMoves(moves);
+        assertEquals(SearchState.DRAW, moves[0]);
+        // a favor, a pair and a triple for each of the two opponents
+        assertEquals(7, count);
+        for (int i = 1; i < count; i++) {
+            assertTrue(SearchState.cardsOf(moves[i]).size() > 0);
+        }
+    }
+
+    @Test
+    void cardsPlayedByOpponentsAreReadAsMoves() {
+        final SearchState state = SearchState.of(game(Collections.nCopies(5, Card.TACOCAT),
+                List.of(Card.TACOCAT, Card.TACOCAT, Card.TACOCAT, Card.ATTACK, Card.BEARD_CAT, Card.CATTERMELON,
+                        Card.HAIRY_POTATO_CAT), List.of(), List.of()));
+        final int[] moves = new int[SearchState.MAX_MOVES];
+        final int count = state.legalMoves(moves);
+        for (int i = 1; i < count; i++) {
+            final List<Card> cards = SearchState.cardsOf(moves[i]);
+            assertEquals(SearchState.kindOf(moves[i]), SearchState.kindOf(SearchState.moveOf(cards)));
+            assertEquals(cards, SearchState.cardsOf(SearchState.moveOf(cards)));
+        }
+        assertEquals(-1, SearchState.moveOf(List.of(Card.NOPE)));
+    }
+
+    @SafeVarargs
+    private static GameState game(List<Card> deck, List<Card>... hands) {
+        final List<Player> players = new ArrayList<>();
+        for (int i = 0; i < hands.length; i++) {
+            final Player player = new AiPlayer("AI " + (i + 1), new Random(i), Duration.ZERO);
+            hands[i].forEach(player::addCard);
+            players.add(player);
+        }
+        return new GameState(players, Deck.of(deck, new Random(1L)));
+    }
+}
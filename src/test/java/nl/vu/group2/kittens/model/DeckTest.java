@@ -3,9 +3,11 @@ package nl.vu.group2.kittens.model;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -46,4 +48,63 @@ class DeckTest {
         assertTrue(peekedCards.contains(deckTop), "Peeked cards don't contain the top of the deck");
         assertEquals(peekedCards.get(0), deckTop, "The first peeked card is the one you should draw");
     }
+
+    @Test
+    void drawIsFromTheTop() {
+        final Deck deck = Deck.of(List.of(Card.ATTACK, Card.EXPLODING_KITTEN, Card.DEFUSE));
+        assertEquals(Card.ATTACK, deck.drawCard());
+        assertEquals(Card.EXPLODING_KITTEN, deck.drawCard());
+        assertEquals(Card.DEFUSE, deck.drawCard());
+        assertEquals(0, deck.size());
+        assertThrows(IllegalStateException.class, deck::drawCard);
+    }
+
+    @Test
+    void insertAtOffsetFromTheTop() {
+        final Deck deck = Deck.of(List.of(Card.ATTACK, Card.DEFUSE));
+        deck.insertCard(Card.EXPLODING_KITTEN, 1);
+        deck.insertCard(Card.NOPE, 0);
+        deck.insertCard(Card.SKIP, deck.size());
+        assertEquals(List.of(Card.NOPE, Card.ATTACK, Card.EXPLODING_KITTEN, Card.DEFUSE, Card.SKIP), deck.peek(0, deck.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> deck.insertCard(Card.SKIP, deck.size() + 1));
+    }
+
+    @Test
+    void countsAreKeptUpToDate() {
+        final Deck deck = Deck.of(List.of(Card.EXPLODING_KITTEN, Card.ATTACK, Card.ATTACK, Card.DEFUSE));
+        assertEquals(1, deck.totalExplodingCards());
+        assertEquals(0.25, deck.explodingOdds());
+
+        assertEquals(Card.EXPLODING_KITTEN, deck.drawCard());
+        assertEquals(0, deck.totalExplodingCards());
+        assertEquals(0.0, deck.explodingOdds());
+
+        deck.insertCard(Card.EXPLODING_KITTEN, 2);
+        deck.insertCard(Card.EXPLODING_KITTEN, 0);
+        assertEquals(2, deck.totalExplodingCards());
+        assertEquals(2, deck.count(Card.ATTACK));
+        assertEquals(0.4, deck.explodingOdds());
+    }
+
+    @Test
+    void shuffleKeepsTheSameCards() {
+        final List<Card> cards = List.of(Card.ATTACK, Card.EXPLODING_KITTEN, Card.DEFUSE, Card.NOPE, Card.TACOCAT, Card.TACOCAT);
+        final Deck deck = Deck.of(cards, new Random(0L));
+        deck.shuffle();
+        assertEquals(cards.size(), deck.size());
+        assertEquals(2, deck.count(Card.TACOCAT));
+        assertEquals(1, deck.totalExplodingCards());
+        final List<Card> shuffledCards = deck.peek(0, deck.size());
+        cards.forEach(card -> assertTrue(shuffledCards.contains(card)));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        final Deck deck = Deck.of(List.of(Card.ATTACK, Card.EXPLODING_KITTEN));
+        final Deck copy = deck.copy();
+        deck.drawCard();
+        assertEquals(2, copy.size());
+        assertEquals(Card.ATTACK, copy.drawCard());
+        assertEquals(1, copy.totalExplodingCards());
+    }
 }
@@ -2,9 +2,11 @@ package nl.vu.group2.kittens.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -60,4 +62,44 @@ class DiscardPileTest {
                 () -> pile.extractCard(Card.ATTACK)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void countsFollowPushesAndExtractions() {
+        final DiscardPile pile = new DiscardPile();
+        pile.pushCard(Card.NOPE);
+        pile.pushCard(Card.NOPE);
+        pile.pushCard(Card.ATTACK);
+        assertEquals(2, pile.count(Card.NOPE));
+        assertEquals(3, pile.size());
+        pile.extractCard(Card.NOPE);
+        assertEquals(1, pile.count(Card.NOPE));
+        assertEquals(0, pile.count(Card.DEFUSE));
+        assertEquals(2, pile.size());
+    }
+
+    @Test
+    void distinctCardsViewIsLive() {
+        final DiscardPile pile = new DiscardPile();
+        final Set<Card> cards = pile.getCards();
+        pile.pushCard(Card.SKIP);
+        assertTrue(cards.contains(Card.SKIP));
+        pile.extractCard(Card.SKIP);
+        assertFalse(cards.contains(Card.SKIP));
+        assertThrows(UnsupportedOperationException.class, () -> cards.add(Card.SKIP));
+    }
+
+    @Test
+    void historyOnlyWhenRequested() {
+        final DiscardPile pile = new DiscardPile();
+        pile.pushCard(Card.NOPE);
+        assertTrue(pile.getHistory().isEmpty());
+
+        final DiscardPile pileWithHistory = DiscardPile.withHistory();
+        pileWithHistory.pushCard(Card.NOPE);
+        pileWithHistory.pushCard(Card.ATTACK);
+        pileWithHistory.pushCard(Card.NOPE);
+        pileWithHistory.pushCard(Card.SKIP);
+        pileWithHistory.extractCard(Card.NOPE);
+        assertEquals(List.of(Card.NOPE, Card.ATTACK, Card.SKIP), List.copyOf(pileWithHistory.getHistory()));
+    }
+}
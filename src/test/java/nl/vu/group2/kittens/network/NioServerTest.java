@@ -0,0 +1,111 @@
+package nl.vu.group2.kittens.network;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static nl.vu.group2.kittens.model.GameEvent.infoEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link NioServer}s, with blocking sockets as clients.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class NioServerTest {
+
+    private final BlockingQueue<NioConnection> connections = new LinkedBlockingQueue<>();
+    private NioServer server;
+
+    @BeforeEach
+    void init() throws IOException {
+        server = new NioServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), connections::offer).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void exchangesLinesWithManyClients() throws Exception {
+        final List<Socket> clients = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            clients.add(new Socket(InetAddress.getLoopbackAddress(), server.getPort()));
+        }
+        for (int i = 0; i < clients.size(); i++) {
+            final NioConnection connection = connections.take();
+            final Socket client = clients.get(i); // connections are accepted in order
+            final BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            final PrintWriter out = new PrintWriter(client.getOutputStream(), true);
+
+            connection.notify(infoEvent("hello\nplayer " + i));
+            assertEquals("INFO: hello;;;player " + i, in.readLine());
+            out.println("player " + i);
+            assertEquals("player " + i, connection.query("Enter your name"));
+            assertEquals("QUERY: Enter your name", in.readLine());
+            client.close();
+        }
+    }
+
+    @Test
+    void failsQueriesOfDisconnectedClients() throws Exception {
+        final Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        final NioConnection connection = connections.take();
+        client.close();
+        assertThrows(RuntimeException.class, () -> connection.query("Enter your name"));
+    }
+
+    @Test
+    void answersQueriesAsynchronously() throws Exception {
+        final Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        final NioConnection connection = connections.take();
+        final BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        final CompletableFuture<String> name = connection.queryAsync("Enter your name");
+        assertEquals("QUERY: Enter your name", in.readLine());
+        new PrintWriter(client.getOutputStream(), true).println("player");
+        assertEquals("player", name.get(5, TimeUnit.SECONDS));
+        client.close();
+    }
+
+    @Test
+    void disconnectsClientsSendingEndlessLines() throws Exception {
+        final Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        final NioConnection connection = connections.take();
+        client.setSoTimeout(5_000);
+        client.getOutputStream().write(new byte[NioConnection.MAX_LINE_LENGTH + 1]);
+        client.getOutputStream().flush();
+        assertEquals(-1, client.getInputStream().read());
+        assertTrue(connection.isClosed());
+        client.close();
+    }
+
+    @Test
+    void disconnectsClientsWhichDoNotRead() throws Exception {
+        final Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        final NioConnection connection = connections.take();
+        final String event = "x".repeat(64 * 1024);
+        for (int i = 0; i < 10_000 && !connection.isClosed(); i++) {
+            connection.notify(infoEvent(event));
+        }
+        assertTrue(connection.isClosed());
+        assertThrows(RuntimeException.class, () -> connection.query("Enter your name"));
+        client.close();
+    }
+}
@@ -0,0 +1,139 @@
+package nl.vu.group2.kittens.ui;
+
+import nl.vu.group2.kittens.model.GameEvent;
+import nl.vu.group2.kittens.ui.AsyncUserInterface.Backpressure;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static nl.vu.group2.kittens.model.GameEvent.infoEvent;
+import static nl.vu.group2.kittens.model.GameEvent.systemEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link AsyncUserInterface}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class AsyncUserInterfaceTest {
+
+    @Test
+    void queryWaitsForPendingEvents() {
+        final SlowInterface client = new SlowInterface();
+        final AsyncUserInterface ui = new AsyncUserInterface(client, 8, Backpressure.BLOCK);
+        ui.notify(infoEvent("first"));
+        ui.notify(infoEvent("second"));
+        client.unblock();
+        ui.query("name?");
+        assertEquals(List.of("INFO: first", "INFO: second", "QUERY: name?"), client.received);
+        ui.close();
+    }
+
+    @Test
+    void flushesTheClientOnceCaughtUp() {
+        final SlowInterface client = new SlowInterface();
+        final AsyncUserInterface ui = new AsyncUserInterface(client, 8, Backpressure.BLOCK);
+        ui.notify(infoEvent("first"));
+        ui.notify(infoEvent("second"));
+        assertEquals(0, client.flushes.get());
+        client.unblock();
+        ui.flush();
+        assertEquals(List.of("INFO: first", "INFO: second"), client.received);
+        assertTrue(client.flushes.get() > 0);
+        ui.close();
+    }
+
+    @Test
+    void dropsOldestInfoEventsWhenFull() {
+        final SlowInterface client = new SlowInterface();
+        final AsyncUserInterface ui = new AsyncUserInterface(client, 2, Backpressure.DROP_OLDEST_INFO);
+        ui.notify(systemEvent("blocked"));
+        awaitQueueDepth(ui, 0); // the drainer is now stuck delivering the first event
+        ui.notify(infoEvent("dropped"));
+        ui.notify(systemEvent("kept"));
+        ui.notify(infoEvent("last"));
+        assertEquals(1, ui.getDroppedEvents());
+        assertEquals(2, ui.getMaxQueueDepth());
+        client.unblock();
+        ui.flush();
+        assertEquals(List.of("SYSTEM: blocked", "SYSTEM: kept", "INFO: last"), client.received);
+        ui.close();
+    }
+
+    @Test
+    void disconnectsWhenFull() {
+        final SlowInterface client = new SlowInterface();
+        final AsyncUserInterface ui = new AsyncUserInterface(client, 1, Backpressure.DISCONNECT);
+        ui.notify(infoEvent("blocked"));
+        awaitQueueDepth(ui, 0);
+        ui.notify(infoEvent("queued"));
+        ui.notify(infoEvent("overflow"));
+        assertTrue(ui.isDisconnected());
+        assertTrue(client.closed);
+        assertEquals(2, ui.getDroppedEvents());
+        ui.flush(); // does not wait for the disconnected client
+    }
+
+    private static void awaitQueueDepth(AsyncUserInterface ui, int depth) {
+        while (ui.getQueueDepth() != depth) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Client whose deliveries are stuck until {@link #unblock()} is called (or it is closed).
+     */
+    private static class SlowInterface implements UserInterface {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger flushes = new AtomicInteger();
+        private volatile boolean closed;
+
+        void unblock() {
+            latch.countDown();
+        }
+
+        @Override
+        public void notify(GameEvent event) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event.toString());
+        }
+
+        @Override
+        public String query(String prompt) {
+            received.add("QUERY: " + prompt);
+            return "";
+        }
+
+        @Override
+        public int queryNumber(String prompt, int min, int max, Duration timeout, int defaultValue) {
+            return defaultValue;
+        }
+
+        @Override
+        public List<Integer> queryNumbers(String prompt, int max) {
+            return List.of();
+        }
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package nl.vu.group2.kittens.ui;
+
+import nl.vu.group2.kittens.model.Card;
+import nl.vu.group2.kittens.model.GameEvent;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static nl.vu.group2.kittens.model.GameEvent.infoEvent;
+import static nl.vu.group2.kittens.model.GameEvent.systemEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link BinaryTcpInterface}s and {@link BinaryFrame}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class BinaryTcpInterfaceTest {
+
+    private ServerSocket serverSocket;
+    private Socket client;
+    private Socket host;
+
+    @BeforeEach
+    void init() throws IOException {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        client = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+        host = serverSocket.accept();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        host.close();
+        serverSocket.close();
+    }
+
+    @Test
+    void framesRoundTrip() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        final FrameCodec writer = new FrameCodec();
+        writer.write(BinaryFrame.event(infoEvent("Your initial hand is \n1: NOPE")), out);
+        writer.write(BinaryFrame.reply(42, "1, 2"), out);
+        writer.write(BinaryFrame.event(infoEvent("Your initial hand is \n1: NOPE, 2: DEFUSE")), out);
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        final FrameCodec reader = new FrameCodec();
+        assertEquals(infoEvent("Your initial hand is \n1: NOPE"), reader.read(in).toEvent());
+        assertEquals(BinaryFrame.reply(42, "1, 2"), reader.read(in));
+        assertEquals(infoEvent("Your initial hand is \n1: NOPE, 2: DEFUSE"), reader.read(in).toEvent());
+    }
+
+    @Test
+    void framesAreSmallerThanTheirText() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        final FrameCodec codec = new FrameCodec();
+        final int[] textLength = new int[1];
+        for (int turn = 0; turn < 20; turn++) {
+            final String player = "player " + turn % 4;
+            final Card card = Card.values()[turn % Card.values().length];
+            for (GameEvent event : List.of(systemEvent(player + "\tis currently playing"),
+                    systemEvent("[" + card + "]\tis about to be played by " + player),
+                    systemEvent(player + "\tdrew a card"))) {
+                codec.write(BinaryFrame.event(event), out);
+                textLength[0] += (event + "\n").getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        assertTrue(bytes.size() < textLength[0] / 2, () -> bytes.size() + " bytes for " + textLength[0] + " of text");
+    }
+
+    @Test
+    void switchesToBinaryWhenRequested() throws Exception {
+        final CompletableFuture<List<BinaryFrame>> client = CompletableFuture.supplyAsync(() -> {
+            offerAnd(BinaryTcpInterface.PROTOCOL_REQUEST);
+            try {
+                assertEquals(BinaryTcpInterface.PROTOCOL_ACK, BinaryTcpInterface.readLine(this.client.getInputStream()));
+                final DataInputStream in = new DataInputStream(this.client.getInputStream());
+                final DataOutputStream out = new DataOutputStream(this.client.getOutputStream());
+                final FrameCodec codec = new FrameCodec();
+                final BinaryFrame nameQuery = codec.read(in);
+                codec.write(BinaryFrame.reply(nameQuery.getPromptId(), "Alice"), out);
+                final BinaryFrame numberQuery = codec.read(in);
+                codec.write(BinaryFrame.reply(numberQuery.getPromptId(), "3"), out);
+                return List.of(nameQuery, numberQuery, codec.read(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        final Pair<RemoteInterface, String> session = BinaryTcpInterface.negotiate(host, "Enter your name");
+        assertTrue(session.getLeft() instanceof BinaryTcpInterface);
+        assertEquals("Alice", session.getRight());
+        final RemoteInterface ui = session.getLeft();
+        assertEquals(3, ui.queryNumber("Pick a number", 1, 5));
+        ui.notify(systemEvent("Welcome"));
+        ui.flush();
+        assertEquals(List.of(BinaryFrame.query(1, "Enter your name"), BinaryFrame.query(2, "Pick a number"),
+                BinaryFrame.event(systemEvent("Welcome"))), client.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void goesOnInTextWithOlderClients() throws IOException {
+        BinaryTcpInterface.writeLine(client.getOutputStream(), "Alice");
+        final Pair<RemoteInterface, String> session = BinaryTcpInterface.negotiate(host, "Enter your name");
+        assertTrue(session.getLeft() instanceof TcpInterface);
+        assertEquals("Alice", session.getRight());
+        assertEquals(systemEvent(BinaryTcpInterface.PROTOCOL_OFFER).toString(), BinaryTcpInterface.readLine(client.getInputStream()));
+        assertEquals(systemEvent(BinaryTcpInterface.COMPRESSION_OFFER).toString(), BinaryTcpInterface.readLine(client.getInputStream()));
+        assertEquals(RemoteInterface.QUERY_MARKER + "Enter your name", BinaryTcpInterface.readLine(client.getInputStream()));
+    }
+
+    @Test
+    void keepsTheOfferOfTheClientsWithoutCompression() {
+        // those clients compare the offer as a whole, so compression must not be added to it
+        assertEquals("Protocols available: TEXT, BINARY", BinaryTcpInterface.PROTOCOL_OFFER);
+    }
+
+    @Test
+    void compressesTheSessionWhenRequested() throws Exception {
+        final String protocol = BinaryTcpInterface.TEXT + Compression.DEFLATE;
+        final CompletableFuture<String> client = CompletableFuture.supplyAsync(() -> {
+            offerAnd(BinaryTcpInterface.request(protocol));
+            try {
+                assertEquals(BinaryTcpInterface.ack(protocol), BinaryTcpInterface.readLine(this.client.getInputStream()));
+                final InputStream in = Compression.decompress(this.client.getInputStream());
+                final OutputStream out = Compression.compress(this.client.getOutputStream());
+                final String query = BinaryTcpInterface.readLine(in);
+                BinaryTcpInterface.writeLine(out, "Alice");
+                return query;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        final Pair<RemoteInterface, String> session = BinaryTcpInterface.negotiate(host, "Enter your name");
+        assertTrue(session.getLeft() instanceof TcpInterface);
+        assertEquals("Alice", session.getRight());
+        assertEquals(RemoteInterface.QUERY_MARKER + "Enter your name", client.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Reads the offers and the first query on the client side, and replies with the given line.
+     */
+    private void offerAnd(String reply) {
+        try {
+            assertEquals(systemEvent(BinaryTcpInterface.PROTOCOL_OFFER).toString(), BinaryTcpInterface.readLine(client.getInputStream()));
+            assertEquals(systemEvent(BinaryTcpInterface.COMPRESSION_OFFER).toString(), BinaryTcpInterface.readLine(client.getInputStream()));
+            assertEquals(RemoteInterface.QUERY_MARKER + "Enter your name", BinaryTcpInterface.readLine(client.getInputStream()));
+            BinaryTcpInterface.writeLine(client.getOutputStream(), reply);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void eventsKeepTheirType() {
+        final GameEvent event = GameEvent.errorEvent("Exploded");
+        assertEquals(event, BinaryFrame.event(event).toEvent());
+    }
+}
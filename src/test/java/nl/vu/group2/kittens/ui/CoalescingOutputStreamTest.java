@@ -0,0 +1,68 @@
+package nl.vu.group2.kittens.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests on {@link CoalescingOutputStream}s.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class CoalescingOutputStreamTest {
+
+    @Test
+    void coalescesMessagesUntilFlushed() throws IOException {
+        final CountingStream socket = new CountingStream();
+        final CoalescingOutputStream out = new CoalescingOutputStream(socket, Duration.ofHours(1L));
+        for (int i = 0; i < 5; i++) {
+            out.write(("event " + i + "\n").getBytes(StandardCharsets.UTF_8));
+            out.endMessage();
+        }
+        assertEquals(0, socket.writes.get());
+        out.flush();
+        assertEquals(1, socket.writes.get());
+        assertEquals(5, out.getMessages());
+        assertEquals(1, out.getWrites());
+        assertEquals("event 0\nevent 1\nevent 2\nevent 3\nevent 4\n", socket.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesOnceTheDelayHasPassed() throws Exception {
+        final CountingStream socket = new CountingStream();
+        final CoalescingOutputStream out = new CoalescingOutputStream(socket, Duration.ofMillis(10L));
+        out.write("event\n".getBytes(StandardCharsets.UTF_8));
+        out.endMessage();
+        assertEquals(0, socket.writes.get());
+        Thread.sleep(20L);
+        out.write("another event\n".getBytes(StandardCharsets.UTF_8));
+        out.endMessage();
+        assertEquals(1, socket.writes.get());
+        assertEquals("event\nanother event\n", socket.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void flushingAnEmptyBufferDoesNotWrite() throws IOException {
+        final CountingStream socket = new CountingStream();
+        final CoalescingOutputStream out = new CoalescingOutputStream(socket);
+        out.flush();
+        out.close();
+        assertEquals(0, socket.writes.get());
+    }
+
+    private static class CountingStream extends ByteArrayOutputStream {
+
+        private final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) {
+            writes.incrementAndGet();
+            super.write(bytes, offset, length);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package nl.vu.group2.kittens.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests on {@link Compression}.
+ * If you're a reviewer, please ignore this class since it belongs to the test suite.
+ */
+class CompressionTest {
+
+    private static final String TURN = "INFO: Alice\tis currently playing\n" +
+            "INFO: 42 Cards left in the deck! 7% chance of drawing an exploding kitten\n" +
+            "QUERY: Select a card to play;;;0. PICK CARD;;;1: NOPE;;;2: TACOCAT;;;3: DEFUSE;;;;;;>\n";
+
+    @Test
+    void roundTrips() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = Compression.compress(bytes)) {
+            for (int i = 0; i < 10; i++) {
+                out.write(TURN.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        assertTrue(bytes.size() < TURN.length());
+        final byte[] decompressed = Compression.decompress(new ByteArrayInputStream(bytes.toByteArray())).readAllBytes();
+        assertEquals(TURN.repeat(10), new String(decompressed, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The other side must be able to read what was flushed, without waiting for more data.
+     */
+    @Test
+    void flushedMessagesCanBeReadRightAway() throws IOException {
+        final PipedInputStream socketInput = new PipedInputStream(64 * 1024);
+        final OutputStream out = Compression.compress(new PipedOutputStream(socketInput));
+        final BufferedReader in = new BufferedReader(new InputStreamReader(Compression.decompress(socketInput), StandardCharsets.UTF_8));
+        for (String line : TURN.split("\n")) {
+            out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            assertEquals(line, in.readLine());
+        }
+    }
+
+    @Test
+    void dictionaryShrinksShortMessages() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final OutputStream out = Compression.compress(bytes);
+        out.write("QUERY: Select a card to play;;;0. PICK CARD;;;1: DEFUSE\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        assertTrue(bytes.size() < 30, "Compressed to " + bytes.size() + " bytes");
+    }
+}